@@ -5,7 +5,15 @@
 // Aligns with the spring-cloud-service pattern:
 // - Traces exported via OTLP to Jaeger (local) or ADOT (AWS, when available)
 // - Metrics and logs export disabled (logs go to stdout → CloudWatch via ECS)
+//
+// SIGTERM handling is always installed. On a Fargate Spot interruption SIGTERM
+// arrives as ALB deregistration starts, while the target may still be routed new
+// requests, so the HTTP servers keep accepting for SHUTDOWN_ACCEPT_MS (derived
+// from the deregistration delay) before they close. In-flight requests then
+// finish, telemetry is flushed and the process exits — within SHUTDOWN_TIMEOUT_MS
+// at the latest, which the CDK stack derives from the container stopTimeout.
 
+import http from 'node:http';
 import { createRequire } from 'node:module';
 const require = createRequire(import.meta.url);
 
@@ -16,12 +24,16 @@ const { resourceFromAttributes } = require('@opentelemetry/resources');
 const { ATTR_SERVICE_NAME, ATTR_SERVICE_VERSION } = require('@opentelemetry/semantic-conventions');
 
 const endpoint = process.env.OTEL_EXPORTER_OTLP_ENDPOINT;
+const shutdownTimeoutMs = Number(process.env.SHUTDOWN_TIMEOUT_MS) || 10000;
+const shutdownAcceptMs = Number(process.env.SHUTDOWN_ACCEPT_MS) || 0;
+
+let sdk;
 
 if (endpoint) {
   const serviceName =
     process.env.OTEL_SERVICE_NAME || process.env.SERVICE_NAME || 'astro-webui';
 
-  const sdk = new NodeSDK({
+  sdk = new NodeSDK({
     resource: resourceFromAttributes({
       [ATTR_SERVICE_NAME]: serviceName,
       [ATTR_SERVICE_VERSION]: process.env.npm_package_version || '0.0.1',
@@ -37,14 +49,60 @@ if (endpoint) {
 
   sdk.start();
 
-  const shutdown = async () => {
-    await sdk.shutdown();
-    process.exit(0);
-  };
-  process.on('SIGTERM', shutdown);
-  process.on('SIGINT', shutdown);
-
   console.log(`OTel SDK initialized — exporting traces to ${endpoint}`);
 } else {
   console.log('OTel SDK disabled — OTEL_EXPORTER_OTLP_ENDPOINT not set');
 }
+
+// Astro's standalone server is created inside the bundle; record it, and count its
+// requests, so SIGTERM can drain it
+const servers = new Set();
+let inFlight = 0;
+const listen = http.Server.prototype.listen;
+http.Server.prototype.listen = function (...args) {
+  if (!servers.has(this)) {
+    servers.add(this);
+    this.on('request', (req, res) => {
+      inFlight++;
+      res.once('close', () => inFlight--);
+    });
+  }
+  return listen.apply(this, args);
+};
+
+const DRAIN_POLL_MS = 100;
+const sleep = (ms) => new Promise((resolve) => setTimeout(resolve, ms));
+
+async function drainRequests() {
+  // Until deregistration takes effect the ALB may still send new requests here
+  await sleep(shutdownAcceptMs);
+  // close() resolves once every connection has ended, i.e. responses are fully written
+  const closed = Promise.all([...servers].map((server) => new Promise((resolve) => server.close(resolve))));
+  while (inFlight > 0) {
+    await sleep(DRAIN_POLL_MS);
+  }
+  // Keep-alive connections that finished their last request would otherwise stay open
+  const closeIdle = setInterval(() => servers.forEach((server) => server.closeIdleConnections()), DRAIN_POLL_MS);
+  for (const server of servers) server.closeIdleConnections();
+  await closed;
+  clearInterval(closeIdle);
+}
+
+let shuttingDown = false;
+
+const shutdown = async (signal) => {
+  if (shuttingDown) return;
+  shuttingDown = true;
+  console.log(`${signal} received — accepting for ${shutdownAcceptMs}ms, exiting within ${shutdownTimeoutMs}ms`);
+
+  // Hard deadline so ECS never has to SIGKILL us after stopTimeout
+  setTimeout(() => process.exit(0), shutdownTimeoutMs).unref();
+  try {
+    await drainRequests();
+    if (sdk) await sdk.shutdown();
+  } finally {
+    process.exit(0);
+  }
+};
+process.on('SIGTERM', shutdown);
+process.on('SIGINT', shutdown);
@@ -0,0 +1,130 @@
+// server.mjs — production entrypoint.
+// Runs WEB_CONCURRENCY Astro SSR workers that share PORT via node:cluster, so a
+// task with several vCPUs uses all of them. The CDK stack derives WEB_CONCURRENCY
+// from the task CPU (one worker per vCPU) and sizes NODE_OPTIONS per worker.
+//
+// With a single worker the server runs in-process, without a cluster primary.
+// Each worker loads instrumentation.mjs, which owns per-process OTel and SIGTERM
+// handling. The primary forwards SIGTERM/SIGINT to the workers and exits once they
+// have, or after SHUTDOWN_TIMEOUT_MS at the latest. Crashed workers are restarted
+// with exponential backoff; after MAX_RAPID_RESTARTS workers in a row die within
+// MIN_WORKER_UPTIME_MS of starting, the primary exits so ECS replaces the task.
+//
+// When CONFIG_ADMIN_PORT is set, POST /config-refresh on that port (sent by the
+// config-change notifier Lambda) is relayed to every worker as a 'config-refresh'
+// message, so they reload cached parameters without a task restart.
+
+import cluster from 'node:cluster';
+import http from 'node:http';
+
+const concurrency = Math.max(1, parseInt(process.env.WEB_CONCURRENCY ?? '', 10) || 1);
+const shutdownTimeoutMs = Number(process.env.SHUTDOWN_TIMEOUT_MS) || 10000;
+const entry = new URL('./dist/server/entry.mjs', import.meta.url).href;
+const instrumentation = new URL('./instrumentation.mjs', import.meta.url).href;
+const adminPort = parseInt(process.env.CONFIG_ADMIN_PORT ?? '', 10);
+const MAX_ADMIN_BODY_BYTES = 4096;
+const MIN_WORKER_UPTIME_MS = 10000;
+const MAX_RAPID_RESTARTS = 5;
+const RESTART_BASE_DELAY_MS = 500;
+const RESTART_MAX_DELAY_MS = 8000;
+
+function startAdminServer(broadcast) {
+  const server = http.createServer((req, res) => {
+    if (req.method !== 'POST' || req.url !== '/config-refresh') {
+      res.writeHead(404).end();
+      return;
+    }
+    let body = '';
+    req.setEncoding('utf8');
+    req.on('data', (chunk) => {
+      body += chunk;
+      if (body.length > MAX_ADMIN_BODY_BYTES) req.destroy();
+    });
+    req.on('end', () => {
+      let change;
+      try {
+        change = JSON.parse(body || '{}');
+      } catch {
+        res.writeHead(400).end();
+        return;
+      }
+      broadcast({
+        type: 'config-refresh',
+        name: change.name,
+        changedAt: Number(change.changedAt) || Date.now(),
+      });
+      res.writeHead(202).end();
+    });
+  });
+  server.listen(adminPort);
+  server.unref();
+}
+
+if (concurrency === 1) {
+  await import(instrumentation);
+  await import(entry);
+  if (adminPort) startAdminServer((message) => process.emit('message', message));
+} else if (!cluster.isPrimary) {
+  await import(instrumentation);
+  await import(entry);
+} else {
+  let shuttingDown = false;
+  let rapidRestarts = 0;
+  const startedAt = new Map();
+
+  const fork = () => {
+    const worker = cluster.fork();
+    startedAt.set(worker.id, Date.now());
+  };
+
+  cluster.on('exit', (worker, code, signal) => {
+    const uptimeMs = Date.now() - (startedAt.get(worker.id) ?? 0);
+    startedAt.delete(worker.id);
+    if (shuttingDown) {
+      if (Object.keys(cluster.workers ?? {}).length === 0) process.exit(0);
+      return;
+    }
+    // A worker that dies on boot (bad config, heap limit) would otherwise fork in a tight loop
+    rapidRestarts = uptimeMs < MIN_WORKER_UPTIME_MS ? rapidRestarts + 1 : 0;
+    if (rapidRestarts >= MAX_RAPID_RESTARTS) {
+      console.error(`${rapidRestarts} workers exited within ${MIN_WORKER_UPTIME_MS}ms of starting — exiting`);
+      process.exit(1);
+    }
+    // A crashed worker would otherwise silently reduce the task's capacity
+    const delayMs = rapidRestarts === 0
+      ? 0
+      : Math.min(RESTART_MAX_DELAY_MS, RESTART_BASE_DELAY_MS * 2 ** (rapidRestarts - 1));
+    console.error(`Worker ${worker.process.pid} exited (${signal ?? code}) — restarting in ${delayMs}ms`);
+    setTimeout(() => {
+      if (!shuttingDown) fork();
+    }, delayMs);
+  });
+
+  const shutdown = (signal) => {
+    if (shuttingDown) return;
+    shuttingDown = true;
+    console.log(`${signal} received — stopping ${concurrency} workers`);
+
+    setTimeout(() => process.exit(0), shutdownTimeoutMs).unref();
+    const workers = Object.values(cluster.workers ?? {});
+    if (workers.length === 0) process.exit(0);
+    for (const worker of workers) {
+      worker?.process.kill(signal);
+    }
+  };
+  process.on('SIGTERM', shutdown);
+  process.on('SIGINT', shutdown);
+
+  if (adminPort) {
+    startAdminServer((message) => {
+      for (const worker of Object.values(cluster.workers ?? {})) {
+        worker?.send(message);
+      }
+    });
+  }
+
+  console.log(`Starting ${concurrency} SSR workers`);
+  for (let i = 0; i < concurrency; i++) {
+    fork();
+  }
+}
@@ -0,0 +1,57 @@
+import { readFileSync } from 'node:fs';
+import vm from 'node:vm';
+
+/**
+ * Local harness for CloudFront Functions kept under cdk/src/main/resources/cloudfront. The
+ * source gets the same placeholder substitution the stack applies, then runs in an isolated
+ * vm context that, like the cloudfront-js-2.0 runtime, has no require, process, timers or
+ * network. Events and results cross the boundary as JSON, as they do at the edge.
+ */
+
+export const CLOUDFRONT_FUNCTION_MAX_BYTES = 10 * 1024;
+
+export interface CloudFrontValue {
+  value: string;
+  multiValue?: CloudFrontValue[];
+}
+
+export interface CloudFrontRequest {
+  method: string;
+  uri: string;
+  querystring: Record<string, CloudFrontValue>;
+  headers: Record<string, CloudFrontValue>;
+  cookies: Record<string, CloudFrontValue>;
+}
+
+export interface LoadedFunction {
+  source: string;
+  handle(request: Partial<CloudFrontRequest>): CloudFrontRequest;
+}
+
+export function functionSourcePath(name: string): URL {
+  return new URL(`../../../cdk/src/main/resources/cloudfront/${name}`, import.meta.url);
+}
+
+export function loadCloudFrontFunction(name: string, replacements: Record<string, string>): LoadedFunction {
+  let source = readFileSync(functionSourcePath(name), 'utf8');
+  for (const [placeholder, value] of Object.entries(replacements)) {
+    source = source.split(placeholder).join(value);
+  }
+
+  const context = vm.createContext({ console });
+  vm.runInContext(source, context, { filename: name });
+
+  return {
+    source,
+    handle(request) {
+      const event = {
+        version: '1.0',
+        context: { eventType: 'viewer-request' },
+        viewer: { ip: '203.0.113.10' },
+        request: { method: 'GET', uri: '/', querystring: {}, headers: {}, cookies: {}, ...request },
+      };
+      context.__event = JSON.stringify(event);
+      return JSON.parse(vm.runInContext('JSON.stringify(handler(JSON.parse(__event)))', context));
+    },
+  };
+}
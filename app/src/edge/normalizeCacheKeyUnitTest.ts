@@ -0,0 +1,79 @@
+import { describe, it, expect } from 'vitest';
+import { CLOUDFRONT_FUNCTION_MAX_BYTES, loadCloudFrontFunction } from './cloudFrontFunctionHarness';
+
+// The config the stack injects with InfrastructureConfig defaults; AstroWebUiStackTest
+// asserts the deployed function carries exactly this JSON
+const DEFAULT_CONFIG = {
+  strippedQueryParams: [
+    'utm_*', 'gclid', 'gbraid', 'wbraid', 'dclid', 'fbclid', 'msclkid', 'yclid',
+    'mc_cid', 'mc_eid', '_ga', '_gl', 'igshid',
+  ],
+  lowercasePaths: false,
+  caseSensitivePathPrefixes: ['/_astro/', '/api/'],
+};
+
+function load(config: object = DEFAULT_CONFIG) {
+  return loadCloudFrontFunction('normalize-cache-key.js', { __CACHE_KEY_CONFIG__: JSON.stringify(config) });
+}
+
+describe('normalize-cache-key CloudFront Function', () => {
+  it('fits the CloudFront Functions size limit', () => {
+    expect(Buffer.byteLength(load().source)).toBeLessThan(CLOUDFRONT_FUNCTION_MAX_BYTES);
+  });
+
+  it('strips listed and prefix-matched tracking params regardless of case and sorts the rest', () => {
+    const request = load().handle({
+      querystring: {
+        page: { value: '2' },
+        UTM_Source: { value: 'newsletter' },
+        utm_campaign: { value: 'spring' },
+        gclid: { value: 'abc' },
+        filter: { value: 'new', multiValue: [{ value: 'new' }, { value: 'hot' }] },
+      },
+    });
+
+    expect(Object.keys(request.querystring)).toEqual(['filter', 'page']);
+    expect(request.querystring.filter.multiValue).toHaveLength(2);
+  });
+
+  it('strips every default tracking param', () => {
+    const querystring = Object.fromEntries(
+      ['utm_medium', 'gclid', 'gbraid', 'wbraid', 'dclid', 'fbclid', 'msclkid', 'yclid',
+        'mc_cid', 'mc_eid', '_ga', '_gl', 'igshid', 'q'].map((name) => [name, { value: '1' }])
+    );
+
+    expect(Object.keys(load().handle({ querystring }).querystring)).toEqual(['q']);
+  });
+
+  it('collapses Accept-Encoding to br and gzip only', () => {
+    const handle = load().handle;
+
+    expect(handle({ headers: { 'accept-encoding': { value: 'gzip, deflate, br, zstd' } } }).headers)
+      .toEqual({ 'accept-encoding': { value: 'br,gzip' } });
+    expect(handle({ headers: { 'accept-encoding': { value: 'GZIP;q=0.8, identity' } } }).headers)
+      .toEqual({ 'accept-encoding': { value: 'gzip' } });
+    expect(handle({ headers: { 'accept-encoding': { value: 'br;q=0, gzip' } } }).headers)
+      .toEqual({ 'accept-encoding': { value: 'gzip' } });
+    expect(handle({ headers: { 'accept-encoding': { value: 'deflate' } } }).headers).toEqual({});
+  });
+
+  it('lower-cases paths except under case-sensitive prefixes when enabled', () => {
+    const handle = load({ ...DEFAULT_CONFIG, lowercasePaths: true }).handle;
+
+    expect(handle({ uri: '/About/Team' }).uri).toBe('/about/team');
+    expect(handle({ uri: '/_astro/index.BmX3kQ.js' }).uri).toBe('/_astro/index.BmX3kQ.js');
+    expect(handle({ uri: '/api/greetings/AbC-123' }).uri).toBe('/api/greetings/AbC-123');
+  });
+
+  it('leaves mixed-case paths alone by default so they still reach their origin route', () => {
+    const request = load().handle({ uri: '/About' });
+
+    expect(request.uri).toBe('/About');
+  });
+
+  it('uses nothing outside the cloudfront-js-2.0 runtime', () => {
+    const fn = load();
+
+    expect(fn.source).not.toMatch(/\brequire\(|\bprocess\.|setTimeout/);
+  });
+});
@@ -0,0 +1,59 @@
+import { Agent, Pool, type Dispatcher } from 'undici';
+import { registerGauge } from './metrics';
+
+/**
+ * Shared keep-alive connection pool for backend calls, one undici Pool per origin.
+ * The CDK stack sets the BACKEND_* variables from BackendClientConfig; the limits apply
+ * per Node worker. Pool usage is published as gauges with the periodic EMF flush.
+ */
+
+export interface PoolUsage {
+  connected: number;
+  free: number;
+  pending: number;
+  running: number;
+}
+
+function intFromEnv(name: string, fallback: number): number {
+  const parsed = parseInt(process.env[name] ?? '', 10);
+  return Number.isNaN(parsed) ? fallback : parsed;
+}
+
+const pools = new Map<string, Pool>();
+let agent: Agent | undefined;
+
+export function getPoolUsage(): PoolUsage {
+  const usage: PoolUsage = { connected: 0, free: 0, pending: 0, running: 0 };
+  for (const pool of pools.values()) {
+    const stats = pool.stats;
+    usage.connected += stats.connected;
+    usage.free += stats.free;
+    usage.pending += stats.pending;
+    usage.running += stats.running;
+  }
+  return usage;
+}
+
+export function getBackendDispatcher(): Dispatcher {
+  if (agent) return agent;
+
+  agent = new Agent({
+    connections: intFromEnv('BACKEND_MAX_CONNECTIONS', 32),
+    keepAliveTimeout: intFromEnv('BACKEND_KEEP_ALIVE_TIMEOUT_MS', 30000),
+    pipelining: intFromEnv('BACKEND_PIPELINING', 1),
+    connect: { timeout: intFromEnv('BACKEND_CONNECT_TIMEOUT_MS', 2000) },
+    factory: (origin, options) => {
+      const pool = new Pool(origin, options);
+      pools.set(String(origin), pool);
+      return pool;
+    },
+  });
+
+  // Pending is requests queued for a free connection: sustained values mean the pool is too small
+  registerGauge('BackendPoolConnected', () => getPoolUsage().connected);
+  registerGauge('BackendPoolFree', () => getPoolUsage().free);
+  registerGauge('BackendPoolPending', () => getPoolUsage().pending);
+  registerGauge('BackendPoolRunning', () => getPoolUsage().running);
+
+  return agent;
+}
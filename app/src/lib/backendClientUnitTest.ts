@@ -0,0 +1,61 @@
+import { describe, it, expect, vi, beforeEach } from 'vitest';
+
+const { agentOptions, mockRegisterGauge } = vi.hoisted(() => ({
+  agentOptions: [] as any[],
+  mockRegisterGauge: vi.fn(),
+}));
+
+vi.mock('undici', () => ({
+  Agent: class {
+    constructor(public options: any) {
+      agentOptions.push(options);
+    }
+  },
+  Pool: class {
+    stats = { connected: 3, free: 1, pending: 2, running: 2 };
+    constructor(public origin: string, public options: any) {}
+  },
+}));
+
+vi.mock('./metrics', () => ({ registerGauge: mockRegisterGauge }));
+
+describe('backendClient', () => {
+  beforeEach(() => {
+    vi.resetModules();
+    agentOptions.length = 0;
+    mockRegisterGauge.mockReset();
+    delete process.env.BACKEND_MAX_CONNECTIONS;
+    delete process.env.BACKEND_KEEP_ALIVE_TIMEOUT_MS;
+    delete process.env.BACKEND_PIPELINING;
+    delete process.env.BACKEND_CONNECT_TIMEOUT_MS;
+  });
+
+  it('builds one shared agent from the BACKEND_* variables', async () => {
+    process.env.BACKEND_MAX_CONNECTIONS = '64';
+    process.env.BACKEND_KEEP_ALIVE_TIMEOUT_MS = '45000';
+    process.env.BACKEND_CONNECT_TIMEOUT_MS = '1500';
+
+    const { getBackendDispatcher } = await import('./backendClient');
+
+    expect(getBackendDispatcher()).toBe(getBackendDispatcher());
+    expect(agentOptions).toHaveLength(1);
+    expect(agentOptions[0]).toMatchObject({
+      connections: 64,
+      keepAliveTimeout: 45000,
+      pipelining: 1,
+      connect: { timeout: 1500 },
+    });
+  });
+
+  it('reports usage summed across origin pools as gauges', async () => {
+    const { getBackendDispatcher, getPoolUsage } = await import('./backendClient');
+    getBackendDispatcher();
+
+    agentOptions[0].factory('http://backend-a', {});
+    agentOptions[0].factory('http://backend-b', {});
+
+    expect(getPoolUsage()).toEqual({ connected: 6, free: 2, pending: 4, running: 4 });
+    const pending = mockRegisterGauge.mock.calls.find(([name]) => name === 'BackendPoolPending');
+    expect(pending?.[1]()).toBe(4);
+  });
+});
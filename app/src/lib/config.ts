@@ -1,7 +1,12 @@
-import { SSMClient, GetParameterCommand } from '@aws-sdk/client-ssm';
+import { SSMClient, GetParametersByPathCommand } from '@aws-sdk/client-ssm';
+import { getCachedParameter, getDynamicValue, reloadCachedParameters } from './dynamicConfig';
+import { PARAMETERS, type ParameterName, type ParameterValue } from './parameters.generated';
 
 const SERVICE_NAME = process.env.SERVICE_NAME ?? 'astro-webui';
 const AWS_REGION = process.env.AWS_REGION ?? 'eu-west-1';
+const PARAMETER_PATH = `/${SERVICE_NAME}/`;
+const RUNTIME_RELOAD_MS = parseInt(process.env.PARAMETER_RELOAD_MS ?? '', 10) || 60000;
+const FAILED_LOAD_RETRY_MS = 5000;
 
 function createSsmClient(): SSMClient {
   const endpoint = process.env.AWS_SSM_ENDPOINT;
@@ -13,52 +18,167 @@ function createSsmClient(): SSMClient {
 
 const ssmClient = createSsmClient();
 
-function parseIntOrDefault(value: string, fallback: number): number {
-  const parsed = parseInt(value, 10);
-  return Number.isNaN(parsed) ? fallback : parsed;
-}
-
-const DEFAULT_DESCRIPTION =
-  'This application manages a greeting service. ' +
-  'You can create new greetings, look up existing ones by ID, ' +
-  'delete greetings, and browse all stored messages. ' +
-  'It communicates with the Spring Cloud Service API backend.';
+let ssmValues: Map<string, string> | undefined;
+let ssmAttemptedAt = Number.NEGATIVE_INFINITY;
+let ssmLoading: Promise<void> | undefined;
 
-async function getParameter(name: string, fallback: string): Promise<string> {
+/**
+ * Loads the whole /<service>/ hierarchy with GetParametersByPath, following NextToken. SSM returns
+ * at most 10 parameters per page, so the 12-parameter catalog takes two calls per load.
+ */
+async function loadFromSsm(): Promise<void> {
   try {
-    const response = await ssmClient.send(
-      new GetParameterCommand({ Name: `/${SERVICE_NAME}/${name}` })
-    );
-    return response.Parameter?.Value ?? fallback;
+    const values = new Map<string, string>();
+    let nextToken: string | undefined;
+    do {
+      const response = await ssmClient.send(
+        new GetParametersByPathCommand({
+          Path: PARAMETER_PATH,
+          Recursive: true,
+          WithDecryption: true,
+          NextToken: nextToken,
+        })
+      );
+      for (const parameter of response.Parameters ?? []) {
+        if (parameter.Name && parameter.Value !== undefined) {
+          values.set(parameter.Name.slice(PARAMETER_PATH.length), parameter.Value);
+        }
+      }
+      nextToken = response.NextToken;
+    } while (nextToken);
+    ssmValues = values;
   } catch (error) {
-    console.error(`SSM parameter /${SERVICE_NAME}/${name} fetch failed, using fallback`, error);
-    return fallback;
+    console.error(`SSM parameters under ${PARAMETER_PATH} failed to load, using fallbacks`, error);
+  } finally {
+    ssmLoading = undefined;
   }
 }
 
+/**
+ * Startup parameters are served from the first successful batch; runtime parameters
+ * trigger a background reload once the batch is older than PARAMETER_RELOAD_MS.
+ */
+async function getFromSsm(name: ParameterName): Promise<string | undefined> {
+  const age = Date.now() - ssmAttemptedAt;
+  const due =
+    ssmValues === undefined
+      ? age >= FAILED_LOAD_RETRY_MS
+      : PARAMETERS[name].reload === 'runtime' && age >= RUNTIME_RELOAD_MS;
+  if (due && !ssmLoading) {
+    ssmAttemptedAt = Date.now();
+    ssmLoading = loadFromSsm();
+  }
+  if (ssmValues === undefined && ssmLoading) {
+    await ssmLoading;
+  }
+  return ssmValues?.get(name);
+}
+
+/**
+ * Reloads cached parameters after a pushed change notification: the config-cache
+ * sidecar, then the SSM batch if one has been loaded. Values injected into the
+ * environment at task start are not affected.
+ */
+export async function reloadParameters(): Promise<void> {
+  await reloadCachedParameters();
+  if (ssmValues === undefined) return;
+  if (ssmLoading) await ssmLoading;
+  ssmAttemptedAt = Date.now();
+  ssmLoading = loadFromSsm();
+  await ssmLoading;
+}
+
+function parse<N extends ParameterName>(name: N, raw: string | undefined): ParameterValue<N> {
+  const definition = PARAMETERS[name];
+  if (definition.type === 'integer') {
+    const parsed = parseInt(raw ?? '', 10);
+    return (Number.isNaN(parsed) ? parseInt(definition.defaultValue, 10) : parsed) as ParameterValue<N>;
+  }
+  return (raw ?? definition.defaultValue) as ParameterValue<N>;
+}
+
+/**
+ * Resolves a catalog parameter, first match wins:
+ * AppConfig (runtime parameters only), injected environment variable,
+ * config-cache sidecar, batched SSM load, catalog default.
+ */
+export async function getParameterValue<N extends ParameterName>(name: N): Promise<ParameterValue<N>> {
+  const definition = PARAMETERS[name];
+
+  if (definition.reload === 'runtime') {
+    const tuned = await getDynamicValue(name);
+    if (tuned !== undefined) return parse(name, tuned);
+  }
+
+  const injected = process.env[definition.envName];
+  if (injected) return parse(name, injected);
+
+  const cached = await getCachedParameter(name);
+  if (cached !== undefined) return parse(name, cached);
+
+  return parse(name, await getFromSsm(name));
+}
+
 export async function loadDescription(): Promise<string> {
-  return getParameter('app.description', DEFAULT_DESCRIPTION);
+  return getParameterValue('app.description');
 }
 
 export async function getApiBackendUrl(): Promise<string> {
-  return getParameter('api.backend.url', 'http://localhost:8080');
+  return getParameterValue('api.backend.url');
 }
 
 export async function getApiTimeoutMs(): Promise<number> {
-  const value = await getParameter('api.timeout.ms', '5000');
-  return parseIntOrDefault(value, 5000);
+  return getParameterValue('api.timeout.ms');
 }
 
 export async function getApiRetryCount(): Promise<number> {
-  const value = await getParameter('api.retry.count', '3');
-  return parseIntOrDefault(value, 3);
+  return getParameterValue('api.retry.count');
 }
 
 export async function getLogLevel(): Promise<string> {
-  return getParameter('log.level', 'info');
+  return getParameterValue('log.level');
 }
 
 export async function getRateLimitRpm(): Promise<number> {
-  const value = await getParameter('rate.limit.rpm', '60');
-  return parseIntOrDefault(value, 60);
+  return getParameterValue('rate.limit.rpm');
+}
+
+export type RetryJitter = 'full' | 'equal' | 'none';
+
+export interface RetryPolicy {
+  baseDelayMs: number;
+  maxDelayMs: number;
+  jitter: RetryJitter;
+  statusCodes: ReadonlySet<number>;
+  methods: ReadonlySet<string>;
+  budgetPercent: number;
+}
+
+function parseList(value: string): string[] {
+  return value
+    .split(',')
+    .map((item) => item.trim())
+    .filter(Boolean);
+}
+
+/**
+ * Backend retry policy published by the CDK stack (RetryPolicyConfig).
+ */
+export async function getRetryPolicy(): Promise<RetryPolicy> {
+  const [baseDelayMs, maxDelayMs, jitter, statusCodes, methods, budgetPercent] = await Promise.all([
+    getParameterValue('retry.base.delay.ms'),
+    getParameterValue('retry.max.delay.ms'),
+    getParameterValue('retry.jitter'),
+    getParameterValue('retry.status.codes'),
+    getParameterValue('retry.methods'),
+    getParameterValue('retry.budget.percent'),
+  ]);
+  return {
+    baseDelayMs,
+    maxDelayMs: Math.max(baseDelayMs, maxDelayMs),
+    jitter: jitter === 'equal' || jitter === 'none' ? jitter : 'full',
+    statusCodes: new Set(parseList(statusCodes).map(Number)),
+    methods: new Set(parseList(methods).map((method) => method.toUpperCase())),
+    budgetPercent: Math.min(100, Math.max(0, budgetPercent)),
+  };
 }
@@ -0,0 +1,45 @@
+import logger from './logger';
+import { reloadParameters } from './config';
+import { publishMetric } from './metrics';
+
+/**
+ * Reloads cached parameters when server.mjs relays a change pushed by the config-change
+ * notifier (CONFIG_ADMIN_PORT), and publishes the end-to-end ConfigPropagationLatency
+ * from the Parameter Store change event to the reload completing in this process.
+ */
+
+export interface ConfigRefreshMessage {
+  type: 'config-refresh';
+  name?: string;
+  changedAt: number;
+}
+
+let listening = false;
+
+function isConfigRefresh(message: unknown): message is ConfigRefreshMessage {
+  return (
+    typeof message === 'object' &&
+    message !== null &&
+    (message as ConfigRefreshMessage).type === 'config-refresh'
+  );
+}
+
+export async function handleConfigRefresh(message: ConfigRefreshMessage): Promise<void> {
+  await reloadParameters();
+  const latencyMs = Math.max(0, Date.now() - message.changedAt);
+  publishMetric('ConfigPropagationLatency', latencyMs, 'Milliseconds');
+  logger.info({ parameter: message.name, latencyMs }, 'Parameters reloaded after change notification');
+}
+
+/**
+ * Starts listening for relayed change notifications. No-op unless CONFIG_ADMIN_PORT is set.
+ */
+export function startConfigRefreshListener(): void {
+  if (listening || !process.env.CONFIG_ADMIN_PORT) return;
+  listening = true;
+
+  process.on('message', (message: unknown) => {
+    if (!isConfigRefresh(message)) return;
+    handleConfigRefresh(message).catch((err) => logger.error({ err }, 'Parameter reload failed'));
+  });
+}
@@ -0,0 +1,56 @@
+import { describe, it, expect, vi, beforeEach, afterEach } from 'vitest';
+
+const { mockReloadParameters, mockPublishMetric } = vi.hoisted(() => ({
+  mockReloadParameters: vi.fn(),
+  mockPublishMetric: vi.fn(),
+}));
+
+vi.mock('./config', () => ({ reloadParameters: mockReloadParameters }));
+vi.mock('./metrics', () => ({ publishMetric: mockPublishMetric }));
+vi.mock('./logger', () => ({ default: { info: vi.fn(), error: vi.fn() } }));
+
+describe('configRefresh', () => {
+  beforeEach(() => {
+    vi.resetModules();
+    mockReloadParameters.mockReset().mockResolvedValue(undefined);
+    mockPublishMetric.mockReset();
+    process.env.CONFIG_ADMIN_PORT = '9091';
+  });
+
+  afterEach(() => {
+    vi.useRealTimers();
+    process.removeAllListeners('message');
+    delete process.env.CONFIG_ADMIN_PORT;
+  });
+
+  it('reloads parameters and publishes the propagation latency', async () => {
+    vi.useFakeTimers();
+    vi.setSystemTime(1700000001500);
+
+    const { handleConfigRefresh } = await import('./configRefresh');
+    await handleConfigRefresh({ type: 'config-refresh', name: '/astro-webui/rate.limit.rpm', changedAt: 1700000000000 });
+
+    expect(mockReloadParameters).toHaveBeenCalledOnce();
+    expect(mockPublishMetric).toHaveBeenCalledWith('ConfigPropagationLatency', 1500, 'Milliseconds');
+  });
+
+  it('handles change notifications relayed by server.mjs', async () => {
+    const { startConfigRefreshListener } = await import('./configRefresh');
+    startConfigRefreshListener();
+
+    process.emit('message', { type: 'config-refresh', changedAt: Date.now() }, undefined);
+    process.emit('message', { type: 'something-else' }, undefined);
+
+    await vi.waitFor(() => expect(mockPublishMetric).toHaveBeenCalledOnce());
+    expect(mockReloadParameters).toHaveBeenCalledOnce();
+  });
+
+  it('does not listen when no admin port is configured', async () => {
+    delete process.env.CONFIG_ADMIN_PORT;
+
+    const { startConfigRefreshListener } = await import('./configRefresh');
+    startConfigRefreshListener();
+
+    expect(process.listenerCount('message')).toBe(0);
+  });
+});
@@ -1,4 +1,4 @@
-import { describe, it, expect, vi, beforeEach } from 'vitest';
+import { describe, it, expect, vi, beforeEach, afterEach } from 'vitest';
 
 const mockSend = vi.fn();
 
@@ -6,11 +6,21 @@ vi.mock('@aws-sdk/client-ssm', () => ({
   SSMClient: class {
     send = mockSend;
   },
-  GetParameterCommand: class {
+  GetParametersByPathCommand: class {
     constructor(public input: any) {}
   },
 }));
 
+function ssmReturns(values: Record<string, string | undefined>, nextToken?: string) {
+  mockSend.mockResolvedValueOnce({
+    Parameters: Object.entries(values).map(([name, value]) => ({
+      Name: `/astro-webui/${name}`,
+      Value: value,
+    })),
+    NextToken: nextToken,
+  });
+}
+
 describe('config', () => {
   beforeEach(() => {
     vi.resetModules();
@@ -18,13 +28,100 @@ describe('config', () => {
     delete process.env.AWS_SSM_ENDPOINT;
     delete process.env.AWS_REGION;
     delete process.env.SERVICE_NAME;
+    delete process.env.API_TIMEOUT_MS;
+    delete process.env.LOG_LEVEL;
+    delete process.env.PARAMETER_RELOAD_MS;
+  });
+
+  afterEach(() => {
+    vi.useRealTimers();
+  });
+
+  describe('batch loading', () => {
+    it('loads a single-page hierarchy with one GetParametersByPath call', async () => {
+      ssmReturns({ 'api.backend.url': 'http://my-backend:9090', 'log.level': 'debug' });
+
+      const { getApiBackendUrl, getLogLevel, loadDescription } = await import('./config');
+
+      expect(await getApiBackendUrl()).toBe('http://my-backend:9090');
+      expect(await getLogLevel()).toBe('debug');
+      expect(await loadDescription()).toContain('greeting service');
+      expect(mockSend).toHaveBeenCalledOnce();
+      expect(mockSend.mock.calls[0][0].input).toMatchObject({ Path: '/astro-webui/', Recursive: true });
+    });
+
+    it('follows NextToken across pages', async () => {
+      ssmReturns({ 'api.timeout.ms': '1000' }, 'page-2');
+      ssmReturns({ 'api.retry.count': '7' });
+
+      const { getApiTimeoutMs, getApiRetryCount } = await import('./config');
+
+      expect(await getApiTimeoutMs()).toBe(1000);
+      expect(await getApiRetryCount()).toBe(7);
+      expect(mockSend.mock.calls[1][0].input.NextToken).toBe('page-2');
+    });
+
+    it('reloads runtime parameters in the background once the batch is stale', async () => {
+      vi.useFakeTimers();
+      ssmReturns({ 'api.timeout.ms': '1000', 'log.level': 'debug' });
+      ssmReturns({ 'api.timeout.ms': '2000', 'log.level': 'warn' });
+
+      const { getApiTimeoutMs, getLogLevel } = await import('./config');
+      expect(await getApiTimeoutMs()).toBe(1000);
+
+      vi.advanceTimersByTime(60000);
+      // Startup parameters never trigger a reload
+      expect(await getLogLevel()).toBe('debug');
+      expect(mockSend).toHaveBeenCalledOnce();
+
+      expect(await getApiTimeoutMs()).toBe(1000);
+      await vi.waitFor(async () => expect(await getApiTimeoutMs()).toBe(2000));
+    });
+  });
+
+  describe('reloadParameters', () => {
+    it('reloads a loaded batch immediately, regardless of parameter reload mode', async () => {
+      ssmReturns({ 'log.level': 'debug' });
+      ssmReturns({ 'log.level': 'warn' });
+
+      const { getLogLevel, reloadParameters } = await import('./config');
+      expect(await getLogLevel()).toBe('debug');
+
+      await reloadParameters();
+      expect(await getLogLevel()).toBe('warn');
+      expect(mockSend).toHaveBeenCalledTimes(2);
+    });
+
+    it('does not call SSM when nothing has been loaded yet', async () => {
+      const { reloadParameters } = await import('./config');
+
+      await reloadParameters();
+      expect(mockSend).not.toHaveBeenCalled();
+    });
+  });
+
+  describe('injected parameters', () => {
+    it('returns injected value without calling SSM', async () => {
+      process.env.API_TIMEOUT_MS = '2500';
+
+      const { getApiTimeoutMs } = await import('./config');
+      expect(await getApiTimeoutMs()).toBe(2500);
+      expect(mockSend).not.toHaveBeenCalled();
+    });
+
+    it('falls back to SSM when the variable is empty', async () => {
+      process.env.LOG_LEVEL = '';
+      ssmReturns({ 'log.level': 'warn' });
+
+      const { getLogLevel } = await import('./config');
+      expect(await getLogLevel()).toBe('warn');
+      expect(mockSend).toHaveBeenCalledOnce();
+    });
   });
 
   describe('loadDescription', () => {
     it('returns SSM value using default endpoint (production mode)', async () => {
-      mockSend.mockResolvedValueOnce({
-        Parameter: { Value: 'Description from AWS SSM' },
-      });
+      ssmReturns({ 'app.description': 'Description from AWS SSM' });
 
       const { loadDescription } = await import('./config');
       const description = await loadDescription();
@@ -36,9 +133,7 @@ describe('config', () => {
     it('returns SSM value when SSM endpoint is overridden (LocalStack)', async () => {
       process.env.AWS_SSM_ENDPOINT = 'http://localhost:4566';
 
-      mockSend.mockResolvedValueOnce({
-        Parameter: { Value: 'Custom description from SSM' },
-      });
+      ssmReturns({ 'app.description': 'Custom description from SSM' });
 
       const { loadDescription } = await import('./config');
       const description = await loadDescription();
@@ -56,7 +151,7 @@ describe('config', () => {
     });
 
     it('returns default description when SSM returns no value', async () => {
-      mockSend.mockResolvedValueOnce({ Parameter: { Value: undefined } });
+      ssmReturns({ 'app.description': undefined });
 
       const { loadDescription } = await import('./config');
       const description = await loadDescription();
@@ -67,9 +162,7 @@ describe('config', () => {
 
   describe('getApiBackendUrl', () => {
     it('returns SSM value when parameter exists', async () => {
-      mockSend.mockResolvedValueOnce({
-        Parameter: { Value: 'http://my-backend:9090' },
-      });
+      ssmReturns({ 'api.backend.url': 'http://my-backend:9090' });
 
       const { getApiBackendUrl } = await import('./config');
       expect(await getApiBackendUrl()).toBe('http://my-backend:9090');
@@ -85,9 +178,7 @@ describe('config', () => {
 
   describe('getApiTimeoutMs', () => {
     it('returns SSM value as number', async () => {
-      mockSend.mockResolvedValueOnce({
-        Parameter: { Value: '10000' },
-      });
+      ssmReturns({ 'api.timeout.ms': '10000' });
 
       const { getApiTimeoutMs } = await import('./config');
       expect(await getApiTimeoutMs()).toBe(10000);
@@ -101,9 +192,7 @@ describe('config', () => {
     });
 
     it('returns default when SSM returns non-numeric value', async () => {
-      mockSend.mockResolvedValueOnce({
-        Parameter: { Value: 'not-a-number' },
-      });
+      ssmReturns({ 'api.timeout.ms': 'not-a-number' });
 
       const { getApiTimeoutMs } = await import('./config');
       expect(await getApiTimeoutMs()).toBe(5000);
@@ -112,9 +201,7 @@ describe('config', () => {
 
   describe('getApiRetryCount', () => {
     it('returns SSM value as number', async () => {
-      mockSend.mockResolvedValueOnce({
-        Parameter: { Value: '5' },
-      });
+      ssmReturns({ 'api.retry.count': '5' });
 
       const { getApiRetryCount } = await import('./config');
       expect(await getApiRetryCount()).toBe(5);
@@ -128,9 +215,7 @@ describe('config', () => {
     });
 
     it('returns default when SSM returns non-numeric value', async () => {
-      mockSend.mockResolvedValueOnce({
-        Parameter: { Value: 'abc' },
-      });
+      ssmReturns({ 'api.retry.count': 'abc' });
 
       const { getApiRetryCount } = await import('./config');
       expect(await getApiRetryCount()).toBe(3);
@@ -139,9 +224,7 @@ describe('config', () => {
 
   describe('getLogLevel', () => {
     it('returns SSM value', async () => {
-      mockSend.mockResolvedValueOnce({
-        Parameter: { Value: 'debug' },
-      });
+      ssmReturns({ 'log.level': 'debug' });
 
       const { getLogLevel } = await import('./config');
       expect(await getLogLevel()).toBe('debug');
@@ -157,9 +240,7 @@ describe('config', () => {
 
   describe('getRateLimitRpm', () => {
     it('returns SSM value as number', async () => {
-      mockSend.mockResolvedValueOnce({
-        Parameter: { Value: '120' },
-      });
+      ssmReturns({ 'rate.limit.rpm': '120' });
 
       const { getRateLimitRpm } = await import('./config');
       expect(await getRateLimitRpm()).toBe(120);
@@ -173,9 +254,7 @@ describe('config', () => {
     });
 
     it('returns default when SSM returns non-numeric value', async () => {
-      mockSend.mockResolvedValueOnce({
-        Parameter: { Value: '' },
-      });
+      ssmReturns({ 'rate.limit.rpm': '' });
 
       const { getRateLimitRpm } = await import('./config');
       expect(await getRateLimitRpm()).toBe(60);
@@ -0,0 +1,117 @@
+/**
+ * Configuration served by sidecars on localhost:
+ * - the AWS AppConfig agent (APPCONFIG_PATH), for runtime tuning knobs;
+ * - the config-cache sidecar (CONFIG_CACHE_URL), for the whole SSM hierarchy.
+ * Each response is cached in-process and refreshed in the background, so request
+ * handling never waits on a sidecar once a value is loaded. The CDK stack sets the
+ * variables only when it adds the corresponding sidecar.
+ */
+
+const AGENT_URL = process.env.APPCONFIG_AGENT_URL ?? 'http://localhost:2772';
+const APPCONFIG_PATH = process.env.APPCONFIG_PATH;
+const CONFIG_CACHE_URL = process.env.CONFIG_CACHE_URL;
+const REFRESH_MS = parseInt(process.env.LOCAL_CONFIG_REFRESH_MS ?? '', 10) || 5000;
+const SIDECAR_TIMEOUT_MS = 500;
+
+interface LocalSource {
+  get(name: string): Promise<string | undefined>;
+  reload(): Promise<void>;
+}
+
+function createLocalSource(label: string, url: string | undefined): LocalSource {
+  let values: Record<string, unknown> | undefined;
+  let etag: string | undefined;
+  let fetchedAt = 0;
+  let inflight: Promise<void> | undefined;
+
+  async function refresh(): Promise<void> {
+    try {
+      const response = await fetch(url!, {
+        headers: etag ? { 'If-None-Match': etag } : {},
+        signal: AbortSignal.timeout(SIDECAR_TIMEOUT_MS),
+      });
+      if (response.status === 304) return;
+      if (!response.ok) {
+        throw new Error(`${label} returned ${response.status}`);
+      }
+      values = (await response.json()) as Record<string, unknown>;
+      etag = response.headers.get('ETag') ?? undefined;
+    } catch (error) {
+      // Keep serving the last known values; callers fall back when there are none
+      console.error(`${label} fetch failed`, error);
+    } finally {
+      fetchedAt = Date.now();
+      inflight = undefined;
+    }
+  }
+
+  return {
+    async get(name: string): Promise<string | undefined> {
+      if (!url) return undefined;
+
+      if (Date.now() - fetchedAt >= REFRESH_MS && !inflight) {
+        inflight = refresh();
+      }
+      // Only the very first lookup waits for the sidecar
+      if (values === undefined && inflight) {
+        await inflight;
+      }
+
+      const value = values?.[name];
+      return value === undefined || value === null ? undefined : String(value);
+    },
+
+    async reload(): Promise<void> {
+      if (!url) return;
+      if (inflight) await inflight;
+      inflight = refresh();
+      await inflight;
+    },
+  };
+}
+
+const appConfig = createLocalSource(
+  'AppConfig agent',
+  APPCONFIG_PATH ? `${AGENT_URL}${APPCONFIG_PATH}` : undefined
+);
+const configCache = createLocalSource(
+  'Config cache',
+  CONFIG_CACHE_URL ? `${CONFIG_CACHE_URL}/parameters` : undefined
+);
+
+export function isDynamicConfigEnabled(): boolean {
+  return Boolean(APPCONFIG_PATH);
+}
+
+/**
+ * Returns the AppConfig tuning value for a parameter name, or undefined when AppConfig
+ * is disabled, unreachable or does not define it.
+ */
+export async function getDynamicValue(name: string): Promise<string | undefined> {
+  return appConfig.get(name);
+}
+
+/**
+ * Returns the parameter from the config-cache sidecar, or undefined when it is not
+ * deployed, unreachable or does not hold the parameter.
+ */
+export async function getCachedParameter(name: string): Promise<string | undefined> {
+  return configCache.get(name);
+}
+
+/**
+ * Makes the config-cache sidecar reload from SSM now, then re-reads it, so a pushed
+ * change does not wait for either refresh interval. No-op when the sidecar is not deployed.
+ */
+export async function reloadCachedParameters(): Promise<void> {
+  if (!CONFIG_CACHE_URL) return;
+  try {
+    await fetch(`${CONFIG_CACHE_URL}/refresh`, {
+      method: 'POST',
+      signal: AbortSignal.timeout(SIDECAR_TIMEOUT_MS * 4),
+    });
+  } catch (error) {
+    console.error('Config cache refresh failed', error);
+  }
+  await configCache.reload();
+}
@@ -0,0 +1,126 @@
+import { describe, it, expect, vi, beforeEach, afterEach } from 'vitest';
+
+const mockFetch = vi.fn();
+
+describe('dynamicConfig', () => {
+  beforeEach(() => {
+    vi.resetModules();
+    mockFetch.mockReset();
+    vi.stubGlobal('fetch', mockFetch);
+    process.env.APPCONFIG_AGENT_URL = 'http://localhost:2772';
+    process.env.APPCONFIG_PATH = '/applications/app/environments/dev/configurations/tuning';
+    delete process.env.LOCAL_CONFIG_REFRESH_MS;
+    delete process.env.CONFIG_CACHE_URL;
+  });
+
+  afterEach(() => {
+    vi.unstubAllGlobals();
+    vi.useRealTimers();
+    delete process.env.APPCONFIG_PATH;
+  });
+
+  it('returns undefined without calling the agent when disabled', async () => {
+    delete process.env.APPCONFIG_PATH;
+
+    const { getDynamicValue, isDynamicConfigEnabled } = await import('./dynamicConfig');
+
+    expect(isDynamicConfigEnabled()).toBe(false);
+    expect(await getDynamicValue('api.timeout.ms')).toBeUndefined();
+    expect(mockFetch).not.toHaveBeenCalled();
+  });
+
+  it('reads values from the agent profile path', async () => {
+    mockFetch.mockResolvedValueOnce(new Response(JSON.stringify({ 'api.timeout.ms': 2000 })));
+
+    const { getDynamicValue } = await import('./dynamicConfig');
+
+    expect(await getDynamicValue('api.timeout.ms')).toBe('2000');
+    expect(mockFetch).toHaveBeenCalledWith(
+      'http://localhost:2772/applications/app/environments/dev/configurations/tuning',
+      expect.anything()
+    );
+  });
+
+  it('serves cached values until the refresh interval elapses', async () => {
+    vi.useFakeTimers();
+    mockFetch
+      .mockResolvedValueOnce(new Response(JSON.stringify({ 'api.retry.count': 3 })))
+      .mockResolvedValueOnce(new Response(JSON.stringify({ 'api.retry.count': 1 })));
+
+    const { getDynamicValue } = await import('./dynamicConfig');
+
+    expect(await getDynamicValue('api.retry.count')).toBe('3');
+    expect(await getDynamicValue('api.retry.count')).toBe('3');
+    expect(mockFetch).toHaveBeenCalledOnce();
+
+    vi.advanceTimersByTime(5000);
+    // The stale value is served while the refresh runs in the background
+    expect(await getDynamicValue('api.retry.count')).toBe('3');
+    await vi.waitFor(async () => expect(await getDynamicValue('api.retry.count')).toBe('1'));
+  });
+
+  it('returns undefined when the agent is unreachable', async () => {
+    mockFetch.mockRejectedValueOnce(new Error('ECONNREFUSED'));
+
+    const { getDynamicValue } = await import('./dynamicConfig');
+
+    expect(await getDynamicValue('rate.limit.rpm')).toBeUndefined();
+  });
+
+  it('returns undefined for keys missing from the profile', async () => {
+    mockFetch.mockResolvedValueOnce(new Response(JSON.stringify({ 'api.timeout.ms': 2000 })));
+
+    const { getDynamicValue } = await import('./dynamicConfig');
+
+    expect(await getDynamicValue('rate.limit.rpm')).toBeUndefined();
+  });
+
+  describe('config cache', () => {
+    it('returns undefined without calling the sidecar when not deployed', async () => {
+      const { getCachedParameter } = await import('./dynamicConfig');
+
+      expect(await getCachedParameter('api.backend.url')).toBeUndefined();
+      expect(mockFetch).not.toHaveBeenCalled();
+    });
+
+    it('reads parameters from the sidecar and revalidates with the ETag', async () => {
+      vi.useFakeTimers();
+      process.env.CONFIG_CACHE_URL = 'http://localhost:2773';
+      mockFetch
+        .mockResolvedValueOnce(
+          new Response(JSON.stringify({ 'api.backend.url': 'http://backend' }), {
+            headers: { ETag: '"abc"' },
+          })
+        )
+        .mockResolvedValueOnce(new Response(null, { status: 304 }));
+
+      const { getCachedParameter } = await import('./dynamicConfig');
+
+      expect(await getCachedParameter('api.backend.url')).toBe('http://backend');
+      expect(mockFetch.mock.calls[0][0]).toBe('http://localhost:2773/parameters');
+
+      vi.advanceTimersByTime(5000);
+      expect(await getCachedParameter('api.backend.url')).toBe('http://backend');
+      await vi.waitFor(() => expect(mockFetch).toHaveBeenCalledTimes(2));
+      expect(mockFetch.mock.calls[1][1].headers).toEqual({ 'If-None-Match': '"abc"' });
+      expect(await getCachedParameter('api.backend.url')).toBe('http://backend');
+    });
+
+    it('asks the sidecar to reload and re-reads it without waiting for the interval', async () => {
+      process.env.CONFIG_CACHE_URL = 'http://localhost:2773';
+      mockFetch
+        .mockResolvedValueOnce(new Response(JSON.stringify({ 'rate.limit.rpm': '60' })))
+        .mockResolvedValueOnce(new Response(JSON.stringify({ changed: true })))
+        .mockResolvedValueOnce(new Response(JSON.stringify({ 'rate.limit.rpm': '120' })));
+
+      const { getCachedParameter, reloadCachedParameters } = await import('./dynamicConfig');
+      expect(await getCachedParameter('rate.limit.rpm')).toBe('60');
+
+      await reloadCachedParameters();
+
+      expect(mockFetch.mock.calls[1][0]).toBe('http://localhost:2773/refresh');
+      expect(mockFetch.mock.calls[1][1].method).toBe('POST');
+      expect(await getCachedParameter('rate.limit.rpm')).toBe('120');
+    });
+  });
+});
@@ -0,0 +1,48 @@
+import logger from './logger';
+
+/**
+ * Cache-Control for edge micro-cached paths. The CDK stack sets EDGE_CACHE_RULES from the
+ * distribution's edge cache rules; CloudFront takes s-maxage, stale-while-revalidate and
+ * stale-if-error from the header. Without the variable no response is marked cacheable.
+ */
+
+export interface EdgeCacheRule {
+  path: string;
+  cacheControl: string;
+}
+
+const CACHEABLE_METHODS = new Set(['GET', 'HEAD']);
+
+function parseRules(raw: string | undefined): EdgeCacheRule[] {
+  if (!raw) return [];
+  try {
+    return JSON.parse(raw) as EdgeCacheRule[];
+  } catch (err) {
+    logger.warn({ err }, 'Ignoring malformed EDGE_CACHE_RULES');
+    return [];
+  }
+}
+
+const RULES = parseRules(process.env.EDGE_CACHE_RULES);
+
+/**
+ * CloudFront path pattern semantics for the patterns the stack allows: exact, or prefix with a trailing *.
+ */
+export function matchesPathPattern(pattern: string, pathname: string): boolean {
+  return pattern.endsWith('*') ? pathname.startsWith(pattern.slice(0, -1)) : pathname === pattern;
+}
+
+/**
+ * Header value for a response, or undefined when it must not be cached: unsafe methods,
+ * anything but 200, responses that already set Cache-Control or cookies, and unlisted paths.
+ */
+export function edgeCacheControl(
+  method: string,
+  pathname: string,
+  response: Response,
+  rules: EdgeCacheRule[] = RULES
+): string | undefined {
+  if (!CACHEABLE_METHODS.has(method) || response.status !== 200) return undefined;
+  if (response.headers.has('cache-control') || response.headers.has('set-cookie')) return undefined;
+  return rules.find((rule) => matchesPathPattern(rule.path, pathname))?.cacheControl;
+}
@@ -0,0 +1,59 @@
+import { describe, it, expect, vi } from 'vitest';
+
+vi.mock('./logger', () => ({
+  default: { warn: vi.fn() },
+}));
+
+const RULES = [
+  { path: '/', cacheControl: 'public, max-age=0, s-maxage=2, stale-while-revalidate=5, stale-if-error=60' },
+  { path: '/api/greetings', cacheControl: 'public, max-age=0, s-maxage=3, stale-while-revalidate=5, stale-if-error=60' },
+  { path: '/docs/*', cacheControl: 'public, max-age=0, s-maxage=5' },
+];
+
+describe('edgeCache', () => {
+  it('matches exact and trailing-wildcard path patterns', async () => {
+    const { matchesPathPattern } = await import('./edgeCache');
+
+    expect(matchesPathPattern('/', '/')).toBe(true);
+    expect(matchesPathPattern('/', '/about')).toBe(false);
+    expect(matchesPathPattern('/api/greetings', '/api/greetings/123')).toBe(false);
+    expect(matchesPathPattern('/docs/*', '/docs/intro')).toBe(true);
+  });
+
+  it('returns the rule header for successful GET and HEAD responses', async () => {
+    const { edgeCacheControl } = await import('./edgeCache');
+
+    expect(edgeCacheControl('GET', '/api/greetings', new Response('[]'), RULES)).toBe(RULES[1].cacheControl);
+    expect(edgeCacheControl('HEAD', '/', new Response(null), RULES)).toBe(RULES[0].cacheControl);
+  });
+
+  it('never marks unsafe methods, errors or unlisted paths as cacheable', async () => {
+    const { edgeCacheControl } = await import('./edgeCache');
+
+    expect(edgeCacheControl('POST', '/api/greetings', new Response('{}'), RULES)).toBeUndefined();
+    expect(edgeCacheControl('GET', '/api/greetings', new Response('', { status: 502 }), RULES)).toBeUndefined();
+    expect(edgeCacheControl('GET', '/api/greetings/abc', new Response('{}'), RULES)).toBeUndefined();
+  });
+
+  it('leaves responses that set their own Cache-Control or cookies alone', async () => {
+    const { edgeCacheControl } = await import('./edgeCache');
+
+    const noStore = new Response('[]', { headers: { 'Cache-Control': 'no-store' } });
+    const withCookie = new Response('[]', { headers: { 'Set-Cookie': 'session=1' } });
+
+    expect(edgeCacheControl('GET', '/api/greetings', noStore, RULES)).toBeUndefined();
+    expect(edgeCacheControl('GET', '/', withCookie, RULES)).toBeUndefined();
+  });
+
+  it('reads the rules from EDGE_CACHE_RULES', async () => {
+    vi.resetModules();
+    process.env.EDGE_CACHE_RULES = JSON.stringify(RULES);
+    try {
+      const { edgeCacheControl } = await import('./edgeCache');
+
+      expect(edgeCacheControl('GET', '/docs/a', new Response('ok'))).toBe(RULES[2].cacheControl);
+    } finally {
+      delete process.env.EDGE_CACHE_RULES;
+    }
+  });
+});
@@ -1,22 +1,99 @@
-import { getApiTimeoutMs, getApiRetryCount } from './config';
+import { fetch, type RequestInit, type Response } from 'undici';
+import { getBackendDispatcher } from './backendClient';
+import { getApiTimeoutMs, getApiRetryCount, getRetryPolicy, type RetryPolicy } from './config';
+import { LoadShedError, withConcurrencyLimit } from './loadShedding';
 import logger from './logger';
+import { incrementCounter } from './metrics';
 
+// Per-process retry budget, in hundredths of a retry: every request deposits budgetPercent
+// and every retry withdraws 100, so retries stay a bounded share of traffic during a
+// brownout. The cap of 10 retries lets a quiet process still retry an occasional failure.
+const RETRY_COST = 100;
+const RETRY_BUDGET_MAX = 10 * RETRY_COST;
+
+let retryBudget = RETRY_BUDGET_MAX;
+
+function withdrawRetry(): boolean {
+  if (retryBudget < RETRY_COST) return false;
+  retryBudget -= RETRY_COST;
+  return true;
+}
+
+/**
+ * Backoff before retry number `retry` (1-based): exponential from the base delay,
+ * capped at the max delay, then jittered.
+ */
+export function backoffDelayMs(policy: RetryPolicy, retry: number, random: () => number = Math.random): number {
+  const exponential = Math.min(policy.maxDelayMs, policy.baseDelayMs * 2 ** (retry - 1));
+  switch (policy.jitter) {
+    case 'none':
+      return exponential;
+    case 'equal':
+      return exponential / 2 + (random() * exponential) / 2;
+    default:
+      return random() * exponential;
+  }
+}
+
+/**
+ * Calls the backend, retrying per the retry policy. Each attempt takes its own slot under the
+ * adaptive concurrency limit, so the limiter sees per-attempt latency and no slot is held
+ * through a backoff. Throws LoadShedError when the limit is full.
+ */
 export async function fetchWithRetry(url: string, options: RequestInit = {}): Promise<Response> {
-  const [timeoutMs, retryCount] = await Promise.all([getApiTimeoutMs(), getApiRetryCount()]);
+  const [timeoutMs, retryCount, policy] = await Promise.all([
+    getApiTimeoutMs(),
+    getApiRetryCount(),
+    getRetryPolicy(),
+  ]);
+  const retryableMethod = policy.methods.has((options.method ?? 'GET').toUpperCase());
+  retryBudget = Math.min(RETRY_BUDGET_MAX, retryBudget + policy.budgetPercent);
+
   let lastError: unknown;
+  let lastResponse: Response | undefined;
 
-  for (let attempt = 0; attempt <= retryCount; attempt++) {
+  for (let attempt = 0; ; attempt++) {
+    lastError = undefined;
+    lastResponse = undefined;
     try {
-      const response = await fetch(url, { ...options, signal: AbortSignal.timeout(timeoutMs) });
-      if (attempt > 0) {
-        logger.info({ url, attempt, status: response.status }, 'Fetch succeeded after retry');
+      // fetch comes from the same undici package as the Agent, so the dispatcher interface
+      // always matches; Node's global fetch bundles its own undici version
+      const response = await withConcurrencyLimit(() =>
+        fetch(url, {
+          ...options,
+          signal: AbortSignal.timeout(timeoutMs),
+          dispatcher: getBackendDispatcher(),
+        })
+      );
+      if (!policy.statusCodes.has(response.status)) {
+        if (attempt > 0) {
+          logger.info({ url, attempt, status: response.status }, 'Fetch succeeded after retry');
+        }
+        return response;
       }
-      return response;
+      lastResponse = response;
+      logger.warn({ url, attempt, retryCount, status: response.status }, 'Fetch attempt returned retryable status');
     } catch (error) {
+      if (error instanceof LoadShedError) throw error;
       lastError = error;
       logger.warn({ url, attempt, retryCount, err: error }, 'Fetch attempt failed');
     }
+
+    if (!retryableMethod || attempt >= retryCount) break;
+    if (!withdrawRetry()) {
+      incrementCounter('BackendRetriesSuppressed');
+      logger.warn({ url, attempt }, 'Retry suppressed by retry budget');
+      break;
+    }
+    incrementCounter('BackendRetries');
+
+    // Release the connection held by the discarded response before backing off
+    await lastResponse?.body?.cancel();
+    const delayMs = backoffDelayMs(policy, attempt + 1);
+    await new Promise((resolve) => setTimeout(resolve, delayMs));
   }
+
+  if (lastResponse) return lastResponse;
   logger.error({ url, retryCount, err: lastError }, 'All fetch attempts exhausted');
   throw lastError;
 }
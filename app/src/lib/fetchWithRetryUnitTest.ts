@@ -1,21 +1,46 @@
 import { describe, it, expect, vi, beforeEach } from 'vitest';
 
+const retryPolicy = {
+  baseDelayMs: 1,
+  maxDelayMs: 4,
+  jitter: 'none' as const,
+  statusCodes: new Set([502, 503, 504]),
+  methods: new Set(['GET', 'PUT', 'DELETE']),
+  budgetPercent: 20,
+};
+
 vi.mock('./config', () => ({
   getApiTimeoutMs: async () => 5000,
   getApiRetryCount: async () => 2,
+  getRetryPolicy: async () => retryPolicy,
+}));
+
+const { mockIncrementCounter, backendDispatcher, gauges } = vi.hoisted(() => ({
+  mockIncrementCounter: vi.fn(),
+  backendDispatcher: { name: 'backend-pool' },
+  gauges: new Map<string, () => number>(),
 }));
+vi.mock('./metrics', () => ({
+  incrementCounter: mockIncrementCounter,
+  registerGauge: (name: string, read: () => number) => gauges.set(name, read),
+}));
+vi.mock('./backendClient', () => ({ getBackendDispatcher: () => backendDispatcher }));
 
 vi.mock('./logger', () => ({
   default: { info: vi.fn(), warn: vi.fn(), error: vi.fn(), debug: vi.fn() },
   initLogLevel: vi.fn(),
 }));
 
-const mockFetch = vi.fn();
-vi.stubGlobal('fetch', mockFetch);
+const { mockFetch } = vi.hoisted(() => ({ mockFetch: vi.fn() }));
+vi.mock('undici', () => ({ fetch: mockFetch }));
 
 describe('fetchWithRetry', () => {
   beforeEach(() => {
+    vi.resetModules();
     mockFetch.mockReset();
+    mockIncrementCounter.mockReset();
+    gauges.clear();
+    delete process.env.LOAD_SHEDDING_ALGORITHM;
   });
 
   it('returns response on first successful attempt', async () => {
@@ -28,6 +53,15 @@ describe('fetchWithRetry', () => {
     expect(mockFetch).toHaveBeenCalledOnce();
   });
 
+  it('sends requests through the shared backend pool', async () => {
+    mockFetch.mockResolvedValueOnce({ status: 200 });
+
+    const { fetchWithRetry } = await import('./fetchWithRetry');
+    await fetchWithRetry('http://example.com');
+
+    expect(mockFetch.mock.calls[0][1].dispatcher).toBe(backendDispatcher);
+  });
+
   it('does not log warn on first success', async () => {
     mockFetch.mockResolvedValueOnce({ status: 200 });
 
@@ -73,4 +107,83 @@ describe('fetchWithRetry', () => {
       'All fetch attempts exhausted'
     );
   });
+
+  it('retries retryable status codes and returns the last response when retries run out', async () => {
+    mockFetch.mockResolvedValue({ status: 503 });
+
+    const { fetchWithRetry } = await import('./fetchWithRetry');
+    const res = await fetchWithRetry('http://example.com');
+
+    expect(res.status).toBe(503);
+    expect(mockFetch).toHaveBeenCalledTimes(3);
+    expect(mockIncrementCounter).toHaveBeenCalledWith('BackendRetries');
+  });
+
+  it('does not retry non-retryable status codes', async () => {
+    mockFetch.mockResolvedValueOnce({ status: 500 });
+
+    const { fetchWithRetry } = await import('./fetchWithRetry');
+    const res = await fetchWithRetry('http://example.com');
+
+    expect(res.status).toBe(500);
+    expect(mockFetch).toHaveBeenCalledOnce();
+  });
+
+  it('does not retry non-idempotent methods', async () => {
+    mockFetch.mockRejectedValue(new Error('reset'));
+
+    const { fetchWithRetry } = await import('./fetchWithRetry');
+
+    await expect(fetchWithRetry('http://example.com', { method: 'POST' })).rejects.toThrow('reset');
+    expect(mockFetch).toHaveBeenCalledOnce();
+    expect(mockIncrementCounter).not.toHaveBeenCalled();
+  });
+
+  it('suppresses retries once the retry budget is spent', async () => {
+    mockFetch.mockRejectedValue(new Error('brownout'));
+
+    const { fetchWithRetry } = await import('./fetchWithRetry');
+    for (let i = 0; i < 10; i++) {
+      await expect(fetchWithRetry('http://example.com')).rejects.toThrow('brownout');
+    }
+
+    const retries = mockIncrementCounter.mock.calls.filter(([name]) => name === 'BackendRetries').length;
+    const suppressed = mockIncrementCounter.mock.calls.filter(([name]) => name === 'BackendRetriesSuppressed').length;
+    // 10 retries up front plus 0.2 per request: 11 retries, then one suppression per request
+    expect(retries).toBe(11);
+    expect(suppressed).toBe(5);
+  });
+
+  it('releases the concurrency slot between attempts', async () => {
+    process.env.LOAD_SHEDDING_ALGORITHM = 'aimd';
+    let inFlightDuringBackoff: number | undefined;
+    mockFetch.mockResolvedValueOnce({
+      status: 503,
+      body: { cancel: async () => (inFlightDuringBackoff = gauges.get('BackendInFlight')?.()) },
+    });
+    mockFetch.mockResolvedValueOnce({ status: 200 });
+
+    const { fetchWithRetry } = await import('./fetchWithRetry');
+    const res = await fetchWithRetry('http://example.com');
+
+    expect(res.status).toBe(200);
+    expect(inFlightDuringBackoff).toBe(0);
+  });
+
+  describe('backoffDelayMs', () => {
+    const policy = { ...retryPolicy, baseDelayMs: 100, maxDelayMs: 1000 };
+
+    it('grows exponentially up to the max delay', async () => {
+      const { backoffDelayMs } = await import('./fetchWithRetry');
+
+      expect([1, 2, 3, 4, 5].map((retry) => backoffDelayMs(policy, retry))).toEqual([100, 200, 400, 800, 1000]);
+    });
+
+    it('applies full and equal jitter', async () => {
+      const { backoffDelayMs } = await import('./fetchWithRetry');
+
+      expect(backoffDelayMs({ ...policy, jitter: 'full' }, 3, () => 0.5)).toBe(200);
+      expect(backoffDelayMs({ ...policy, jitter: 'equal' }, 3, () => 0.5)).toBe(300);
+    });
+  });
 });
@@ -0,0 +1,137 @@
+import { incrementCounter, registerGauge } from './metrics';
+
+/**
+ * Adaptive concurrency limit for backend calls, one per Node worker. Calls over the limit
+ * are shed immediately instead of holding a socket until api.timeout.ms. The CDK stack
+ * sets the LOAD_SHEDDING_* variables from LoadSheddingConfig; without them nothing is limited.
+ */
+
+export type LimitAlgorithm = 'aimd' | 'gradient';
+
+export interface LimiterOptions {
+  algorithm: LimitAlgorithm;
+  initialLimit: number;
+  minLimit: number;
+  maxLimit: number;
+}
+
+const BACKOFF_RATIO = 0.9;
+const GRADIENT_SMOOTHING = 0.2;
+const LONG_RTT_WEIGHT = 0.05;
+
+export class ConcurrencyLimiter {
+  private currentLimit: number;
+  private active = 0;
+  private longRttMs: number | undefined;
+
+  constructor(private readonly options: LimiterOptions) {
+    this.currentLimit = options.initialLimit;
+  }
+
+  get limit(): number {
+    return Math.floor(this.currentLimit);
+  }
+
+  get inFlight(): number {
+    return this.active;
+  }
+
+  tryAcquire(): boolean {
+    if (this.active >= this.limit) return false;
+    this.active++;
+    return true;
+  }
+
+  /**
+   * Releases a slot and adapts the limit from the call's latency; `dropped` marks
+   * timeouts, connection failures and 5xx responses.
+   */
+  release(rttMs: number, dropped: boolean): void {
+    const inFlight = this.active;
+    this.active = Math.max(0, this.active - 1);
+
+    if (dropped) {
+      this.setLimit(this.currentLimit * BACKOFF_RATIO);
+      return;
+    }
+    // Only grow a limit that is actually being used
+    const utilized = inFlight * 2 >= this.currentLimit;
+
+    if (this.options.algorithm === 'aimd') {
+      if (utilized) this.setLimit(this.currentLimit + 1);
+      return;
+    }
+
+    this.longRttMs =
+      this.longRttMs === undefined ? rttMs : this.longRttMs * (1 - LONG_RTT_WEIGHT) + rttMs * LONG_RTT_WEIGHT;
+    const gradient = Math.min(1, Math.max(0.5, this.longRttMs / Math.max(rttMs, 1e-3)));
+    const target = this.currentLimit * gradient + Math.sqrt(this.currentLimit);
+    if (target > this.currentLimit && !utilized) return;
+    this.setLimit(this.currentLimit * (1 - GRADIENT_SMOOTHING) + target * GRADIENT_SMOOTHING);
+  }
+
+  private setLimit(limit: number): void {
+    this.currentLimit = Math.min(this.options.maxLimit, Math.max(this.options.minLimit, limit));
+  }
+}
+
+export class LoadShedError extends Error {
+  constructor(readonly status: number) {
+    super('Backend concurrency limit reached');
+    this.name = 'LoadShedError';
+  }
+
+  toResponse(): Response {
+    return new Response(JSON.stringify({ message: 'Service is busy, please retry shortly' }), {
+      status: this.status,
+      headers: { 'Content-Type': 'application/json', 'Retry-After': '1' },
+    });
+  }
+}
+
+const ALGORITHM = process.env.LOAD_SHEDDING_ALGORITHM;
+const SHED_STATUS = parseInt(process.env.LOAD_SHEDDING_STATUS_CODE ?? '', 10) || 503;
+
+let limiter: ConcurrencyLimiter | undefined;
+
+function intFromEnv(name: string, fallback: number): number {
+  const parsed = parseInt(process.env[name] ?? '', 10);
+  return Number.isNaN(parsed) ? fallback : parsed;
+}
+
+function getLimiter(): ConcurrencyLimiter | undefined {
+  if (!ALGORITHM || limiter) return limiter;
+
+  limiter = new ConcurrencyLimiter({
+    algorithm: ALGORITHM === 'aimd' ? 'aimd' : 'gradient',
+    initialLimit: intFromEnv('LOAD_SHEDDING_INITIAL_LIMIT', 20),
+    minLimit: intFromEnv('LOAD_SHEDDING_MIN_LIMIT', 4),
+    maxLimit: intFromEnv('LOAD_SHEDDING_MAX_LIMIT', 200),
+  });
+  const current = limiter;
+  registerGauge('ConcurrencyLimit', () => current.limit);
+  registerGauge('BackendInFlight', () => current.inFlight);
+  return limiter;
+}
+
+/**
+ * Runs a backend call under the concurrency limit, throwing LoadShedError when it is full.
+ */
+export async function withConcurrencyLimit<T extends { status: number }>(call: () => Promise<T>): Promise<T> {
+  const current = getLimiter();
+  if (!current) return call();
+
+  if (!current.tryAcquire()) {
+    incrementCounter('RequestsShed');
+    throw new LoadShedError(SHED_STATUS);
+  }
+  const startedAt = performance.now();
+  let dropped = true;
+  try {
+    const response = await call();
+    dropped = response.status >= 500;
+    return response;
+  } finally {
+    current.release(performance.now() - startedAt, dropped);
+  }
+}
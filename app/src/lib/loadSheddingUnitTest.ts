@@ -0,0 +1,100 @@
+import { describe, it, expect, vi, beforeEach, afterEach } from 'vitest';
+
+const { mockIncrementCounter, mockRegisterGauge } = vi.hoisted(() => ({
+  mockIncrementCounter: vi.fn(),
+  mockRegisterGauge: vi.fn(),
+}));
+
+vi.mock('./metrics', () => ({
+  incrementCounter: mockIncrementCounter,
+  registerGauge: mockRegisterGauge,
+}));
+
+describe('loadShedding', () => {
+  beforeEach(() => {
+    vi.resetModules();
+    mockIncrementCounter.mockReset();
+    mockRegisterGauge.mockReset();
+  });
+
+  afterEach(() => {
+    delete process.env.LOAD_SHEDDING_ALGORITHM;
+    delete process.env.LOAD_SHEDDING_INITIAL_LIMIT;
+    delete process.env.LOAD_SHEDDING_STATUS_CODE;
+  });
+
+  describe('ConcurrencyLimiter', () => {
+    it('grows an AIMD limit additively while in use and backs off on drops', async () => {
+      const { ConcurrencyLimiter } = await import('./loadShedding');
+      const limiter = new ConcurrencyLimiter({ algorithm: 'aimd', initialLimit: 4, minLimit: 2, maxLimit: 10 });
+
+      for (let i = 0; i < 4; i++) expect(limiter.tryAcquire()).toBe(true);
+      expect(limiter.tryAcquire()).toBe(false);
+
+      limiter.release(10, false);
+      expect(limiter.limit).toBe(5);
+
+      limiter.tryAcquire();
+      limiter.release(10, true);
+      expect(limiter.limit).toBe(4);
+    });
+
+    it('does not grow a limit that is mostly idle', async () => {
+      const { ConcurrencyLimiter } = await import('./loadShedding');
+      const limiter = new ConcurrencyLimiter({ algorithm: 'aimd', initialLimit: 10, minLimit: 2, maxLimit: 20 });
+
+      limiter.tryAcquire();
+      limiter.release(10, false);
+
+      expect(limiter.limit).toBe(10);
+    });
+
+    it('shrinks a gradient limit when latency rises above the long-term average', async () => {
+      const { ConcurrencyLimiter } = await import('./loadShedding');
+      const limiter = new ConcurrencyLimiter({ algorithm: 'gradient', initialLimit: 20, minLimit: 4, maxLimit: 100 });
+
+      for (let i = 0; i < 20; i++) limiter.tryAcquire();
+      limiter.release(50, false);
+      const settled = limiter.limit;
+
+      for (let i = 0; i < 10; i++) {
+        limiter.tryAcquire();
+        limiter.release(500, false);
+      }
+
+      expect(limiter.limit).toBeLessThan(settled);
+      expect(limiter.limit).toBeGreaterThanOrEqual(4);
+    });
+  });
+
+  describe('withConcurrencyLimit', () => {
+    it('passes calls through when load shedding is not configured', async () => {
+      const { withConcurrencyLimit } = await import('./loadShedding');
+
+      const response = await withConcurrencyLimit(async () => new Response('ok'));
+
+      expect(response.status).toBe(200);
+      expect(mockRegisterGauge).not.toHaveBeenCalled();
+    });
+
+    it('sheds calls over the limit with the configured status', async () => {
+      process.env.LOAD_SHEDDING_ALGORITHM = 'aimd';
+      process.env.LOAD_SHEDDING_INITIAL_LIMIT = '1';
+      process.env.LOAD_SHEDDING_STATUS_CODE = '429';
+      const { withConcurrencyLimit, LoadShedError } = await import('./loadShedding');
+
+      let finish: (response: Response) => void = () => {};
+      const first = withConcurrencyLimit(() => new Promise((resolve) => (finish = resolve)));
+
+      const shed = await withConcurrencyLimit(async () => new Response('ok')).catch((err) => err);
+      expect(shed).toBeInstanceOf(LoadShedError);
+      expect(shed.toResponse().status).toBe(429);
+      expect(shed.toResponse().headers.get('Retry-After')).toBe('1');
+      expect(mockIncrementCounter).toHaveBeenCalledWith('RequestsShed');
+
+      finish(new Response('ok'));
+      await first;
+      expect((await withConcurrencyLimit(async () => new Response('ok'))).status).toBe(200);
+    });
+  });
+});
@@ -0,0 +1,125 @@
+import { monitorEventLoopDelay } from 'node:perf_hooks';
+
+/**
+ * Publishes per-process metrics as CloudWatch Embedded Metric Format (EMF) lines on stdout.
+ * The awslogs driver ships stdout to /ecs/<service>, where CloudWatch extracts the metrics.
+ * Publishing is enabled only when METRICS_NAMESPACE is set (the CDK stack sets it).
+ */
+
+type Unit = 'Milliseconds' | 'Count' | 'None';
+
+interface MetricValue {
+  value: number;
+  unit: Unit;
+}
+
+const NAMESPACE = process.env.METRICS_NAMESPACE;
+const SERVICE_NAME = process.env.SERVICE_NAME ?? 'astro-webui';
+const EVENT_LOOP_LAG_METRIC = process.env.METRICS_EVENT_LOOP_LAG_NAME ?? 'EventLoopLagP99';
+const IN_FLIGHT_METRIC = process.env.METRICS_IN_FLIGHT_NAME ?? 'InFlightRequests';
+const INTERVAL_MS = parseInt(process.env.METRICS_INTERVAL_MS ?? '', 10) || 60000;
+
+const counters = new Map<string, number>();
+const gauges = new Map<string, { unit: Unit; read: () => number }>();
+
+let inFlight = 0;
+let peakInFlight = 0;
+let publisher: NodeJS.Timeout | undefined;
+
+/**
+ * Marks a request as in flight. Call the returned function once it completes.
+ */
+export function trackRequest(): () => void {
+  inFlight++;
+  peakInFlight = Math.max(peakInFlight, inFlight);
+  let done = false;
+  return () => {
+    if (!done) {
+      done = true;
+      inFlight--;
+    }
+  };
+}
+
+export function getInFlight(): number {
+  return inFlight;
+}
+
+export function incrementCounter(name: string, by = 1): void {
+  counters.set(name, (counters.get(name) ?? 0) + by);
+}
+
+export function registerGauge(name: string, read: () => number, unit: Unit = 'Count'): void {
+  gauges.set(name, { unit, read });
+}
+
+export function buildEmfDocument(
+  metrics: Record<string, MetricValue>,
+  timestamp: number = Date.now()
+): Record<string, unknown> {
+  const names = Object.keys(metrics);
+  return {
+    _aws: {
+      Timestamp: timestamp,
+      CloudWatchMetrics: [
+        {
+          Namespace: NAMESPACE,
+          Dimensions: [['ServiceName']],
+          Metrics: names.map((name) => ({ Name: name, Unit: metrics[name].unit })),
+        },
+      ],
+    },
+    ServiceName: SERVICE_NAME,
+    ...Object.fromEntries(names.map((name) => [name, metrics[name].value])),
+  };
+}
+
+/**
+ * Collects the current interval's values and resets interval-scoped state.
+ */
+export function collectMetrics(eventLoopLagP99Ms: number): Record<string, MetricValue> {
+  // Peak rather than instantaneous in-flight, so bursts between flushes are not missed
+  const metrics: Record<string, MetricValue> = {
+    [EVENT_LOOP_LAG_METRIC]: { value: eventLoopLagP99Ms, unit: 'Milliseconds' },
+    [IN_FLIGHT_METRIC]: { value: peakInFlight, unit: 'Count' },
+  };
+  peakInFlight = inFlight;
+
+  for (const [name, gauge] of gauges) {
+    metrics[name] = { value: gauge.read(), unit: gauge.unit };
+  }
+  for (const [name, value] of counters) {
+    metrics[name] = { value, unit: 'Count' };
+  }
+  counters.clear();
+  return metrics;
+}
+
+/**
+ * Writes a single event-scoped metric immediately, outside the periodic flush.
+ */
+export function publishMetric(name: string, value: number, unit: Unit = 'Count'): void {
+  if (!NAMESPACE) return;
+  process.stdout.write(JSON.stringify(buildEmfDocument({ [name]: { value, unit } })) + '\n');
+}
+
+export function isMetricsEnabled(): boolean {
+  return Boolean(NAMESPACE);
+}
+
+/**
+ * Starts the periodic EMF publisher. Safe to call more than once.
+ */
+export function startMetricsPublisher(): void {
+  if (!NAMESPACE || publisher) return;
+
+  const histogram = monitorEventLoopDelay({ resolution: 10 });
+  histogram.enable();
+
+  publisher = setInterval(() => {
+    const lagP99Ms = histogram.count > 0 ? histogram.percentile(99) / 1e6 : 0;
+    histogram.reset();
+    process.stdout.write(JSON.stringify(buildEmfDocument(collectMetrics(lagP99Ms))) + '\n');
+  }, INTERVAL_MS);
+  publisher.unref();
+}
@@ -0,0 +1,96 @@
+import { describe, it, expect, vi, beforeEach } from 'vitest';
+
+describe('metrics', () => {
+  beforeEach(() => {
+    vi.resetModules();
+    process.env.METRICS_NAMESPACE = 'astro-webui';
+    process.env.SERVICE_NAME = 'astro-webui';
+    delete process.env.METRICS_EVENT_LOOP_LAG_NAME;
+    delete process.env.METRICS_IN_FLIGHT_NAME;
+  });
+
+  describe('buildEmfDocument', () => {
+    it('declares every metric under the configured namespace and ServiceName dimension', async () => {
+      const { buildEmfDocument } = await import('./metrics');
+
+      const doc = buildEmfDocument(
+        { EventLoopLagP99: { value: 12.5, unit: 'Milliseconds' } },
+        1700000000000
+      );
+
+      expect(doc).toEqual({
+        _aws: {
+          Timestamp: 1700000000000,
+          CloudWatchMetrics: [
+            {
+              Namespace: 'astro-webui',
+              Dimensions: [['ServiceName']],
+              Metrics: [{ Name: 'EventLoopLagP99', Unit: 'Milliseconds' }],
+            },
+          ],
+        },
+        ServiceName: 'astro-webui',
+        EventLoopLagP99: 12.5,
+      });
+    });
+  });
+
+  describe('collectMetrics', () => {
+    it('reports peak in-flight requests for the interval', async () => {
+      const { trackRequest, collectMetrics } = await import('./metrics');
+
+      const first = trackRequest();
+      const second = trackRequest();
+      second();
+
+      const metrics = collectMetrics(3);
+
+      expect(metrics.EventLoopLagP99).toEqual({ value: 3, unit: 'Milliseconds' });
+      expect(metrics.InFlightRequests).toEqual({ value: 2, unit: 'Count' });
+
+      first();
+      expect(collectMetrics(0).InFlightRequests.value).toBe(1);
+      expect(collectMetrics(0).InFlightRequests.value).toBe(0);
+    });
+
+    it('uses metric names from the environment', async () => {
+      process.env.METRICS_EVENT_LOOP_LAG_NAME = 'LoopLag';
+      process.env.METRICS_IN_FLIGHT_NAME = 'Busy';
+      const { collectMetrics } = await import('./metrics');
+
+      expect(Object.keys(collectMetrics(0))).toEqual(['LoopLag', 'Busy']);
+    });
+
+    it('includes counters once and then resets them', async () => {
+      const { incrementCounter, collectMetrics } = await import('./metrics');
+
+      incrementCounter('RetriesAttempted');
+      incrementCounter('RetriesAttempted', 2);
+
+      expect(collectMetrics(0).RetriesAttempted).toEqual({ value: 3, unit: 'Count' });
+      expect(collectMetrics(0).RetriesAttempted).toBeUndefined();
+    });
+
+    it('reads registered gauges on every collection', async () => {
+      const { registerGauge, collectMetrics } = await import('./metrics');
+      let value = 4;
+      registerGauge('ConcurrencyLimit', () => value);
+
+      expect(collectMetrics(0).ConcurrencyLimit.value).toBe(4);
+      value = 7;
+      expect(collectMetrics(0).ConcurrencyLimit.value).toBe(7);
+    });
+  });
+
+  describe('trackRequest', () => {
+    it('ignores repeated completion calls', async () => {
+      const { trackRequest, getInFlight } = await import('./metrics');
+
+      const done = trackRequest();
+      done();
+      done();
+
+      expect(getInFlight()).toBe(0);
+    });
+  });
+});
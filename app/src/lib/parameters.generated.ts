@@ -0,0 +1,105 @@
+// Generated from cdk/src/main/java/com/example/infra/ParameterCatalog.java.
+// Do not edit; run ParameterCatalogGenerator after changing the catalog.
+
+export type ParameterType = 'string' | 'integer';
+export type ReloadSemantics = 'startup' | 'runtime';
+
+export interface ParameterDefinition {
+  type: ParameterType;
+  defaultValue: string;
+  description: string;
+  reload: ReloadSemantics;
+  envName: string;
+}
+
+export const PARAMETERS = {
+  'app.description': {
+    type: 'string',
+    defaultValue: 'This application manages a greeting service. You can create new greetings, look up existing ones by ID, delete greetings, and browse all stored messages. It communicates with the Spring Cloud Service API backend.',
+    description: 'Application description',
+    reload: 'startup',
+    envName: 'APP_DESCRIPTION',
+  },
+  'api.backend.url': {
+    type: 'string',
+    defaultValue: 'http://localhost:8080',
+    description: 'Backend API base URL',
+    reload: 'startup',
+    envName: 'API_BACKEND_URL',
+  },
+  'api.timeout.ms': {
+    type: 'integer',
+    defaultValue: '5000',
+    description: 'Backend API request timeout in milliseconds',
+    reload: 'runtime',
+    envName: 'API_TIMEOUT_MS',
+  },
+  'api.retry.count': {
+    type: 'integer',
+    defaultValue: '3',
+    description: 'Backend API request retry count',
+    reload: 'runtime',
+    envName: 'API_RETRY_COUNT',
+  },
+  'log.level': {
+    type: 'string',
+    defaultValue: 'info',
+    description: 'Application log level',
+    reload: 'startup',
+    envName: 'LOG_LEVEL',
+  },
+  'rate.limit.rpm': {
+    type: 'integer',
+    defaultValue: '60',
+    description: 'Rate limit in requests per minute',
+    reload: 'runtime',
+    envName: 'RATE_LIMIT_RPM',
+  },
+  'retry.base.delay.ms': {
+    type: 'integer',
+    defaultValue: '100',
+    description: 'Backend retry base backoff in milliseconds',
+    reload: 'runtime',
+    envName: 'RETRY_BASE_DELAY_MS',
+  },
+  'retry.max.delay.ms': {
+    type: 'integer',
+    defaultValue: '2000',
+    description: 'Backend retry maximum backoff in milliseconds',
+    reload: 'runtime',
+    envName: 'RETRY_MAX_DELAY_MS',
+  },
+  'retry.jitter': {
+    type: 'string',
+    defaultValue: 'full',
+    description: 'Backend retry jitter (full, equal or none)',
+    reload: 'runtime',
+    envName: 'RETRY_JITTER',
+  },
+  'retry.status.codes': {
+    type: 'string',
+    defaultValue: '502,503,504',
+    description: 'Comma-separated backend status codes that are retried',
+    reload: 'runtime',
+    envName: 'RETRY_STATUS_CODES',
+  },
+  'retry.methods': {
+    type: 'string',
+    defaultValue: 'GET,HEAD,OPTIONS,PUT,DELETE',
+    description: 'Comma-separated HTTP methods that are retried',
+    reload: 'runtime',
+    envName: 'RETRY_METHODS',
+  },
+  'retry.budget.percent': {
+    type: 'integer',
+    defaultValue: '20',
+    description: 'Retries allowed as a percentage of backend requests',
+    reload: 'runtime',
+    envName: 'RETRY_BUDGET_PERCENT',
+  },
+} as const satisfies Record<string, ParameterDefinition>;
+
+export type ParameterName = keyof typeof PARAMETERS;
+
+export type ParameterValue<N extends ParameterName> =
+  (typeof PARAMETERS)[N]['type'] extends 'integer' ? number : string;
@@ -0,0 +1,104 @@
+import { createHash } from 'node:crypto';
+import { getRateLimitRpm } from './config';
+import logger from './logger';
+import { incrementCounter } from './metrics';
+import { RespError, ValkeyClient } from './valkeyClient';
+
+/**
+ * Shared per-client rate limit of rate.limit.rpm requests per minute, held as a token
+ * bucket in Valkey so every task and worker draws from the same bucket. Enabled when
+ * RATE_LIMIT_VALKEY_URL is set (the CDK stack sets it when it creates the cache; locally
+ * it points at the valkey compose service). Fails open if Valkey is unavailable.
+ */
+
+const VALKEY_URL = process.env.RATE_LIMIT_VALKEY_URL;
+const SERVICE_NAME = process.env.SERVICE_NAME ?? 'astro-webui';
+const VALKEY_TIMEOUT_MS = 250;
+// Proxies in front of the task that append to X-Forwarded-For: 1 for the ALB, 2 with CloudFront
+const TRUSTED_HOPS = Math.max(1, parseInt(process.env.RATE_LIMIT_TRUSTED_HOPS ?? '', 10) || 1);
+
+// Refills `rpm` tokens per minute up to a burst of `rpm`; uses the server clock so all
+// callers agree on time. Returns { allowed, remaining, retryAfterMs }.
+export const TOKEN_BUCKET_SCRIPT = `
+local capacity = tonumber(ARGV[1])
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local rate = capacity / 60000
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1]) or capacity
+local ts = tonumber(state[2]) or now
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+local allowed = 0
+local retryAfterMs = 0
+if tokens >= 1 then
+  tokens = tokens - 1
+  allowed = 1
+else
+  retryAfterMs = math.ceil((1 - tokens) / rate)
+end
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+redis.call('PEXPIRE', KEYS[1], 60000)
+return { allowed, math.floor(tokens), retryAfterMs }
+`;
+
+const SCRIPT_SHA = createHash('sha1').update(TOKEN_BUCKET_SCRIPT).digest('hex');
+
+export interface RateLimitDecision {
+  allowed: boolean;
+  limit: number;
+  remaining: number;
+  retryAfterSeconds: number;
+}
+
+let valkey: ValkeyClient | undefined;
+
+export function isRateLimitEnabled(): boolean {
+  return Boolean(VALKEY_URL);
+}
+
+/**
+ * Client key: the X-Forwarded-For entry appended by the outermost trusted proxy, counted
+ * from the right, else the socket address. Entries to its left come from the client and
+ * can be forged, so they never pick the bucket.
+ */
+export function clientKey(headers: Headers, clientAddress: string | undefined): string {
+  const hops = headers.get('x-forwarded-for')?.split(',').map((hop) => hop.trim()) ?? [];
+  const forwarded = hops[Math.max(0, hops.length - TRUSTED_HOPS)];
+  return forwarded || clientAddress || 'unknown';
+}
+
+async function runScript(connection: ValkeyClient, key: string, rpm: number): Promise<unknown> {
+  try {
+    return await connection.command('EVALSHA', SCRIPT_SHA, 1, key, rpm);
+  } catch (error) {
+    if (!(error instanceof RespError) || !error.message.startsWith('NOSCRIPT')) throw error;
+    // First call after a cache restart or failover: load the script with EVAL
+    return connection.command('EVAL', TOKEN_BUCKET_SCRIPT, 1, key, rpm);
+  }
+}
+
+/**
+ * Takes one token from the client's bucket. Returns undefined when rate limiting is
+ * disabled or Valkey could not be reached, in which case the request is allowed.
+ */
+export async function checkRateLimit(clientId: string): Promise<RateLimitDecision | undefined> {
+  if (!VALKEY_URL) return undefined;
+  valkey ??= new ValkeyClient(VALKEY_URL, VALKEY_TIMEOUT_MS);
+
+  const rpm = await getRateLimitRpm();
+  const key = `ratelimit:${SERVICE_NAME}:${clientId}`;
+  try {
+    const [allowed, remaining, retryAfterMs] = (await runScript(valkey, key, rpm)) as number[];
+    if (!allowed) incrementCounter('RateLimited');
+    return {
+      allowed: allowed === 1,
+      limit: rpm,
+      remaining,
+      retryAfterSeconds: Math.ceil(retryAfterMs / 1000),
+    };
+  } catch (err) {
+    incrementCounter('RateLimitErrors');
+    logger.warn({ err }, 'Rate limit check failed, allowing request');
+    return undefined;
+  }
+}
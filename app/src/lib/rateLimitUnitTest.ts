@@ -0,0 +1,105 @@
+import { describe, it, expect, vi, beforeEach, afterEach } from 'vitest';
+
+const { mockCommand } = vi.hoisted(() => ({ mockCommand: vi.fn() }));
+
+vi.mock('./valkeyClient', async (importOriginal) => ({
+  ...(await importOriginal<typeof import('./valkeyClient')>()),
+  ValkeyClient: class {
+    command = mockCommand;
+  },
+}));
+vi.mock('./config', () => ({ getRateLimitRpm: async () => 60 }));
+vi.mock('./metrics', () => ({ incrementCounter: vi.fn() }));
+vi.mock('./logger', () => ({ default: { warn: vi.fn() } }));
+
+describe('rateLimit', () => {
+  beforeEach(() => {
+    vi.resetModules();
+    mockCommand.mockReset();
+    process.env.RATE_LIMIT_VALKEY_URL = 'redis://localhost:6379';
+  });
+
+  afterEach(() => {
+    delete process.env.RATE_LIMIT_VALKEY_URL;
+    delete process.env.RATE_LIMIT_TRUSTED_HOPS;
+  });
+
+  it('is disabled without a Valkey URL', async () => {
+    delete process.env.RATE_LIMIT_VALKEY_URL;
+    const { checkRateLimit, isRateLimitEnabled } = await import('./rateLimit');
+
+    expect(isRateLimitEnabled()).toBe(false);
+    expect(await checkRateLimit('203.0.113.7')).toBeUndefined();
+    expect(mockCommand).not.toHaveBeenCalled();
+  });
+
+  it('runs the token bucket script for the client key with rate.limit.rpm', async () => {
+    mockCommand.mockResolvedValueOnce([1, 59, 0]);
+    const { checkRateLimit } = await import('./rateLimit');
+
+    expect(await checkRateLimit('203.0.113.7')).toEqual({
+      allowed: true,
+      limit: 60,
+      remaining: 59,
+      retryAfterSeconds: 0,
+    });
+    expect(mockCommand).toHaveBeenCalledWith(
+      'EVALSHA',
+      expect.stringMatching(/^[0-9a-f]{40}$/),
+      1,
+      'ratelimit:astro-webui:203.0.113.7',
+      60
+    );
+  });
+
+  it('reports retry-after when the bucket is empty', async () => {
+    mockCommand.mockResolvedValueOnce([0, 0, 1500]);
+    const { checkRateLimit } = await import('./rateLimit');
+
+    expect(await checkRateLimit('203.0.113.7')).toMatchObject({ allowed: false, retryAfterSeconds: 2 });
+  });
+
+  it('loads the script with EVAL when the cache does not know it', async () => {
+    const { RespError } = await import('./valkeyClient');
+    mockCommand
+      .mockRejectedValueOnce(new RespError('NOSCRIPT No matching script.'))
+      .mockResolvedValueOnce([1, 10, 0]);
+    const { checkRateLimit, TOKEN_BUCKET_SCRIPT } = await import('./rateLimit');
+
+    expect((await checkRateLimit('203.0.113.7'))?.allowed).toBe(true);
+    expect(mockCommand.mock.calls[1].slice(0, 2)).toEqual(['EVAL', TOKEN_BUCKET_SCRIPT]);
+  });
+
+  it('allows the request when Valkey is unreachable', async () => {
+    mockCommand.mockRejectedValueOnce(new Error('connection closed'));
+    const { checkRateLimit } = await import('./rateLimit');
+
+    expect(await checkRateLimit('203.0.113.7')).toBeUndefined();
+  });
+
+  it('keys clients by the X-Forwarded-For hop the ALB appended', async () => {
+    const { clientKey } = await import('./rateLimit');
+
+    expect(clientKey(new Headers({ 'X-Forwarded-For': '198.51.100.1' }), '10.0.0.5')).toBe('198.51.100.1');
+    expect(clientKey(new Headers(), '10.0.0.9')).toBe('10.0.0.9');
+  });
+
+  it('ignores a spoofed leading X-Forwarded-For hop', async () => {
+    const { clientKey } = await import('./rateLimit');
+
+    expect(clientKey(new Headers({ 'X-Forwarded-For': '192.0.2.99, 198.51.100.1' }), '10.0.0.5')).toBe(
+      '198.51.100.1'
+    );
+  });
+
+  it('keys clients by the hop CloudFront appended when it is in front of the ALB', async () => {
+    process.env.RATE_LIMIT_TRUSTED_HOPS = '2';
+    const { clientKey } = await import('./rateLimit');
+
+    const spoofed = new Headers({ 'X-Forwarded-For': '192.0.2.99, 198.51.100.1, 130.176.0.10' });
+    expect(clientKey(spoofed, '10.0.0.5')).toBe('198.51.100.1');
+    expect(clientKey(new Headers({ 'X-Forwarded-For': '198.51.100.1, 130.176.0.10' }), '10.0.0.5')).toBe(
+      '198.51.100.1'
+    );
+  });
+});
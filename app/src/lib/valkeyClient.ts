@@ -0,0 +1,154 @@
+import net from 'node:net';
+import tls from 'node:tls';
+
+/**
+ * Minimal RESP2 client for Valkey/Redis over node:net (redis://) or node:tls (rediss://).
+ * It pipelines commands on one lazily opened connection and reconnects on the next command
+ * after a failure. Only what the rate limiter needs is supported: commands in, RESP2 replies out.
+ */
+
+export type RespValue = string | number | null | RespValue[];
+
+export class RespError extends Error {
+  constructor(message: string) {
+    super(message);
+    this.name = 'RespError';
+  }
+}
+
+interface Pending {
+  resolve: (value: RespValue) => void;
+  reject: (error: Error) => void;
+}
+
+export function encodeCommand(args: (string | number)[]): Buffer {
+  const parts = [`*${args.length}\r\n`];
+  for (const arg of args) {
+    const value = String(arg);
+    parts.push(`$${Buffer.byteLength(value)}\r\n${value}\r\n`);
+  }
+  return Buffer.from(parts.join(''));
+}
+
+/**
+ * Parses one reply starting at `offset`. Returns undefined when the buffer does not yet
+ * hold a complete reply, otherwise the value and the offset just past it.
+ */
+export function parseReply(
+  buffer: Buffer,
+  offset = 0
+): { value: RespValue | RespError; next: number } | undefined {
+  const lineEnd = buffer.indexOf('\r\n', offset);
+  if (lineEnd === -1) return undefined;
+  const type = String.fromCharCode(buffer[offset]);
+  const line = buffer.toString('utf8', offset + 1, lineEnd);
+  const afterLine = lineEnd + 2;
+
+  switch (type) {
+    case '+':
+      return { value: line, next: afterLine };
+    case '-':
+      return { value: new RespError(line), next: afterLine };
+    case ':':
+      return { value: Number(line), next: afterLine };
+    case '$': {
+      const length = Number(line);
+      if (length === -1) return { value: null, next: afterLine };
+      if (buffer.length < afterLine + length + 2) return undefined;
+      return { value: buffer.toString('utf8', afterLine, afterLine + length), next: afterLine + length + 2 };
+    }
+    case '*': {
+      const count = Number(line);
+      if (count === -1) return { value: null, next: afterLine };
+      const items: RespValue[] = [];
+      let next = afterLine;
+      for (let i = 0; i < count; i++) {
+        const item = parseReply(buffer, next);
+        if (!item) return undefined;
+        // Errors nested in arrays (e.g. from EXEC) are surfaced as their message
+        items.push(item.value instanceof RespError ? item.value.message : item.value);
+        next = item.next;
+      }
+      return { value: items, next };
+    }
+    default:
+      throw new RespError(`Unexpected RESP type byte '${type}'`);
+  }
+}
+
+export class ValkeyClient {
+  private socket: net.Socket | undefined;
+  private buffer = Buffer.alloc(0);
+  private readonly pending: Pending[] = [];
+  private readonly url: URL;
+
+  constructor(
+    url: string,
+    private readonly timeoutMs = 1000
+  ) {
+    this.url = new URL(url);
+  }
+
+  async command(...args: (string | number)[]): Promise<RespValue> {
+    const socket = this.connect();
+    return new Promise<RespValue>((resolve, reject) => {
+      this.pending.push({ resolve, reject });
+      socket.setTimeout(this.timeoutMs);
+      socket.write(encodeCommand(args));
+    });
+  }
+
+  close(): void {
+    this.socket?.destroy();
+  }
+
+  private connect(): net.Socket {
+    if (this.socket && !this.socket.destroyed) return this.socket;
+    // Replies for commands sent on a destroyed socket will never arrive
+    if (this.socket) this.failPending(new Error('Valkey connection destroyed'));
+
+    const host = this.url.hostname;
+    const port = Number(this.url.port) || 6379;
+    const socket =
+      this.url.protocol === 'rediss:'
+        ? tls.connect({ host, port, servername: host })
+        : net.connect({ host, port });
+    socket.setNoDelay(true);
+    socket.setKeepAlive(true);
+
+    socket.on('data', (chunk) => this.onData(chunk));
+    socket.on('timeout', () => socket.destroy(new Error(`Valkey ${host}:${port} timed out`)));
+    socket.on('error', () => {
+      // Surfaced to callers through 'close'
+    });
+    socket.on('close', () => {
+      if (this.socket !== socket) return;
+      this.socket = undefined;
+      this.failPending(new Error(`Valkey ${host}:${port} connection closed`));
+    });
+
+    this.socket = socket;
+    this.buffer = Buffer.alloc(0);
+    return socket;
+  }
+
+  private onData(chunk: Buffer): void {
+    this.buffer = this.buffer.length === 0 ? chunk : Buffer.concat([this.buffer, chunk]);
+    let offset = 0;
+    for (;;) {
+      const reply = parseReply(this.buffer, offset);
+      if (!reply) break;
+      offset = reply.next;
+      const waiter = this.pending.shift();
+      if (reply.value instanceof RespError) waiter?.reject(reply.value);
+      else waiter?.resolve(reply.value);
+    }
+    this.buffer = this.buffer.subarray(offset);
+    // Only outstanding commands time out; an idle connection stays open
+    if (this.pending.length === 0) this.socket?.setTimeout(0);
+  }
+
+  private failPending(error: Error): void {
+    while (this.pending.length > 0) this.pending.shift()!.reject(error);
+  }
+}
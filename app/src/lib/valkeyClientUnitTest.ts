@@ -0,0 +1,28 @@
+import { describe, it, expect } from 'vitest';
+import { encodeCommand, parseReply, RespError } from './valkeyClient';
+
+describe('valkeyClient', () => {
+  it('encodes commands as RESP arrays of bulk strings', () => {
+    expect(encodeCommand(['SET', 'key', 42]).toString()).toBe('*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$2\r\n42\r\n');
+  });
+
+  it('parses simple strings, integers, errors and nulls', () => {
+    expect(parseReply(Buffer.from('+OK\r\n'))).toEqual({ value: 'OK', next: 5 });
+    expect(parseReply(Buffer.from(':-3\r\n'))?.value).toBe(-3);
+    expect(parseReply(Buffer.from('$-1\r\n'))?.value).toBeNull();
+    expect(parseReply(Buffer.from('-NOSCRIPT No matching script.\r\n'))?.value).toEqual(
+      new RespError('NOSCRIPT No matching script.')
+    );
+  });
+
+  it('parses nested arrays and bulk strings containing CRLF', () => {
+    const reply = parseReply(Buffer.from('*3\r\n:1\r\n$4\r\na\r\nb\r\n*1\r\n:7\r\n'));
+
+    expect(reply?.value).toEqual([1, 'a\r\nb', [7]]);
+  });
+
+  it('waits for the rest of a reply split across chunks', () => {
+    expect(parseReply(Buffer.from('$5\r\nhel'))).toBeUndefined();
+    expect(parseReply(Buffer.from('*2\r\n:1\r\n'))).toBeUndefined();
+  });
+});
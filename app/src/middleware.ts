@@ -0,0 +1,45 @@
+import { defineMiddleware } from 'astro:middleware';
+import { startConfigRefreshListener } from './lib/configRefresh';
+import { edgeCacheControl } from './lib/edgeCache';
+import { startMetricsPublisher, trackRequest } from './lib/metrics';
+import { checkRateLimit, clientKey, isRateLimitEnabled } from './lib/rateLimit';
+
+// No-op unless METRICS_NAMESPACE is set
+startMetricsPublisher();
+// No-op unless CONFIG_ADMIN_PORT is set
+startConfigRefreshListener();
+
+function clientAddress(context: { clientAddress: string }): string | undefined {
+  try {
+    return context.clientAddress;
+  } catch {
+    return undefined;
+  }
+}
+
+export const onRequest = defineMiddleware(async (context, next) => {
+  const done = trackRequest();
+  try {
+    // Only the BFF API is limited; pages and static assets are not
+    if (isRateLimitEnabled() && context.url.pathname.startsWith('/api/')) {
+      const decision = await checkRateLimit(clientKey(context.request.headers, clientAddress(context)));
+      if (decision && !decision.allowed) {
+        return new Response(JSON.stringify({ message: 'Too many requests' }), {
+          status: 429,
+          headers: {
+            'Content-Type': 'application/json',
+            'Retry-After': String(decision.retryAfterSeconds),
+            'RateLimit-Limit': String(decision.limit),
+            'RateLimit-Remaining': '0',
+          },
+        });
+      }
+    }
+    const response = await next();
+    const cacheControl = edgeCacheControl(context.request.method, context.url.pathname, response);
+    if (cacheControl) response.headers.set('Cache-Control', cacheControl);
+    return response;
+  } finally {
+    done();
+  }
+});
@@ -1,6 +1,7 @@
 import type { APIRoute } from 'astro';
 import { getApiBackendUrl } from '../../../lib/config';
 import { fetchWithRetry } from '../../../lib/fetchWithRetry';
+import { LoadShedError } from '../../../lib/loadShedding';
 import logger from '../../../lib/logger';
 
 export const GET: APIRoute = async ({ params }) => {
@@ -12,6 +13,7 @@ export const GET: APIRoute = async ({ params }) => {
       headers: { 'Content-Type': 'application/json' },
     });
   } catch (err) {
+    if (err instanceof LoadShedError) return err.toResponse();
     logger.error({ err, greetingId: params.id }, 'GET /api/greetings/:id failed');
     return new Response(JSON.stringify({ message: 'Service temporarily unavailable' }), {
       status: 502,
@@ -31,6 +33,7 @@ export const DELETE: APIRoute = async ({ params }) => {
       headers: { 'Content-Type': 'application/json' },
     });
   } catch (err) {
+    if (err instanceof LoadShedError) return err.toResponse();
     logger.error({ err, greetingId: params.id }, 'DELETE /api/greetings/:id failed');
     return new Response(JSON.stringify({ message: 'Service temporarily unavailable' }), {
       status: 502,
@@ -12,7 +12,7 @@ vi.mock('@aws-sdk/client-ssm', () => ({
   SSMClient: class {
     send = vi.fn().mockRejectedValue(new Error('SSM not available in test'));
   },
-  GetParameterCommand: class {
+  GetParametersByPathCommand: class {
     constructor(public input: any) {}
   },
 }));
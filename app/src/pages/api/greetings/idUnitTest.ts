@@ -4,6 +4,14 @@ vi.mock('../../../lib/config', () => ({
   getApiBackendUrl: async () => 'http://mock-backend:8080',
   getApiTimeoutMs: async () => 5000,
   getApiRetryCount: async () => 0,
+  getRetryPolicy: async () => ({
+    baseDelayMs: 100,
+    maxDelayMs: 2000,
+    jitter: 'full',
+    statusCodes: new Set([502, 503, 504]),
+    methods: new Set(['GET', 'HEAD', 'OPTIONS', 'PUT', 'DELETE']),
+    budgetPercent: 20,
+  }),
 }));
 
 vi.mock('../../../lib/logger', () => ({
@@ -1,6 +1,7 @@
 import type { APIRoute } from 'astro';
 import { getApiBackendUrl } from '../../../lib/config';
 import { fetchWithRetry } from '../../../lib/fetchWithRetry';
+import { LoadShedError } from '../../../lib/loadShedding';
 import logger from '../../../lib/logger';
 
 export const GET: APIRoute = async () => {
@@ -12,6 +13,7 @@ export const GET: APIRoute = async () => {
       headers: { 'Content-Type': 'application/json' },
     });
   } catch (err) {
+    if (err instanceof LoadShedError) return err.toResponse();
     logger.error({ err }, 'GET /api/greetings failed');
     return new Response(JSON.stringify({ message: 'Service temporarily unavailable' }), {
       status: 502,
@@ -34,6 +36,7 @@ export const POST: APIRoute = async ({ request }) => {
       headers: { 'Content-Type': 'application/json' },
     });
   } catch (err) {
+    if (err instanceof LoadShedError) return err.toResponse();
     logger.error({ err }, 'POST /api/greetings failed');
     return new Response(JSON.stringify({ message: 'Service temporarily unavailable' }), {
       status: 502,
@@ -0,0 +1,31 @@
+package com.example.infra;
+
+/**
+ * Value object representing runtime tuning knobs served by AWS AppConfig.
+ * A hosted freeform profile is rolled out with a linear deployment strategy, and
+ * the AppConfig agent sidecar polls it so the app reads cached values from localhost.
+ */
+public record AppConfigTuningConfig(boolean enabled, int deploymentDurationMinutes, int growthFactorPercent,
+                                   int finalBakeTimeMinutes, int pollIntervalSeconds, int agentMemoryMiB) {
+
+    public static final int AGENT_PORT = 2772;
+    public static final String PROFILE_NAME = "tuning";
+
+    public AppConfigTuningConfig {
+        if (deploymentDurationMinutes < 0 || deploymentDurationMinutes > 1440) {
+            throw new IllegalArgumentException("deploymentDurationMinutes must be between 0 and 1440");
+        }
+        if (growthFactorPercent < 1 || growthFactorPercent > 100) {
+            throw new IllegalArgumentException("growthFactorPercent must be between 1 and 100");
+        }
+        if (finalBakeTimeMinutes < 0 || finalBakeTimeMinutes > 1440) {
+            throw new IllegalArgumentException("finalBakeTimeMinutes must be between 0 and 1440");
+        }
+        if (pollIntervalSeconds < 15) {
+            throw new IllegalArgumentException("pollIntervalSeconds must be at least 15");
+        }
+        if (agentMemoryMiB < 1) {
+            throw new IllegalArgumentException("agentMemoryMiB must be positive");
+        }
+    }
+}
@@ -2,11 +2,61 @@ package com.example.infra;
 
 import software.amazon.awscdk.CfnOutput;
 import software.amazon.awscdk.CfnOutputProps;
+import software.amazon.awscdk.CfnTag;
+import software.amazon.awscdk.CustomResource;
 import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.Environment;
 import software.amazon.awscdk.RemovalPolicy;
 import software.amazon.awscdk.Stack;
 import software.amazon.awscdk.StackProps;
 import software.amazon.awscdk.Tags;
+import software.amazon.awscdk.TimeZone;
+import software.amazon.awscdk.services.appconfig.CfnApplication;
+import software.amazon.awscdk.services.appconfig.CfnConfigurationProfile;
+import software.amazon.awscdk.services.appconfig.CfnDeployment;
+import software.amazon.awscdk.services.appconfig.CfnDeploymentStrategy;
+import software.amazon.awscdk.services.appconfig.CfnEnvironment;
+import software.amazon.awscdk.services.appconfig.CfnHostedConfigurationVersion;
+import software.amazon.awscdk.services.applicationautoscaling.AdjustmentType;
+import software.amazon.awscdk.services.applicationautoscaling.BasicStepScalingPolicyProps;
+import software.amazon.awscdk.services.applicationautoscaling.CfnScalingPolicy;
+import software.amazon.awscdk.services.applicationautoscaling.ScalingInterval;
+import software.amazon.awscdk.services.applicationautoscaling.ScalingSchedule;
+import software.amazon.awscdk.services.applicationautoscaling.Schedule;
+import software.amazon.awscdk.services.cloudfront.AllowedMethods;
+import software.amazon.awscdk.services.cloudfront.BehaviorOptions;
+import software.amazon.awscdk.services.cloudfront.CacheCookieBehavior;
+import software.amazon.awscdk.services.cloudfront.CacheHeaderBehavior;
+import software.amazon.awscdk.services.cloudfront.CachePolicy;
+import software.amazon.awscdk.services.cloudfront.CacheQueryStringBehavior;
+import software.amazon.awscdk.services.cloudfront.CachedMethods;
+import software.amazon.awscdk.services.cloudfront.CfnMonitoringSubscription;
+import software.amazon.awscdk.services.cloudfront.CfnOriginAccessControl;
+import software.amazon.awscdk.services.cloudfront.Distribution;
+import software.amazon.awscdk.services.cloudfront.ErrorResponse;
+import software.amazon.awscdk.services.cloudfront.FunctionAssociation;
+import software.amazon.awscdk.services.cloudfront.FunctionCode;
+import software.amazon.awscdk.services.cloudfront.FunctionEventType;
+import software.amazon.awscdk.services.cloudfront.FunctionRuntime;
+import software.amazon.awscdk.services.cloudfront.HttpVersion;
+import software.amazon.awscdk.services.cloudfront.ICachePolicy;
+import software.amazon.awscdk.services.cloudfront.IOrigin;
+import software.amazon.awscdk.services.cloudfront.OriginProtocolPolicy;
+import software.amazon.awscdk.services.cloudfront.OriginRequestPolicy;
+import software.amazon.awscdk.services.cloudfront.PriceClass;
+import software.amazon.awscdk.services.cloudfront.ViewerProtocolPolicy;
+import software.amazon.awscdk.services.cloudfront.origins.LoadBalancerV2Origin;
+import software.amazon.awscdk.services.cloudfront.origins.LoadBalancerV2OriginProps;
+import software.amazon.awscdk.services.cloudwatch.Alarm;
+import software.amazon.awscdk.services.cloudwatch.ComparisonOperator;
+import software.amazon.awscdk.services.cloudwatch.Dashboard;
+import software.amazon.awscdk.services.cloudwatch.GraphWidget;
+import software.amazon.awscdk.services.cloudwatch.MathExpression;
+import software.amazon.awscdk.services.cloudwatch.Metric;
+import software.amazon.awscdk.services.cloudwatch.MetricOptions;
+import software.amazon.awscdk.services.cloudwatch.TreatMissingData;
+import software.amazon.awscdk.services.cloudwatch.YAxisProps;
+import software.amazon.awscdk.services.cloudwatch.actions.SnsAction;
 import software.amazon.awscdk.services.ec2.IVpc;
 import software.amazon.awscdk.services.ec2.Peer;
 import software.amazon.awscdk.services.ec2.Port;
@@ -18,16 +68,32 @@ import software.amazon.awscdk.services.ec2.VpcLookupOptions;
 import software.amazon.awscdk.services.ecr.Repository;
 import software.amazon.awscdk.services.ecr.TagMutability;
 import software.amazon.awscdk.services.ecs.AwsLogDriverProps;
+import software.amazon.awscdk.services.ecs.CapacityProviderStrategy;
 import software.amazon.awscdk.services.ecs.Cluster;
 import software.amazon.awscdk.services.ecs.ClusterAttributes;
+import software.amazon.awscdk.services.ecs.ContainerDefinition;
 import software.amazon.awscdk.services.ecs.ContainerDefinitionOptions;
+import software.amazon.awscdk.services.ecs.ContainerDependency;
+import software.amazon.awscdk.services.ecs.ContainerDependencyCondition;
 import software.amazon.awscdk.services.ecs.ContainerImage;
+import software.amazon.awscdk.services.ecs.CpuArchitecture;
+import software.amazon.awscdk.services.ecs.CpuUtilizationScalingProps;
+import software.amazon.awscdk.services.ecs.EnableScalingProps;
 import software.amazon.awscdk.services.ecs.FargateService;
 import software.amazon.awscdk.services.ecs.FargateTaskDefinition;
+import software.amazon.awscdk.services.ecs.HealthCheck;
 import software.amazon.awscdk.services.ecs.ICluster;
 import software.amazon.awscdk.services.ecs.LogDriver;
+import software.amazon.awscdk.services.ecs.MemoryUtilizationScalingProps;
+import software.amazon.awscdk.services.ecs.OperatingSystemFamily;
 import software.amazon.awscdk.services.ecs.PortMapping;
 import software.amazon.awscdk.services.ecs.Protocol;
+import software.amazon.awscdk.services.ecs.RequestCountScalingProps;
+import software.amazon.awscdk.services.ecs.RuntimePlatform;
+import software.amazon.awscdk.services.ecs.ScalableTaskCount;
+import software.amazon.awscdk.services.ecs.Secret;
+import software.amazon.awscdk.services.ecs.TrackCustomMetricProps;
+import software.amazon.awscdk.services.elasticache.CfnServerlessCache;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationListener;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationListenerLookupOptions;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationListenerRule;
@@ -40,20 +106,49 @@ import software.amazon.awscdk.services.elasticloadbalancingv2.IApplicationLoadBa
 import software.amazon.awscdk.services.elasticloadbalancingv2.ListenerAction;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ListenerCondition;
 import software.amazon.awscdk.services.elasticloadbalancingv2.TargetType;
+import software.amazon.awscdk.services.elasticloadbalancingv2.targets.LambdaTarget;
+import software.amazon.awscdk.services.events.EventPattern;
+import software.amazon.awscdk.services.events.Rule;
+import software.amazon.awscdk.services.events.targets.CloudWatchLogGroup;
+import software.amazon.awscdk.services.events.targets.LambdaFunction;
 import software.amazon.awscdk.services.iam.Effect;
 import software.amazon.awscdk.services.iam.ManagedPolicy;
 import software.amazon.awscdk.services.iam.PolicyStatement;
 import software.amazon.awscdk.services.iam.Role;
 import software.amazon.awscdk.services.iam.ServicePrincipal;
+import software.amazon.awscdk.services.lambda.Code;
+import software.amazon.awscdk.services.lambda.Function;
+import software.amazon.awscdk.services.lambda.Runtime;
+import software.amazon.awscdk.services.logs.FilterPattern;
 import software.amazon.awscdk.services.logs.LogGroup;
+import software.amazon.awscdk.services.logs.MetricFilter;
 import software.amazon.awscdk.services.logs.RetentionDays;
+import software.amazon.awscdk.services.s3.BlockPublicAccess;
+import software.amazon.awscdk.services.s3.Bucket;
+import software.amazon.awscdk.services.s3.BucketEncryption;
+import software.amazon.awscdk.services.s3.LifecycleRule;
+import software.amazon.awscdk.services.s3.deployment.BucketDeployment;
+import software.amazon.awscdk.services.s3.deployment.CacheControl;
+import software.amazon.awscdk.services.s3.deployment.Source;
+import software.amazon.awscdk.services.sns.Topic;
+import software.amazon.awscdk.services.sns.subscriptions.LambdaSubscription;
 import software.amazon.awscdk.services.ssm.StringParameter;
+import software.amazon.awscdk.services.wafv2.CfnWebACL;
+import software.amazon.awscdk.services.wafv2.CfnWebACLAssociation;
+import software.amazon.awscdk.services.wafv2.CfnWebACLProps;
 import software.constructs.Construct;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Main CDK Stack for Astro WebUI.
@@ -61,6 +156,9 @@ import java.util.Map;
  */
 public class AstroWebUiStack extends Stack {
 
+    // Loopback never reaches the ALB, so a rule carrying this source-ip condition matches nothing
+    static final String PARKED_SOURCE_IP = "127.0.0.1/32";
+
     private final InfrastructureConfig config;
 
     // Existing infrastructure references
@@ -71,13 +169,25 @@ public class AstroWebUiStack extends Stack {
 
     // Created resources
     private Repository ecrRepository;
+    private Repository configCacheRepository;
     private LogGroup logGroup;
+    private final Map<String, StringParameter> ssmParameters = new LinkedHashMap<>();
     private Role taskExecutionRole;
     private Role taskRole;
     private SecurityGroup serviceSecurityGroup;
+    private CfnServerlessCache rateLimitCache;
+    private CfnApplication appConfigApplication;
+    private CfnEnvironment appConfigEnvironment;
+    private CfnConfigurationProfile appConfigProfile;
     private ApplicationTargetGroup targetGroup;
+    private ApplicationListenerRule serviceListenerRule;
+    private String webAclArn;
+    private Distribution distribution;
+    private software.amazon.awscdk.services.cloudfront.Function cacheKeyFunction;
+    private Bucket staticAssetsBucket;
     private FargateTaskDefinition taskDefinition;
     private FargateService ecsService;
+    private ScalableTaskCount scalableTaskCount;
 
     public AstroWebUiStack(final Construct scope, final String id,
                            final StackProps props,
@@ -100,22 +210,46 @@ public class AstroWebUiStack extends Stack {
         // Step 5: Create SSM Parameters
         createSsmParameters();
 
-        // Step 6: Create Security Group
+        // Step 6: Create AppConfig Tuning Profile
+        createAppConfigTuning();
+
+        // Step 7: Create Security Group
         createSecurityGroup();
 
-        // Step 7: Create ALB Target Group
+        // Step 8: Create Valkey cache for shared rate limiting (optional)
+        createRateLimitCache();
+
+        // Step 9: Create ALB Target Group
         createTargetGroup();
 
-        // Step 8: Create ALB Listener Rule
+        // Step 10: Create ALB Listener Rule
         createListenerRule();
 
-        // Step 9: Create ECS Task Definition
+        // Step 11: Create WAF Web ACL on the ALB (optional)
+        createWebAcl();
+
+        // Step 12: Create CloudFront Distribution (optional)
+        createDistribution();
+
+        // Step 13: Create ECS Task Definition
         createTaskDefinition();
 
-        // Step 10: Create ECS Service
+        // Step 14: Create ECS Service
         createEcsService();
 
-        // Step 11: Create Stack Outputs
+        // Step 15: Configure ECS Service Auto Scaling
+        configureAutoScaling();
+
+        // Step 16: Create Spot Interruption Monitoring
+        createSpotInterruptionMonitoring();
+
+        // Step 17: Create Wake-on-Request Routing
+        createWakeOnRequest();
+
+        // Step 18: Push Parameter Store changes to running tasks (optional)
+        createConfigChangePropagation();
+
+        // Step 19: Create Stack Outputs
         createOutputs();
     }
 
@@ -169,6 +303,19 @@ public class AstroWebUiStack extends Stack {
 
         Tags.of(ecrRepository).add("Name", serviceName);
         Tags.of(ecrRepository).add("Environment", env);
+
+        if (config.getConfigCacheConfig().enabled()) {
+            configCacheRepository = Repository.Builder.create(this, "ConfigCacheRepository")
+                    .repositoryName(serviceName + "-config-cache")
+                    .imageScanOnPush(true)
+                    .imageTagMutability(TagMutability.MUTABLE)
+                    .removalPolicy(RemovalPolicy.DESTROY)
+                    .emptyOnDelete(true)
+                    .build();
+
+            Tags.of(configCacheRepository).add("Name", serviceName + "-config-cache");
+            Tags.of(configCacheRepository).add("Environment", env);
+        }
     }
 
     /**
@@ -215,13 +362,14 @@ public class AstroWebUiStack extends Stack {
                 .description("ECS Task Role for " + serviceName)
                 .build();
 
+        // The app and the config-cache sidecar batch-load the service's own hierarchy;
+        // the path ARN covers the call, the /* ARN the parameters it returns
+        String parameterPathArn = "arn:aws:ssm:" + config.getAwsEnvironment().region()
+                + ":" + config.getAwsEnvironment().accountId() + ":parameter/" + serviceName;
         taskRole.addToPolicy(PolicyStatement.Builder.create()
                 .effect(Effect.ALLOW)
-                .actions(List.of("ssm:GetParameter"))
-                .resources(List.of(
-                        "arn:aws:ssm:" + config.getAwsEnvironment().region()
-                        + ":" + config.getAwsEnvironment().accountId()
-                        + ":parameter/" + serviceName + "/*"))
+                .actions(List.of("ssm:GetParametersByPath"))
+                .resources(List.of(parameterPathArn, parameterPathArn + "/*"))
                 .build());
 
         Tags.of(taskRole).add("Name", serviceName + "-task-role");
@@ -229,53 +377,127 @@ public class AstroWebUiStack extends Stack {
     }
 
     /**
-     * Step 5: Create SSM Parameter Store entries for application configuration.
+     * Step 5: Create SSM Parameter Store entries from the parameter catalog.
+     * Handles are kept by key so the task definition can inject them as container secrets.
      */
     private void createSsmParameters() {
         String serviceName = config.getServiceName();
 
-        StringParameter.Builder.create(this, "AppDescriptionParameter")
-                .parameterName("/" + serviceName + "/app.description")
-                .stringValue("This application manages a greeting service. "
-                        + "You can create new greetings, look up existing ones by ID, "
-                        + "delete greetings, and browse all stored messages. "
-                        + "It communicates with the Spring Cloud Service API backend.")
-                .description("Application description for " + serviceName)
+        for (ParameterDefinition parameter : ParameterCatalog.PARAMETERS) {
+            ssmParameters.put(parameter.key(), StringParameter.Builder.create(this, parameter.constructId())
+                    .parameterName("/" + serviceName + "/" + parameter.key())
+                    .stringValue(deployedValue(parameter))
+                    .description(parameter.description() + " for " + serviceName)
+                    .build());
+        }
+    }
+
+    /**
+     * Deployed value of a catalog parameter; differs from the catalog's local-development
+     * default where the stack or the infrastructure config knows better.
+     */
+    private String deployedValue(ParameterDefinition parameter) {
+        if (parameter.key().equals("api.backend.url")) {
+            return "http://" + alb.getLoadBalancerDnsName();
+        }
+        return config.getRetryPolicyConfig().parameterValues()
+                .getOrDefault(parameter.key(), parameter.defaultValue());
+    }
+
+    /**
+     * Step 6: Create an AppConfig application, environment and hosted freeform profile
+     * for the runtime tuning knobs, deployed with a linear strategy.
+     */
+    private void createAppConfigTuning() {
+        AppConfigTuningConfig tuning = config.getAppConfigTuningConfig();
+        if (!tuning.enabled()) {
+            return;
+        }
+
+        String serviceName = config.getServiceName();
+        String env = config.getAwsEnvironment().environmentName();
+
+        appConfigApplication = CfnApplication.Builder.create(this, "AppConfigApplication")
+                .name(serviceName)
+                .description("Runtime tuning for " + serviceName)
                 .build();
 
-        StringParameter.Builder.create(this, "ApiBackendUrlParameter")
-                .parameterName("/" + serviceName + "/api.backend.url")
-                .stringValue("http://" + alb.getLoadBalancerDnsName())
-                .description("Backend API base URL for " + serviceName)
+        appConfigEnvironment = CfnEnvironment.Builder.create(this, "AppConfigEnvironment")
+                .applicationId(appConfigApplication.getRef())
+                .name(env)
                 .build();
 
-        StringParameter.Builder.create(this, "ApiTimeoutMsParameter")
-                .parameterName("/" + serviceName + "/api.timeout.ms")
-                .stringValue("5000")
-                .description("Backend API request timeout in milliseconds")
+        appConfigProfile = CfnConfigurationProfile.Builder.create(this, "AppConfigTuningProfile")
+                .applicationId(appConfigApplication.getRef())
+                .name(AppConfigTuningConfig.PROFILE_NAME)
+                .locationUri("hosted")
+                .type("AWS.Freeform")
                 .build();
 
-        StringParameter.Builder.create(this, "ApiRetryCountParameter")
-                .parameterName("/" + serviceName + "/api.retry.count")
-                .stringValue("3")
-                .description("Backend API request retry count")
+        CfnHostedConfigurationVersion version = CfnHostedConfigurationVersion.Builder.create(
+                        this, "AppConfigTuningVersion")
+                .applicationId(appConfigApplication.getRef())
+                .configurationProfileId(appConfigProfile.getRef())
+                .contentType("application/json")
+                .content(appConfigContent())
                 .build();
 
-        StringParameter.Builder.create(this, "LogLevelParameter")
-                .parameterName("/" + serviceName + "/log.level")
-                .stringValue("info")
-                .description("Application log level")
+        CfnDeploymentStrategy strategy = CfnDeploymentStrategy.Builder.create(this, "AppConfigDeploymentStrategy")
+                .name(serviceName + "-linear")
+                .deploymentDurationInMinutes(tuning.deploymentDurationMinutes())
+                .growthFactor(tuning.growthFactorPercent())
+                .growthType("LINEAR")
+                .finalBakeTimeInMinutes(tuning.finalBakeTimeMinutes())
+                .replicateTo("NONE")
                 .build();
 
-        StringParameter.Builder.create(this, "RateLimitRpmParameter")
-                .parameterName("/" + serviceName + "/rate.limit.rpm")
-                .stringValue("60")
-                .description("Rate limit in requests per minute")
+        CfnDeployment.Builder.create(this, "AppConfigTuningDeployment")
+                .applicationId(appConfigApplication.getRef())
+                .environmentId(appConfigEnvironment.getRef())
+                .configurationProfileId(appConfigProfile.getRef())
+                .configurationVersion(version.getRef())
+                .deploymentStrategyId(strategy.getRef())
                 .build();
+
+        // The agent sidecar runs with the task role
+        taskRole.addToPolicy(PolicyStatement.Builder.create()
+                .effect(Effect.ALLOW)
+                .actions(List.of("appconfig:StartConfigurationSession", "appconfig:GetLatestConfiguration"))
+                .resources(List.of(
+                        "arn:aws:appconfig:" + config.getAwsEnvironment().region()
+                        + ":" + config.getAwsEnvironment().accountId()
+                        + ":application/" + appConfigApplication.getRef()
+                        + "/environment/" + appConfigEnvironment.getRef()
+                        + "/configuration/" + appConfigProfile.getRef()))
+                .build());
+
+        Tags.of(appConfigApplication).add("Name", serviceName);
+        Tags.of(appConfigApplication).add("Environment", env);
+    }
+
+    /**
+     * Runtime-tunable catalog entries with their deployed values as a JSON document, integers unquoted.
+     */
+    private String appConfigContent() {
+        StringBuilder json = new StringBuilder("{");
+        ParameterCatalog.runtimeParameters().forEach((key, parameter) -> {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(key).append("\":");
+            String value = deployedValue(parameter);
+            if (parameter.type() == ParameterDefinition.Type.INTEGER) {
+                json.append(value);
+            } else {
+                json.append('"').append(value.replace("\\", "\\\\").replace("\"", "\\\""))
+                        .append('"');
+            }
+        });
+        return json.append('}').toString();
     }
 
     /**
-     * Step 6: Create Security Group allowing traffic from ALB.
+     * Step 7: Create Security Group allowing traffic from ALB.
      */
     private void createSecurityGroup() {
         String serviceName = config.getServiceName();
@@ -300,7 +522,58 @@ public class AstroWebUiStack extends Stack {
     }
 
     /**
-     * Step 7: Create ALB Target Group with health check.
+     * Step 8: Create an ElastiCache Serverless Valkey cache that holds the per-client
+     * rate limiter buckets, reachable only from the service security group.
+     */
+    private void createRateLimitCache() {
+        RateLimitConfig rateLimit = config.getRateLimitConfig();
+        if (!rateLimit.enabled()) {
+            return;
+        }
+        String serviceName = config.getServiceName();
+        String env = config.getAwsEnvironment().environmentName();
+
+        SecurityGroup cacheSecurityGroup = SecurityGroup.Builder.create(this, "RateLimitCacheSecurityGroup")
+                .securityGroupName(serviceName + "-valkey-sg")
+                .description("Rate limit cache for " + serviceName)
+                .vpc(vpc)
+                .allowAllOutbound(false)
+                .build();
+        cacheSecurityGroup.addIngressRule(
+                serviceSecurityGroup,
+                Port.tcp(RateLimitConfig.VALKEY_PORT),
+                "Allow Valkey from " + serviceName + " tasks");
+
+        rateLimitCache = CfnServerlessCache.Builder.create(this, "RateLimitCache")
+                .serverlessCacheName(serviceName + "-ratelimit")
+                .description("Shared rate limiter state for " + serviceName)
+                .engine("valkey")
+                .majorEngineVersion(rateLimit.engineMajorVersion())
+                .securityGroupIds(List.of(cacheSecurityGroup.getSecurityGroupId()))
+                .subnetIds(vpc.selectSubnets(SubnetSelection.builder()
+                        .subnetType(SubnetType.PRIVATE_WITH_EGRESS)
+                        .onePerAz(true)
+                        .build()).getSubnetIds())
+                .cacheUsageLimits(CfnServerlessCache.CacheUsageLimitsProperty.builder()
+                        .dataStorage(CfnServerlessCache.DataStorageProperty.builder()
+                                .maximum(rateLimit.maxDataStorageGb())
+                                .unit("GB")
+                                .build())
+                        .ecpuPerSecond(CfnServerlessCache.ECPUPerSecondProperty.builder()
+                                .maximum(rateLimit.maxEcpuPerSecond())
+                                .build())
+                        .build())
+                .tags(List.of(
+                        CfnTag.builder().key("Name").value(serviceName + "-ratelimit").build(),
+                        CfnTag.builder().key("Environment").value(env).build()))
+                .build();
+
+        Tags.of(cacheSecurityGroup).add("Name", serviceName + "-valkey-sg");
+        Tags.of(cacheSecurityGroup).add("Environment", env);
+    }
+
+    /**
+     * Step 9: Create ALB Target Group with health check.
      */
     private void createTargetGroup() {
         String serviceName = config.getServiceName();
@@ -314,6 +587,8 @@ public class AstroWebUiStack extends Stack {
                 .port(container.port())
                 .protocol(ApplicationProtocol.HTTP)
                 .targetType(TargetType.IP)
+                .deregistrationDelay(Duration.seconds(
+                        config.getCapacityProviderConfig().deregistrationDelaySeconds()))
                 .healthCheck(software.amazon.awscdk.services.elasticloadbalancingv2.HealthCheck.builder()
                         .enabled(true)
                         .healthyThresholdCount(2)
@@ -331,36 +606,472 @@ public class AstroWebUiStack extends Stack {
     }
 
     /**
-     * Step 8: Create ALB Listener Rule for path-based routing.
+     * Step 10: Create ALB Listener Rule for path-based routing. With wake-on-request the rule
+     * starts parked behind a source-ip condition no client matches, so a fresh deploy at zero
+     * tasks reaches the wake rule instead of an empty target group.
      */
     private void createListenerRule() {
         RoutingConfig routing = config.getRoutingConfig();
 
-        ApplicationListenerRule.Builder
+        List<ListenerCondition> conditions = new ArrayList<>();
+        conditions.add(ListenerCondition.pathPatterns(Collections.singletonList(routing.pathPattern())));
+        if (config.getWakeOnRequestConfig().enabled()) {
+            conditions.add(ListenerCondition.sourceIps(Collections.singletonList(PARKED_SOURCE_IP)));
+        }
+
+        serviceListenerRule = ApplicationListenerRule.Builder
                 .create(this, "ServiceListenerRule")
                 .listener(httpListener)
                 .priority(routing.listenerRulePriority())
-                .conditions(Collections.singletonList(
-                        ListenerCondition.pathPatterns(Collections.singletonList(
-                                routing.pathPattern()
-                        ))
-                ))
+                .conditions(conditions)
                 .action(ListenerAction.forward(Collections.singletonList(targetGroup)))
                 .build();
     }
 
     /**
-     * Step 9: Create ECS Fargate Task Definition.
+     * Step 11: Create a WAFv2 web ACL so junk traffic is dropped before it reaches the tasks.
+     * With the CDN it is a CLOUDFRONT-scope ACL on the distribution, created in us-east-1 by
+     * {@link EdgeWebAclStack}; otherwise it is associated with the ALB, which is only allowed
+     * when the ALB is dedicated to this service. The /api/ rate-based rule mirrors the app's rate.limit.rpm limit per client IP
+     * at the edge, using the deployed value; Bot Control is scoped to the service's paths
+     * because it is billed per inspected request. Every rule publishes AWS/WAFV2
+     * AllowedRequests/BlockedRequests metrics under its own metric name.
+     */
+    private void createWebAcl() {
+        WafConfig waf = config.getWafConfig();
+        if (!waf.enabled()) {
+            return;
+        }
+        String serviceName = config.getServiceName();
+        String env = config.getAwsEnvironment().environmentName();
+        int rpm = Integer.parseInt(deployedValue(ParameterCatalog.get("rate.limit.rpm")));
+
+        CfnWebACL.RuleProperty apiRateLimit = CfnWebACL.RuleProperty.builder()
+                .name("api-rate-limit")
+                .priority(0)
+                .statement(CfnWebACL.StatementProperty.builder()
+                        .rateBasedStatement(CfnWebACL.RateBasedStatementProperty.builder()
+                                .limit(waf.rateLimit(rpm))
+                                .evaluationWindowSec(waf.evaluationWindowSeconds())
+                                .aggregateKeyType("IP")
+                                .scopeDownStatement(pathPrefixStatement("/api/"))
+                                .build())
+                        .build())
+                .action(CfnWebACL.RuleActionProperty.builder()
+                        .block(CfnWebACL.BlockActionProperty.builder()
+                                .customResponse(CfnWebACL.CustomResponseProperty.builder()
+                                        .responseCode(429)
+                                        .build())
+                                .build())
+                        .build())
+                .visibilityConfig(wafVisibility(serviceName + "-api-rate-limit"))
+                .build();
+
+        CfnWebACL.RuleProperty botControl = CfnWebACL.RuleProperty.builder()
+                .name("bot-control")
+                .priority(1)
+                .statement(CfnWebACL.StatementProperty.builder()
+                        .managedRuleGroupStatement(CfnWebACL.ManagedRuleGroupStatementProperty.builder()
+                                .vendorName("AWS")
+                                .name("AWSManagedRulesBotControlRuleSet")
+                                .managedRuleGroupConfigs(List.of(CfnWebACL.ManagedRuleGroupConfigProperty.builder()
+                                        .awsManagedRulesBotControlRuleSet(
+                                                CfnWebACL.AWSManagedRulesBotControlRuleSetProperty.builder()
+                                                        .inspectionLevel(waf.botControlInspectionLevel().name())
+                                                        .build())
+                                        .build()))
+                                .scopeDownStatement(pathPrefixStatement(servicePathPrefix()))
+                                .build())
+                        .build())
+                .overrideAction(CfnWebACL.OverrideActionProperty.builder()
+                        .none(Map.of())
+                        .build())
+                .visibilityConfig(wafVisibility(serviceName + "-bot-control"))
+                .build();
+
+        CfnWebACLProps webAclProps = CfnWebACLProps.builder()
+                .name(serviceName + "-waf")
+                .description("Rate limiting and bot control for " + serviceName)
+                .scope(config.getCdnConfig().enabled() ? "CLOUDFRONT" : "REGIONAL")
+                .defaultAction(CfnWebACL.DefaultActionProperty.builder()
+                        .allow(CfnWebACL.AllowActionProperty.builder().build())
+                        .build())
+                .rules(List.of(apiRateLimit, botControl))
+                .visibilityConfig(wafVisibility(serviceName + "-waf"))
+                .tags(List.of(
+                        CfnTag.builder().key("Name").value(serviceName + "-waf").build(),
+                        CfnTag.builder().key("Environment").value(env).build()))
+                .build();
+
+        if (config.getCdnConfig().enabled()) {
+            // The distribution is the entry point and sees viewer IPs; its ACL must live in us-east-1
+            EdgeWebAclStack edgeStack = new EdgeWebAclStack((Construct) getNode().getScope(),
+                    getNode().getId() + "EdgeWaf", StackProps.builder()
+                            .env(Environment.builder()
+                                    .account(config.getAwsEnvironment().accountId())
+                                    .region(EdgeWebAclStack.REGION)
+                                    .build())
+                            .crossRegionReferences(true)
+                            .description("CloudFront web ACL for " + serviceName)
+                            .build(),
+                    webAclProps);
+            addDependency(edgeStack);
+            webAclArn = edgeStack.getWebAclArn();
+            return;
+        }
+
+        // Only reached with albDedicated: an ALB holds a single web ACL for all its listeners
+        CfnWebACL webAcl = new CfnWebACL(this, "WebAcl", webAclProps);
+        CfnWebACLAssociation.Builder.create(this, "WebAclAssociation")
+                .resourceArn(alb.getLoadBalancerArn())
+                .webAclArn(webAcl.getAttrArn())
+                .build();
+        webAclArn = webAcl.getAttrArn();
+    }
+
+    /**
+     * Literal prefix of the listener rule's path pattern, up to its first wildcard.
+     */
+    private String servicePathPrefix() {
+        String pattern = config.getRoutingConfig().pathPattern();
+        int wildcard = pattern.indexOf('*');
+        int single = pattern.indexOf('?');
+        if (single >= 0 && (wildcard < 0 || single < wildcard)) {
+            wildcard = single;
+        }
+        return wildcard < 0 ? pattern : pattern.substring(0, wildcard);
+    }
+
+    private static CfnWebACL.StatementProperty pathPrefixStatement(String prefix) {
+        return CfnWebACL.StatementProperty.builder()
+                .byteMatchStatement(CfnWebACL.ByteMatchStatementProperty.builder()
+                        .fieldToMatch(CfnWebACL.FieldToMatchProperty.builder()
+                                .uriPath(Map.of())
+                                .build())
+                        .positionalConstraint("STARTS_WITH")
+                        .searchString(prefix)
+                        .textTransformations(List.of(CfnWebACL.TextTransformationProperty.builder()
+                                .priority(0)
+                                .type("NONE")
+                                .build()))
+                        .build())
+                .build();
+    }
+
+    private static CfnWebACL.VisibilityConfigProperty wafVisibility(String metricName) {
+        return CfnWebACL.VisibilityConfigProperty.builder()
+                .metricName(metricName)
+                .cloudWatchMetricsEnabled(true)
+                .sampledRequestsEnabled(true)
+                .build();
+    }
+
+    /**
+     * Step 12: Create a CloudFront distribution with the ALB as origin. Content-hashed
+     * /_astro/* bundles and the favicon are cached at the edge with a long-TTL policy and
+     * compressed with Brotli or gzip, so repeat requests never reach Node; every other path is
+     * forwarded, with all viewer headers, cookies and query strings, to the SSR tasks; paths
+     * with an edge cache rule are micro-cached for a few seconds so traffic spikes on the
+     * home page or the greetings list mostly stop at the edge. A viewer-request function
+     * normalises the cache key of those dynamic requests. With static asset offload the static paths are served from S3 instead (see
+     * {@link #createStaticAssetsOrigin()}).
+     */
+    private void createDistribution() {
+        CdnConfig cdn = config.getCdnConfig();
+        if (!cdn.enabled()) {
+            return;
+        }
+        String serviceName = config.getServiceName();
+        String env = config.getAwsEnvironment().environmentName();
+
+        // The shared listener only serves HTTP; the viewer leg is HTTPS
+        LoadBalancerV2Origin albOrigin = new LoadBalancerV2Origin(alb, LoadBalancerV2OriginProps.builder()
+                .protocolPolicy(OriginProtocolPolicy.HTTP_ONLY)
+                .originShieldRegion(cdn.originShieldEnabled() ? cdn.originShieldRegion() : null)
+                .build());
+
+        CachePolicy immutableAssets = CachePolicy.Builder.create(this, "ImmutableAssetCachePolicy")
+                .cachePolicyName(serviceName + "-immutable-assets")
+                .comment("Content-hashed static assets for " + serviceName)
+                .minTtl(Duration.seconds(0))
+                .defaultTtl(Duration.days(cdn.assetCacheTtlDays()))
+                .maxTtl(Duration.days(cdn.assetCacheTtlDays()))
+                .headerBehavior(CacheHeaderBehavior.none())
+                .cookieBehavior(CacheCookieBehavior.none())
+                .queryStringBehavior(CacheQueryStringBehavior.none())
+                .enableAcceptEncodingBrotli(true)
+                .enableAcceptEncodingGzip(true)
+                .build();
+
+        BehaviorOptions assetBehavior = BehaviorOptions.builder()
+                .origin(config.getStaticAssetsConfig().enabled() ? createStaticAssetsOrigin() : albOrigin)
+                .viewerProtocolPolicy(ViewerProtocolPolicy.REDIRECT_TO_HTTPS)
+                .allowedMethods(AllowedMethods.ALLOW_GET_HEAD)
+                .cachePolicy(immutableAssets)
+                .compress(true)
+                .build();
+
+        if (config.getCacheKeyNormalizationConfig().enabled()) {
+            createCacheKeyFunction();
+        }
+
+        // Behaviours are matched in insertion order. The root rule gets its own "/" behaviour
+        // (an exact match) so the default behaviour never caches paths without a rule
+        Map<String, BehaviorOptions> behaviors = new LinkedHashMap<>();
+        CdnConfig.STATIC_PATHS.forEach(path -> behaviors.put(path, assetBehavior));
+        for (EdgeCacheRule rule : cdn.edgeCacheRules()) {
+            behaviors.put(rule.pathPattern(), dynamicBehavior(albOrigin, microCachePolicy(rule)));
+        }
+
+        distribution = Distribution.Builder.create(this, "Distribution")
+                .comment(serviceName + " (" + env + ")")
+                .priceClass(PriceClass.valueOf(cdn.priceClass().name()))
+                .httpVersion(HttpVersion.HTTP2_AND_3)
+                .webAclId(webAclArn)
+                .defaultBehavior(dynamicBehavior(albOrigin, CachePolicy.CACHING_DISABLED))
+                .additionalBehaviors(behaviors)
+                // CloudFront would otherwise cache origin 5xx responses for 10 seconds
+                .errorResponses(List.of(500, 502, 503, 504).stream()
+                        .map(status -> ErrorResponse.builder()
+                                .httpStatus(status)
+                                .ttl(Duration.seconds(0))
+                                .build())
+                        .toList())
+                .build();
+
+        Tags.of(distribution).add("Name", serviceName + "-cdn");
+        Tags.of(distribution).add("Environment", env);
+
+        if (staticAssetsBucket != null) {
+            deployStaticAssets();
+        }
+        if (cdn.additionalMetricsEnabled()) {
+            CfnMonitoringSubscription.Builder.create(this, "DistributionMonitoring")
+                    .distributionId(distribution.getDistributionId())
+                    .monitoringSubscription(CfnMonitoringSubscription.MonitoringSubscriptionProperty.builder()
+                            .realtimeMetricsSubscriptionConfig(
+                                    CfnMonitoringSubscription.RealtimeMetricsSubscriptionConfigProperty.builder()
+                                            .realtimeMetricsSubscriptionStatus("Enabled")
+                                            .build())
+                            .build())
+                    .build();
+        }
+        createEdgeDashboard();
+    }
+
+    /**
+     * Behaviour forwarding everything to the SSR tasks. CloudFront only ever caches GET and
+     * HEAD responses, and only those the policy or the app's Cache-Control header allow.
+     */
+    private BehaviorOptions dynamicBehavior(IOrigin origin, ICachePolicy cachePolicy) {
+        return BehaviorOptions.builder()
+                .origin(origin)
+                .viewerProtocolPolicy(ViewerProtocolPolicy.REDIRECT_TO_HTTPS)
+                .allowedMethods(AllowedMethods.ALLOW_ALL)
+                .cachedMethods(CachedMethods.CACHE_GET_HEAD)
+                .cachePolicy(cachePolicy)
+                .originRequestPolicy(OriginRequestPolicy.ALL_VIEWER)
+                .functionAssociations(cacheKeyFunction == null ? null : List.of(FunctionAssociation.builder()
+                        .function(cacheKeyFunction)
+                        .eventType(FunctionEventType.VIEWER_REQUEST)
+                        .build()))
+                .compress(true)
+                .build();
+    }
+
+    /**
+     * Viewer-request CloudFront Function normalising the cache key of dynamic requests. The
+     * rule set from CacheKeyNormalizationConfig is injected into the function source as JSON;
+     * the function logic is unit-tested in the app against the same source file.
+     */
+    private void createCacheKeyFunction() {
+        CacheKeyNormalizationConfig normalization = config.getCacheKeyNormalizationConfig();
+        String rules = "{\"strippedQueryParams\":" + jsonStringArray(normalization.strippedQueryParams())
+                + ",\"lowercasePaths\":" + normalization.lowercasePaths()
+                + ",\"caseSensitivePathPrefixes\":" + jsonStringArray(normalization.caseSensitivePathPrefixes())
+                + "}";
+
+        cacheKeyFunction = software.amazon.awscdk.services.cloudfront.Function.Builder
+                .create(this, "CacheKeyFunction")
+                .functionName(config.getServiceName() + "-cache-key")
+                .comment("Normalises the cache key of dynamic requests")
+                .runtime(FunctionRuntime.JS_2_0)
+                .code(FunctionCode.fromInline(readResource("/cloudfront/normalize-cache-key.js")
+                        .replace("__CACHE_KEY_CONFIG__", rules)))
+                .build();
+    }
+
+    // Values are validated to plain path and parameter characters, so no escaping is needed
+    private static String jsonStringArray(List<String> values) {
+        return values.stream()
+                .map(value -> "\"" + value + "\"")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    /**
+     * Cache policy holding responses for the rule's TTL. The stale-while-revalidate and
+     * stale-if-error windows reach CloudFront through the Cache-Control header the app sets
+     * from EDGE_CACHE_RULES; cache policies have no setting for them.
+     */
+    private CachePolicy microCachePolicy(EdgeCacheRule rule) {
+        String serviceName = config.getServiceName();
+        String suffix = rule.isRoot() ? "root" : rule.pathPattern().replaceAll("[^A-Za-z0-9]+", "-")
+                .replaceAll("^-|-$", "");
+
+        return CachePolicy.Builder.create(this, "MicroCachePolicy-" + suffix)
+                .cachePolicyName(serviceName + "-micro-" + suffix)
+                .comment("Micro-cache for " + rule.pathPattern() + " on " + serviceName)
+                .minTtl(Duration.seconds(0))
+                .defaultTtl(Duration.seconds(rule.ttlSeconds()))
+                .maxTtl(Duration.seconds(rule.ttlSeconds()))
+                .headerBehavior(CacheHeaderBehavior.none())
+                .cookieBehavior(CacheCookieBehavior.none())
+                .queryStringBehavior(CacheQueryStringBehavior.all())
+                .enableAcceptEncodingBrotli(true)
+                .enableAcceptEncodingGzip(true)
+                .build();
+    }
+
+    /**
+     * Dashboard for the distribution. CloudFront publishes its metrics in us-east-1 under
+     * the Global region dimension; CacheHitRate needs the additional metrics subscription.
+     */
+    private void createEdgeDashboard() {
+        String serviceName = config.getServiceName();
+
+        Dashboard dashboard = Dashboard.Builder.create(this, "EdgeDashboard")
+                .dashboardName(serviceName + "-edge")
+                .build();
+        if (config.getCdnConfig().additionalMetricsEnabled()) {
+            dashboard.addWidgets(GraphWidget.Builder.create()
+                    .title("Edge cache hit rate (%)")
+                    .left(List.of(cloudFrontMetric("CacheHitRate", "Average")))
+                    .leftYAxis(YAxisProps.builder().min(0).max(100).build())
+                    .width(12)
+                    .build());
+        }
+        dashboard.addWidgets(GraphWidget.Builder.create()
+                .title("Edge requests")
+                .left(List.of(cloudFrontMetric("Requests", "Sum")))
+                .width(12)
+                .build());
+    }
+
+    private Metric cloudFrontMetric(String metricName, String statistic) {
+        return Metric.Builder.create()
+                .namespace("AWS/CloudFront")
+                .metricName(metricName)
+                .dimensionsMap(Map.of(
+                        "DistributionId", distribution.getDistributionId(),
+                        "Region", "Global"))
+                .region("us-east-1")
+                .statistic(statistic)
+                .period(Duration.minutes(1))
+                .build();
+    }
+
+    /**
+     * Private, versioned bucket for the Astro client build and the Origin Access Control
+     * CloudFront signs its requests with. Versioning keeps overwritten objects (such as the
+     * favicon) recoverable for a rollback.
+     */
+    private IOrigin createStaticAssetsOrigin() {
+        String serviceName = config.getServiceName();
+        String env = config.getAwsEnvironment().environmentName();
+
+        staticAssetsBucket = Bucket.Builder.create(this, "StaticAssetsBucket")
+                .versioned(true)
+                .encryption(BucketEncryption.S3_MANAGED)
+                .blockPublicAccess(BlockPublicAccess.BLOCK_ALL)
+                .enforceSsl(true)
+                .lifecycleRules(List.of(LifecycleRule.builder()
+                        .noncurrentVersionExpiration(Duration.days(
+                                config.getStaticAssetsConfig().noncurrentVersionRetentionDays()))
+                        .build()))
+                .removalPolicy(RemovalPolicy.DESTROY)
+                .autoDeleteObjects(true)
+                .build();
+
+        CfnOriginAccessControl originAccessControl = CfnOriginAccessControl.Builder
+                .create(this, "StaticAssetsOriginAccessControl")
+                .originAccessControlConfig(CfnOriginAccessControl.OriginAccessControlConfigProperty.builder()
+                        .name(serviceName + "-static-assets")
+                        .description("CloudFront access to the static assets of " + serviceName)
+                        .originAccessControlOriginType("s3")
+                        .signingBehavior("always")
+                        .signingProtocol("sigv4")
+                        .build())
+                .build();
+
+        Tags.of(staticAssetsBucket).add("Name", serviceName + "-static-assets");
+        Tags.of(staticAssetsBucket).add("Environment", env);
+
+        CdnConfig cdn = config.getCdnConfig();
+        return new OriginAccessControlS3Origin(staticAssetsBucket, originAccessControl.getAttrId(),
+                cdn.originShieldEnabled() ? cdn.originShieldRegion() : null);
+    }
+
+    /**
+     * Grants only this distribution read access to the bucket and uploads the client build.
+     * Old objects are never pruned: pages rendered by tasks still on the previous image keep
+     * referencing the previous hashed bundles until the rollout finishes.
+     */
+    private void deployStaticAssets() {
+        staticAssetsBucket.addToResourcePolicy(PolicyStatement.Builder.create()
+                .effect(Effect.ALLOW)
+                .principals(List.of(new ServicePrincipal("cloudfront.amazonaws.com")))
+                .actions(List.of("s3:GetObject"))
+                .resources(List.of(staticAssetsBucket.arnForObjects("*")))
+                .conditions(Map.of("StringEquals", Map.of("AWS:SourceArn",
+                        "arn:" + getPartition() + ":cloudfront::" + getAccount()
+                                + ":distribution/" + distribution.getDistributionId())))
+                .build());
+
+        String assetPath = config.getStaticAssetsConfig().assetPath();
+        long immutableSeconds = Duration.days(config.getCdnConfig().assetCacheTtlDays()).toSeconds().longValue();
+
+        BucketDeployment.Builder.create(this, "HashedAssetsDeployment")
+                .sources(List.of(Source.asset(assetPath)))
+                .destinationBucket(staticAssetsBucket)
+                .exclude(List.of("*"))
+                .include(List.of("_astro/*"))
+                .cacheControl(List.of(CacheControl.fromString(
+                        "public, max-age=" + immutableSeconds + ", immutable")))
+                .prune(false)
+                .build();
+
+        // Unhashed public files may change under the same name: short browser TTL, and
+        // the deployment invalidates them at the edge
+        BucketDeployment.Builder.create(this, "PublicAssetsDeployment")
+                .sources(List.of(Source.asset(assetPath)))
+                .destinationBucket(staticAssetsBucket)
+                .exclude(List.of("_astro/*"))
+                .cacheControl(List.of(CacheControl.fromString("public, max-age=300")))
+                .prune(false)
+                .distribution(distribution)
+                .distributionPaths(List.of("/favicon.svg"))
+                .build();
+    }
+
+    /**
+     * Step 13: Create ECS Fargate Task Definition.
      */
     private void createTaskDefinition() {
         String serviceName = config.getServiceName();
         String env = config.getAwsEnvironment().environmentName();
         ContainerConfig container = config.getContainerConfig();
+        CapacityProviderConfig capacity = config.getCapacityProviderConfig();
 
         taskDefinition = FargateTaskDefinition.Builder.create(this, "ServiceTaskDefinition")
                 .family(serviceName)
                 .cpu(container.cpu())
                 .memoryLimitMiB(container.memoryMiB())
+                .runtimePlatform(RuntimePlatform.builder()
+                        .operatingSystemFamily(OperatingSystemFamily.LINUX)
+                        .cpuArchitecture(container.architecture() == ContainerConfig.Architecture.ARM64
+                                ? CpuArchitecture.ARM64
+                                : CpuArchitecture.X86_64)
+                        .build())
                 .executionRole(taskExecutionRole)
                 .taskRole(taskRole)
                 .build();
@@ -373,13 +1084,86 @@ public class AstroWebUiStack extends Stack {
         environmentVars.put("AWS_REGION", config.getAwsEnvironment().region());
         environmentVars.put("OTEL_SERVICE_NAME", serviceName);
         environmentVars.put("NODE_ENV", "production");
-
-        taskDefinition.addContainer("ServiceContainer",
+        environmentVars.put("SHUTDOWN_TIMEOUT_MS", String.valueOf(capacity.shutdownTimeoutMillis()));
+        environmentVars.put("SHUTDOWN_ACCEPT_MS", String.valueOf(capacity.shutdownAcceptMillis()));
+
+        // Clustered workers, V8 heap and libuv thread pool sized from the task instead of Node defaults
+        NodeRuntimeConfig nodeRuntime = config.getNodeRuntimeConfig();
+        environmentVars.put("WEB_CONCURRENCY", String.valueOf(nodeRuntime.workerConcurrency(container.cpu())));
+        environmentVars.put("NODE_OPTIONS", nodeRuntime.nodeOptions(container.memoryMiB(), container.cpu()));
+        environmentVars.put("UV_THREADPOOL_SIZE", String.valueOf(nodeRuntime.uvThreadpoolSize(container.cpu())));
+
+        // Embedded Metric Format settings; the app publishes only when a namespace is set. Always
+        // set: retries, pool usage, load shedding and config propagation all publish through it,
+        // while customMetricsEnabled only adds the scaling policies on lag and in-flight
+        CustomMetricsConfig metrics = config.getCustomMetricsConfig();
+        environmentVars.put("METRICS_NAMESPACE", metrics.namespace());
+        environmentVars.put("METRICS_EVENT_LOOP_LAG_NAME", metrics.eventLoopLagMetricName());
+        environmentVars.put("METRICS_IN_FLIGHT_NAME", metrics.inFlightMetricName());
+        environmentVars.put("METRICS_INTERVAL_MS", String.valueOf(metrics.publishIntervalSeconds() * 1000));
+
+        // SSM parameters resolved by the ECS agent at task start; CDK grants the
+        // execution role read access to exactly these parameter ARNs
+        Map<String, Secret> secrets = new HashMap<>();
+        if (config.getParameterInjectionConfig().enabled()) {
+            ssmParameters.forEach((key, parameter) -> secrets.put(
+                    ParameterInjectionConfig.environmentName(key), Secret.fromSsmParameter(parameter)));
+        }
+
+        // The app reads tuning values from the agent's local cache instead of calling AppConfig
+        AppConfigTuningConfig tuning = config.getAppConfigTuningConfig();
+        if (tuning.enabled()) {
+            environmentVars.put("APPCONFIG_AGENT_URL", "http://localhost:" + AppConfigTuningConfig.AGENT_PORT);
+            environmentVars.put("APPCONFIG_PATH", appConfigPath());
+        }
+
+        ConfigCacheConfig configCache = config.getConfigCacheConfig();
+        if (configCache.enabled()) {
+            environmentVars.put("CONFIG_CACHE_URL", "http://localhost:" + configCache.port());
+        }
+
+        // Per-worker keep-alive pool for backend calls
+        BackendClientConfig backendClient = config.getBackendClientConfig();
+        environmentVars.put("BACKEND_MAX_CONNECTIONS", String.valueOf(backendClient.maxConnectionsPerOrigin()));
+        environmentVars.put("BACKEND_KEEP_ALIVE_TIMEOUT_MS", String.valueOf(backendClient.keepAliveTimeoutMillis()));
+        environmentVars.put("BACKEND_PIPELINING", String.valueOf(backendClient.pipelining()));
+        environmentVars.put("BACKEND_CONNECT_TIMEOUT_MS", String.valueOf(backendClient.connectTimeoutMillis()));
+
+        // Serverless caches only accept TLS connections
+        if (rateLimitCache != null) {
+            environmentVars.put("RATE_LIMIT_VALKEY_URL", "rediss://" + rateLimitCache.getAttrEndpointAddress()
+                    + ":" + rateLimitCache.getAttrEndpointPort());
+            // Proxies appending to X-Forwarded-For: the ALB, plus CloudFront when it is in front
+            environmentVars.put("RATE_LIMIT_TRUSTED_HOPS", config.getCdnConfig().enabled() ? "2" : "1");
+        }
+
+        LoadSheddingConfig loadShedding = config.getLoadSheddingConfig();
+        if (loadShedding.enabled()) {
+            environmentVars.put("LOAD_SHEDDING_ALGORITHM", loadShedding.algorithm().name().toLowerCase());
+            environmentVars.put("LOAD_SHEDDING_INITIAL_LIMIT", String.valueOf(loadShedding.initialLimit()));
+            environmentVars.put("LOAD_SHEDDING_MIN_LIMIT", String.valueOf(loadShedding.minLimit()));
+            environmentVars.put("LOAD_SHEDDING_MAX_LIMIT", String.valueOf(loadShedding.maxLimit()));
+            environmentVars.put("LOAD_SHEDDING_STATUS_CODE", String.valueOf(loadShedding.shedStatusCode()));
+        }
+
+        ConfigPropagationConfig propagation = config.getConfigPropagationConfig();
+        if (propagation.enabled()) {
+            environmentVars.put("CONFIG_ADMIN_PORT", String.valueOf(propagation.adminPort()));
+        }
+
+        // Cache-Control the app sets on micro-cached paths; only meaningful behind the distribution
+        if (distribution != null && !config.getCdnConfig().edgeCacheRules().isEmpty()) {
+            environmentVars.put("EDGE_CACHE_RULES", edgeCacheRulesJson());
+        }
+
+        ContainerDefinition appContainer = taskDefinition.addContainer("ServiceContainer",
                 ContainerDefinitionOptions.builder()
                         .containerName(serviceName)
                         .image(ContainerImage.fromEcrRepository(ecrRepository, container.imageTag()))
                         .essential(true)
+                        .stopTimeout(Duration.seconds(capacity.stopTimeoutSeconds()))
                         .environment(environmentVars)
+                        .secrets(secrets)
                         .logging(LogDriver.awsLogs(AwsLogDriverProps.builder()
                                 .logGroup(logGroup)
                                 .streamPrefix("ecs")
@@ -391,18 +1175,95 @@ public class AstroWebUiStack extends Stack {
                                 .build()))
                         .build());
 
+        if (tuning.enabled()) {
+            ContainerDefinition agent = taskDefinition.addContainer("AppConfigAgent",
+                    ContainerDefinitionOptions.builder()
+                            .containerName("appconfig-agent")
+                            .image(ContainerImage.fromRegistry("public.ecr.aws/aws-appconfig/aws-appconfig-agent:2.x"))
+                            .essential(false)
+                            .memoryReservationMiB(tuning.agentMemoryMiB())
+                            .environment(Map.of(
+                                    "SERVICE_REGION", config.getAwsEnvironment().region(),
+                                    "PREFETCH_LIST", appConfigPath(),
+                                    "POLL_INTERVAL", String.valueOf(tuning.pollIntervalSeconds())))
+                            .logging(LogDriver.awsLogs(AwsLogDriverProps.builder()
+                                    .logGroup(logGroup)
+                                    .streamPrefix("appconfig-agent")
+                                    .build()))
+                            .build());
+            appContainer.addContainerDependencies(ContainerDependency.builder()
+                    .container(agent)
+                    .condition(ContainerDependencyCondition.START)
+                    .build());
+        }
+
+        if (configCache.enabled()) {
+            ContainerDefinition cacheContainer = taskDefinition.addContainer("ConfigCache",
+                    ContainerDefinitionOptions.builder()
+                            .containerName("config-cache")
+                            .image(ContainerImage.fromEcrRepository(configCacheRepository, configCache.imageTag()))
+                            .essential(false)
+                            .cpu(configCache.cpu())
+                            .memoryLimitMiB(configCache.memoryMiB())
+                            .environment(Map.of(
+                                    "SERVICE_NAME", serviceName,
+                                    "AWS_REGION", config.getAwsEnvironment().region(),
+                                    "CONFIG_CACHE_PORT", String.valueOf(configCache.port()),
+                                    "CONFIG_CACHE_REFRESH_SECONDS", String.valueOf(configCache.refreshSeconds())))
+                            .healthCheck(HealthCheck.builder()
+                                    .command(List.of("CMD-SHELL",
+                                            "wget -q -O /dev/null http://127.0.0.1:" + configCache.port() + "/health"))
+                                    .interval(Duration.seconds(10))
+                                    .timeout(Duration.seconds(2))
+                                    .retries(3)
+                                    .startPeriod(Duration.seconds(15))
+                                    .build())
+                            .logging(LogDriver.awsLogs(AwsLogDriverProps.builder()
+                                    .logGroup(logGroup)
+                                    .streamPrefix("config-cache")
+                                    .build()))
+                            .build());
+            // The app falls back to SSM until the cache answers, so it only waits for the start
+            appContainer.addContainerDependencies(ContainerDependency.builder()
+                    .container(cacheContainer)
+                    .condition(ContainerDependencyCondition.START)
+                    .build());
+        }
+
         Tags.of(taskDefinition).add("Name", serviceName);
         Tags.of(taskDefinition).add("Environment", env);
     }
 
+    private String appConfigPath() {
+        return "/applications/" + appConfigApplication.getRef()
+                + "/environments/" + appConfigEnvironment.getRef()
+                + "/configurations/" + appConfigProfile.getRef();
+    }
+
     /**
-     * Step 10: Create ECS Fargate Service.
+     * Edge cache rules as a JSON array of {"path", "cacheControl"} objects for the app.
+     */
+    private String edgeCacheRulesJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (EdgeCacheRule rule : config.getCdnConfig().edgeCacheRules()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("{\"path\":\"").append(rule.pathPattern())
+                    .append("\",\"cacheControl\":\"").append(rule.cacheControl()).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Step 14: Create ECS Fargate Service.
      */
     private void createEcsService() {
         String serviceName = config.getServiceName();
         String env = config.getAwsEnvironment().environmentName();
+        CapacityProviderConfig capacity = config.getCapacityProviderConfig();
 
-        ecsService = FargateService.Builder.create(this, "Service")
+        FargateService.Builder service = FargateService.Builder.create(this, "Service")
                 .serviceName(serviceName)
                 .cluster(ecsCluster)
                 .taskDefinition(taskDefinition)
@@ -412,8 +1273,23 @@ public class AstroWebUiStack extends Stack {
                 .vpcSubnets(SubnetSelection.builder()
                         .subnetType(SubnetType.PUBLIC)
                         .build())
-                .healthCheckGracePeriod(Duration.seconds(60))
-                .build();
+                .healthCheckGracePeriod(Duration.seconds(60));
+
+        // On-demand base plus weighted Spot share; requires both providers on the cluster
+        if (capacity.spotEnabled()) {
+            service.capacityProviderStrategies(List.of(
+                    CapacityProviderStrategy.builder()
+                            .capacityProvider("FARGATE")
+                            .base(capacity.onDemandBase())
+                            .weight(capacity.onDemandWeight())
+                            .build(),
+                    CapacityProviderStrategy.builder()
+                            .capacityProvider("FARGATE_SPOT")
+                            .weight(capacity.spotWeight())
+                            .build()));
+        }
+
+        ecsService = service.build();
 
         // Register service with target group
         ecsService.attachToApplicationTargetGroup(targetGroup);
@@ -423,7 +1299,409 @@ public class AstroWebUiStack extends Stack {
     }
 
     /**
-     * Step 11: Create CloudFormation Outputs.
+     * Step 15: Configure target tracking auto scaling on ALB requests per target,
+     * CPU, memory and (when published) event loop lag and in-flight requests,
+     * a CPU step scaling policy for sudden bursts, scheduled capacity windows
+     * for the current environment, and an optional predictive scaling policy.
+     */
+    private void configureAutoScaling() {
+        ScalingConfig scaling = config.getScalingConfig();
+        if (!scaling.enabled()) {
+            return;
+        }
+
+        scalableTaskCount = ecsService.autoScaleTaskCount(EnableScalingProps.builder()
+                .minCapacity(scaling.minCapacity())
+                .maxCapacity(scaling.maxCapacity())
+                .build());
+
+        scalableTaskCount.scaleOnRequestCount("RequestCountScaling", RequestCountScalingProps.builder()
+                .requestsPerTarget(scaling.requestsPerTarget())
+                .targetGroup(targetGroup)
+                .scaleInCooldown(Duration.seconds(scaling.scaleInCooldownSeconds()))
+                .scaleOutCooldown(Duration.seconds(scaling.scaleOutCooldownSeconds()))
+                .build());
+
+        scalableTaskCount.scaleOnCpuUtilization("CpuScaling", CpuUtilizationScalingProps.builder()
+                .targetUtilizationPercent(scaling.cpuTargetPercent())
+                .scaleInCooldown(Duration.seconds(scaling.scaleInCooldownSeconds()))
+                .scaleOutCooldown(Duration.seconds(scaling.scaleOutCooldownSeconds()))
+                .build());
+
+        scalableTaskCount.scaleOnMemoryUtilization("MemoryScaling", MemoryUtilizationScalingProps.builder()
+                .targetUtilizationPercent(scaling.memoryTargetPercent())
+                .scaleInCooldown(Duration.seconds(scaling.scaleInCooldownSeconds()))
+                .scaleOutCooldown(Duration.seconds(scaling.scaleOutCooldownSeconds()))
+                .build());
+
+        CustomMetricsConfig metrics = config.getCustomMetricsConfig();
+        if (metrics.enabled()) {
+            scalableTaskCount.scaleToTrackCustomMetric("EventLoopLagScaling", TrackCustomMetricProps.builder()
+                    .metric(customMetric(metrics.eventLoopLagMetricName()))
+                    .targetValue(metrics.eventLoopLagTargetMs())
+                    .scaleInCooldown(Duration.seconds(scaling.scaleInCooldownSeconds()))
+                    .scaleOutCooldown(Duration.seconds(scaling.scaleOutCooldownSeconds()))
+                    .build());
+
+            // Each clustered worker publishes its own in-flight count, so the Average is per worker
+            int workers = config.getNodeRuntimeConfig().workerConcurrency(config.getContainerConfig().cpu());
+            scalableTaskCount.scaleToTrackCustomMetric("InFlightScaling", TrackCustomMetricProps.builder()
+                    .metric(customMetric(metrics.inFlightMetricName()))
+                    .targetValue(Math.max(1.0, (double) metrics.inFlightTargetPerTask() / workers))
+                    .scaleInCooldown(Duration.seconds(scaling.scaleInCooldownSeconds()))
+                    .scaleOutCooldown(Duration.seconds(scaling.scaleOutCooldownSeconds()))
+                    .build());
+        }
+
+        // Target tracking ramps gradually; add several tasks at once when CPU spikes hard
+        scalableTaskCount.scaleOnMetric("CpuBurstScaling", BasicStepScalingPolicyProps.builder()
+                .metric(ecsService.metricCpuUtilization(MetricOptions.builder()
+                        .period(Duration.minutes(1))
+                        .build()))
+                .scalingSteps(List.of(
+                        ScalingInterval.builder()
+                                .lower(scaling.burstCpuThresholdPercent())
+                                .change(scaling.burstScaleOutTasks())
+                                .build(),
+                        ScalingInterval.builder()
+                                .lower(scaling.severeCpuThresholdPercent())
+                                .change(scaling.severeScaleOutTasks())
+                                .build()))
+                .adjustmentType(AdjustmentType.CHANGE_IN_CAPACITY)
+                .evaluationPeriods(1)
+                .cooldown(Duration.seconds(scaling.scaleOutCooldownSeconds()))
+                .build());
+
+        // Pre-provision capacity ahead of known peaks and shrink during quiet hours
+        for (CapacityWindow window : scaling.capacityWindows()) {
+            ScalingSchedule.Builder schedule = ScalingSchedule.builder()
+                    .schedule(Schedule.expression("cron(" + window.cronExpression() + ")"))
+                    .minCapacity(window.minCapacity())
+                    .maxCapacity(window.maxCapacity());
+            if (window.timeZone() != null) {
+                schedule.timeZone(TimeZone.of(window.timeZone()));
+            }
+            scalableTaskCount.scaleOnSchedule("Schedule-" + window.name(), schedule.build());
+        }
+
+        if (config.getPredictiveScalingConfig().enabled()) {
+            createPredictiveScalingPolicy();
+        }
+    }
+
+    /**
+     * ECS predictive scaling has no L2 construct in CDK 2.154 and the L1 lacks the
+     * policy configuration property, so it is set through a property override.
+     */
+    private void createPredictiveScalingPolicy() {
+        PredictiveScalingConfig predictive = config.getPredictiveScalingConfig();
+
+        Map<String, Object> metricPair = new HashMap<>();
+        metricPair.put("PredefinedMetricType", predictive.loadMetric().predefinedMetricType());
+        if (predictive.loadMetric() == PredictiveScalingConfig.LoadMetric.ALB_REQUEST_COUNT) {
+            metricPair.put("ResourceLabel", targetGroup.getFirstLoadBalancerFullName()
+                    + "/" + targetGroup.getTargetGroupFullName());
+        }
+
+        CfnScalingPolicy policy = CfnScalingPolicy.Builder.create(this, "PredictiveScalingPolicy")
+                .policyName(config.getServiceName() + "-predictive")
+                .policyType("PredictiveScaling")
+                .serviceNamespace("ecs")
+                .scalableDimension("ecs:service:DesiredCount")
+                .resourceId("service/" + ecsCluster.getClusterName() + "/" + ecsService.getServiceName())
+                .build();
+        policy.addPropertyOverride("PredictiveScalingPolicyConfiguration", Map.of(
+                "MetricSpecifications", List.of(Map.of(
+                        "TargetValue", predictive.targetValue(),
+                        "PredefinedMetricPairSpecification", metricPair)),
+                "Mode", predictive.mode(),
+                "SchedulingBufferTime", predictive.schedulingBufferSeconds(),
+                "MaxCapacityBreachBehavior", "HonorMaxCapacity"));
+
+        // The scalable target must exist before a policy can reference it by resource ID
+        policy.getNode().addDependency(scalableTaskCount);
+    }
+
+    /**
+     * Average across tasks of an app-published EMF metric for this service.
+     */
+    private Metric customMetric(String metricName) {
+        return Metric.Builder.create()
+                .namespace(config.getCustomMetricsConfig().namespace())
+                .metricName(metricName)
+                .dimensionsMap(Map.of("ServiceName", config.getServiceName()))
+                .statistic("Average")
+                .period(Duration.minutes(1))
+                .build();
+    }
+
+    /**
+     * Step 16: Count Spot interruption task stops via an EventBridge rule and a log metric filter.
+     */
+    private void createSpotInterruptionMonitoring() {
+        if (!config.getCapacityProviderConfig().spotEnabled()) {
+            return;
+        }
+        String serviceName = config.getServiceName();
+        String env = config.getAwsEnvironment().environmentName();
+
+        LogGroup interruptionLogGroup = LogGroup.Builder.create(this, "SpotInterruptionLogGroup")
+                .logGroupName("/aws/events/" + serviceName + "-spot-interruptions")
+                .retention(RetentionDays.ONE_MONTH)
+                .removalPolicy(RemovalPolicy.DESTROY)
+                .build();
+
+        Rule interruptionRule = Rule.Builder.create(this, "SpotInterruptionRule")
+                .ruleName(serviceName + "-spot-interruptions")
+                .description("Task stops caused by Fargate Spot interruptions for " + serviceName)
+                .eventPattern(EventPattern.builder()
+                        .source(List.of("aws.ecs"))
+                        .detailType(List.of("ECS Task State Change"))
+                        .detail(Map.of(
+                                "clusterArn", List.of(ecsCluster.getClusterArn()),
+                                "group", List.of("service:" + serviceName),
+                                "lastStatus", List.of("STOPPED"),
+                                "stopCode", List.of("SpotInterruption")))
+                        .build())
+                .build();
+        interruptionRule.addTarget(new CloudWatchLogGroup(interruptionLogGroup));
+
+        MetricFilter.Builder.create(this, "SpotInterruptionMetricFilter")
+                .logGroup(interruptionLogGroup)
+                .filterPattern(FilterPattern.stringValue("$.detail.stopCode", "=", "SpotInterruption"))
+                .metricNamespace(config.getCustomMetricsConfig().namespace())
+                .metricName("SpotInterruptions")
+                .metricValue("1")
+                .build();
+
+        Tags.of(interruptionLogGroup).add("Name", serviceName + "-spot-interruptions");
+        Tags.of(interruptionLogGroup).add("Environment", env);
+        Tags.of(interruptionRule).add("Name", serviceName + "-spot-interruptions");
+        Tags.of(interruptionRule).add("Environment", env);
+    }
+
+    /**
+     * Step 17: Scale-to-zero with wake-on-request. Both rules keep their priorities; while
+     * idle the service rule is parked (see {@link #createListenerRule()}) so requests fall
+     * through to the wake rule and a Lambda that starts the service and serves a "warming up"
+     * page. Once a task is healthy the Lambda unparks the service rule. A custom resource
+     * backed by the same Lambda checks the wake priority against the listener's other rules
+     * before the wake rule is created.
+     */
+    private void createWakeOnRequest() {
+        WakeOnRequestConfig wake = config.getWakeOnRequestConfig();
+        if (!wake.enabled()) {
+            return;
+        }
+        String serviceName = config.getServiceName();
+        String env = config.getAwsEnvironment().environmentName();
+        RoutingConfig routing = config.getRoutingConfig();
+
+        Map<String, String> lambdaEnvironment = new HashMap<>();
+        lambdaEnvironment.put("CLUSTER_NAME", ecsCluster.getClusterName());
+        lambdaEnvironment.put("SERVICE_NAME", ecsService.getServiceName());
+        lambdaEnvironment.put("LISTENER_ARN", httpListener.getListenerArn());
+        lambdaEnvironment.put("TARGET_GROUP_ARN", targetGroup.getTargetGroupArn());
+        lambdaEnvironment.put("SERVICE_RULE_ARN", serviceListenerRule.getListenerRuleArn());
+        lambdaEnvironment.put("PATH_PATTERN", routing.pathPattern());
+        lambdaEnvironment.put("PARKED_SOURCE_IP", PARKED_SOURCE_IP);
+        lambdaEnvironment.put("SERVICE_RULE_PRIORITY", String.valueOf(routing.listenerRulePriority()));
+        lambdaEnvironment.put("WAKE_RULE_PRIORITY", String.valueOf(wake.listenerRulePriority()));
+        lambdaEnvironment.put("WAKE_DESIRED_COUNT", String.valueOf(wake.wakeDesiredCount()));
+        lambdaEnvironment.put("RETRY_AFTER_SECONDS", String.valueOf(wake.retryAfterSeconds()));
+
+        Function wakeFunction = Function.Builder.create(this, "WakeFunction")
+                .functionName(serviceName + "-wake")
+                .description("Wakes " + serviceName + " from zero tasks and returns it to zero when idle")
+                .runtime(Runtime.NODEJS_20_X)
+                .handler("index.handler")
+                .code(Code.fromInline(readResource("/lambda/wake-on-request.js")))
+                .timeout(Duration.seconds(10))
+                .memorySize(128)
+                .environment(lambdaEnvironment)
+                .build();
+
+        wakeFunction.addToRolePolicy(PolicyStatement.Builder.create()
+                .effect(Effect.ALLOW)
+                .actions(List.of("ecs:DescribeServices", "ecs:UpdateService"))
+                .resources(List.of(ecsService.getServiceArn()))
+                .build());
+        wakeFunction.addToRolePolicy(PolicyStatement.Builder.create()
+                .effect(Effect.ALLOW)
+                .actions(List.of("elasticloadbalancing:ModifyRule"))
+                .resources(List.of(serviceListenerRule.getListenerRuleArn()))
+                .build());
+        // Describe* calls do not support resource-level permissions
+        wakeFunction.addToRolePolicy(PolicyStatement.Builder.create()
+                .effect(Effect.ALLOW)
+                .actions(List.of("elasticloadbalancing:DescribeRules",
+                        "elasticloadbalancing:DescribeTargetHealth"))
+                .resources(List.of("*"))
+                .build());
+
+        ApplicationTargetGroup wakeTargetGroup = ApplicationTargetGroup.Builder.create(this, "WakeTargetGroup")
+                .targetGroupName(serviceName + "-wake-tg")
+                .targetType(TargetType.LAMBDA)
+                .targets(List.of(new LambdaTarget(wakeFunction)))
+                .build();
+
+        CustomResource priorityCheck = CustomResource.Builder.create(this, "WakeRulePriorityCheck")
+                .serviceToken(wakeFunction.getFunctionArn())
+                .resourceType("Custom::WakeRulePriorityCheck")
+                .properties(Map.of(
+                        "WakeRulePriority", String.valueOf(wake.listenerRulePriority()),
+                        "WakeTargetGroupArn", wakeTargetGroup.getTargetGroupArn()))
+                .build();
+
+        ApplicationListenerRule wakeRule = ApplicationListenerRule.Builder
+                .create(this, "WakeListenerRule")
+                .listener(httpListener)
+                .priority(wake.listenerRulePriority())
+                .conditions(Collections.singletonList(
+                        ListenerCondition.pathPatterns(Collections.singletonList(
+                                routing.pathPattern()
+                        ))
+                ))
+                .action(ListenerAction.forward(Collections.singletonList(wakeTargetGroup)))
+                .build();
+        wakeRule.getNode().addDependency(priorityCheck);
+
+        // Routing goes back to the service from a schedule rather than a follow-up request, so
+        // a wake that nobody revisits still ends up on the service target group
+        Rule healthCheckRule = Rule.Builder.create(this, "WakeHealthCheckRule")
+                .ruleName(serviceName + "-wake-health-check")
+                .description("Routes " + serviceName + " back to the service once a woken task is healthy")
+                .schedule(software.amazon.awscdk.services.events.Schedule.rate(Duration.minutes(1)))
+                .build();
+        healthCheckRule.addTarget(new LambdaFunction(wakeFunction));
+
+        // No requests to the service or the wake function for idleMinutes -> back to zero tasks.
+        // Counting wake requests moves the alarm out of ALARM on a wake, so it fires again if the
+        // woken service then goes unused
+        Topic idleTopic = Topic.Builder.create(this, "IdleTopic")
+                .topicName(serviceName + "-idle")
+                .build();
+        idleTopic.addSubscription(new LambdaSubscription(wakeFunction));
+
+        Alarm idleAlarm = Alarm.Builder.create(this, "IdleAlarm")
+                .alarmName(serviceName + "-idle")
+                .alarmDescription("No requests to " + serviceName + " for " + wake.idleMinutes() + " minutes")
+                .metric(MathExpression.Builder.create()
+                        .label("Requests")
+                        .expression("FILL(service, 0) + FILL(wake, 0)")
+                        .usingMetrics(Map.of(
+                                "service", targetGroupRequestCount(targetGroup),
+                                "wake", targetGroupRequestCount(wakeTargetGroup)))
+                        .period(Duration.minutes(1))
+                        .build())
+                .threshold(1)
+                .comparisonOperator(ComparisonOperator.LESS_THAN_THRESHOLD)
+                .evaluationPeriods(wake.idleMinutes())
+                .treatMissingData(TreatMissingData.BREACHING)
+                .build();
+        idleAlarm.addAlarmAction(new SnsAction(idleTopic));
+
+        Tags.of(healthCheckRule).add("Name", serviceName + "-wake-health-check");
+        Tags.of(healthCheckRule).add("Environment", env);
+        Tags.of(wakeFunction).add("Name", serviceName + "-wake");
+        Tags.of(wakeFunction).add("Environment", env);
+        Tags.of(wakeTargetGroup).add("Name", serviceName + "-wake-tg");
+        Tags.of(wakeTargetGroup).add("Environment", env);
+    }
+
+    private static Metric targetGroupRequestCount(ApplicationTargetGroup group) {
+        return Metric.Builder.create()
+                .namespace("AWS/ApplicationELB")
+                .metricName("RequestCount")
+                .dimensionsMap(Map.of(
+                        "LoadBalancer", group.getFirstLoadBalancerFullName(),
+                        "TargetGroup", group.getTargetGroupFullName()))
+                .statistic("Sum")
+                .period(Duration.minutes(1))
+                .build();
+    }
+
+    /**
+     * Step 18: Config-change propagation. Parameter Store changes under /&lt;serviceName&gt;/ go
+     * through EventBridge to a notifier Lambda that POSTs them to each running task's admin
+     * port, so caches can be long-lived and still pick up changes within seconds.
+     * The Lambda runs in the private subnets: it needs the ECS API (via NAT or an endpoint)
+     * and a route to the task IPs. Values injected as container secrets still need a restart.
+     */
+    private void createConfigChangePropagation() {
+        ConfigPropagationConfig propagation = config.getConfigPropagationConfig();
+        if (!propagation.enabled()) {
+            return;
+        }
+        String serviceName = config.getServiceName();
+        String env = config.getAwsEnvironment().environmentName();
+
+        SecurityGroup notifierSecurityGroup = SecurityGroup.Builder.create(this, "ConfigNotifierSecurityGroup")
+                .securityGroupName(serviceName + "-config-notifier-sg")
+                .description("Config-change notifier for " + serviceName)
+                .vpc(vpc)
+                .allowAllOutbound(true)
+                .build();
+        serviceSecurityGroup.addIngressRule(
+                notifierSecurityGroup,
+                Port.tcp(propagation.adminPort()),
+                "Allow config-change notifications");
+
+        Map<String, String> lambdaEnvironment = new HashMap<>();
+        lambdaEnvironment.put("CLUSTER_NAME", ecsCluster.getClusterName());
+        lambdaEnvironment.put("SERVICE_NAME", ecsService.getServiceName());
+        lambdaEnvironment.put("ADMIN_PORT", String.valueOf(propagation.adminPort()));
+        lambdaEnvironment.put("NOTIFY_TIMEOUT_MS", String.valueOf(propagation.notifyTimeoutMillis()));
+        lambdaEnvironment.put("METRICS_NAMESPACE", config.getCustomMetricsConfig().namespace());
+
+        Function notifierFunction = Function.Builder.create(this, "ConfigNotifierFunction")
+                .functionName(serviceName + "-config-notifier")
+                .description("Tells running " + serviceName + " tasks to reload changed parameters")
+                .runtime(Runtime.NODEJS_20_X)
+                .handler("index.handler")
+                .code(Code.fromInline(readResource("/lambda/config-change-notifier.js")))
+                .timeout(Duration.seconds(30))
+                .memorySize(128)
+                .environment(lambdaEnvironment)
+                .vpc(vpc)
+                .vpcSubnets(SubnetSelection.builder()
+                        .subnetType(SubnetType.PRIVATE_WITH_EGRESS)
+                        .build())
+                .securityGroups(List.of(notifierSecurityGroup))
+                .build();
+
+        // ListTasks/DescribeTasks are scoped by cluster condition rather than resource ARN
+        notifierFunction.addToRolePolicy(PolicyStatement.Builder.create()
+                .effect(Effect.ALLOW)
+                .actions(List.of("ecs:ListTasks", "ecs:DescribeTasks"))
+                .resources(List.of("*"))
+                .conditions(Map.of("ArnEquals", Map.of("ecs:cluster", ecsCluster.getClusterArn())))
+                .build());
+
+        Rule changeRule = Rule.Builder.create(this, "ConfigChangeRule")
+                .ruleName(serviceName + "-config-change")
+                .description("Parameter Store changes under /" + serviceName + "/")
+                .eventPattern(EventPattern.builder()
+                        .source(List.of("aws.ssm"))
+                        .detailType(List.of("Parameter Store Change"))
+                        .detail(Map.of(
+                                "name", List.of(Map.of("prefix", "/" + serviceName + "/"))))
+                        .build())
+                .build();
+        changeRule.addTarget(LambdaFunction.Builder.create(notifierFunction)
+                .retryAttempts(2)
+                .build());
+
+        Tags.of(notifierSecurityGroup).add("Name", serviceName + "-config-notifier-sg");
+        Tags.of(notifierSecurityGroup).add("Environment", env);
+        Tags.of(notifierFunction).add("Name", serviceName + "-config-notifier");
+        Tags.of(notifierFunction).add("Environment", env);
+        Tags.of(changeRule).add("Name", serviceName + "-config-change");
+        Tags.of(changeRule).add("Environment", env);
+    }
+
+    /**
+     * Step 19: Create CloudFormation Outputs.
      */
     private void createOutputs() {
         String serviceName = config.getServiceName();
@@ -441,6 +1719,39 @@ public class AstroWebUiStack extends Stack {
                 logGroup.getLogGroupName(), serviceName + "-log-group");
         output("ServiceUrl", "URL to access the service",
                 "http://" + alb.getLoadBalancerDnsName() + "/", serviceName + "-url");
+        if (configCacheRepository != null) {
+            output("ConfigCacheEcrRepositoryUrl", "ECR repository URL for the config-cache sidecar",
+                    configCacheRepository.getRepositoryUri(), serviceName + "-config-cache-ecr-url");
+        }
+        if (distribution != null) {
+            output("DistributionUrl", "URL to access the service through CloudFront",
+                    "https://" + distribution.getDistributionDomainName() + "/", serviceName + "-cdn-url");
+            output("DistributionId", "ID of the CloudFront distribution",
+                    distribution.getDistributionId(), serviceName + "-cdn-distribution-id");
+        }
+        if (staticAssetsBucket != null) {
+            output("StaticAssetsBucketName", "S3 bucket serving the static client assets",
+                    staticAssetsBucket.getBucketName(), serviceName + "-static-assets-bucket");
+        }
+        if (webAclArn != null) {
+            output("WebAclArn", "ARN of the WAF web ACL on the distribution, or on the ALB without one",
+                    webAclArn, serviceName + "-web-acl-arn");
+        }
+        if (rateLimitCache != null) {
+            output("RateLimitCacheEndpoint", "Valkey endpoint holding the shared rate limiter state",
+                    rateLimitCache.getAttrEndpointAddress(), serviceName + "-ratelimit-endpoint");
+        }
+    }
+
+    private String readResource(String path) {
+        try (InputStream in = AstroWebUiStack.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Classpath resource not found: " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read classpath resource " + path, e);
+        }
     }
 
     private void output(String id, String description, String value, String exportName) {
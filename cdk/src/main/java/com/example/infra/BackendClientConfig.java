@@ -0,0 +1,26 @@
+package com.example.infra;
+
+/**
+ * Value object representing the app's pooled keep-alive HTTP client for backend calls.
+ * Each Node worker keeps up to {@code maxConnectionsPerOrigin} connections per backend origin
+ * and closes idle ones after {@code keepAliveTimeoutMillis}, which must stay below the
+ * backend's (or its load balancer's) idle timeout so the client never reuses a closed socket.
+ */
+public record BackendClientConfig(int maxConnectionsPerOrigin, int keepAliveTimeoutMillis,
+                                  int pipelining, int connectTimeoutMillis) {
+
+    public BackendClientConfig {
+        if (maxConnectionsPerOrigin < 1) {
+            throw new IllegalArgumentException("backend maxConnectionsPerOrigin must be positive");
+        }
+        if (keepAliveTimeoutMillis < 1000) {
+            throw new IllegalArgumentException("backend keepAliveTimeoutMillis must be at least 1000");
+        }
+        if (pipelining < 1 || pipelining > 16) {
+            throw new IllegalArgumentException("backend pipelining must be between 1 and 16");
+        }
+        if (connectTimeoutMillis < 100) {
+            throw new IllegalArgumentException("backend connectTimeoutMillis must be at least 100");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.infra;
+
+import java.util.List;
+
+/**
+ * Value object representing the viewer-request CloudFront Function that normalises the cache
+ * key of dynamic requests: query parameters in {@code strippedQueryParams} (lower-case names,
+ * a trailing {@code *} matches a prefix) are removed and the rest sorted, Accept-Encoding is
+ * reduced to br/gzip, and with {@code lowercasePaths} paths are lower-cased except under
+ * {@code caseSensitivePathPrefixes}. Lower-casing rewrites the path sent to the origin, not
+ * just the cache key, so it is off by default.
+ */
+public record CacheKeyNormalizationConfig(boolean enabled, List<String> strippedQueryParams,
+                                          boolean lowercasePaths, List<String> caseSensitivePathPrefixes) {
+
+    public CacheKeyNormalizationConfig {
+        if (strippedQueryParams == null || caseSensitivePathPrefixes == null) {
+            throw new IllegalArgumentException("cache key normalization lists are required");
+        }
+        strippedQueryParams = List.copyOf(strippedQueryParams);
+        caseSensitivePathPrefixes = List.copyOf(caseSensitivePathPrefixes);
+        for (String param : strippedQueryParams) {
+            if (!param.matches("[a-z0-9_.\\-]+\\*?")) {
+                throw new IllegalArgumentException(
+                        "stripped query param '" + param + "' must be a lower-case name, optionally ending in *");
+            }
+        }
+        for (String prefix : caseSensitivePathPrefixes) {
+            if (!prefix.matches("/[A-Za-z0-9_\\-./]*")) {
+                throw new IllegalArgumentException("case-sensitive path prefix '" + prefix + "' must start with /");
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.infra;
+
+/**
+ * Value object representing the Fargate capacity provider mix and task draining settings.
+ * With Spot enabled, {@code onDemandBase} tasks always run on FARGATE and the remainder is
+ * split between FARGATE and FARGATE_SPOT by weight. Deregistration delay plus stop timeout
+ * must fit inside the two-minute Spot interruption notice.
+ */
+public record CapacityProviderConfig(boolean spotEnabled, int onDemandBase, int onDemandWeight, int spotWeight,
+                                     int stopTimeoutSeconds, int deregistrationDelaySeconds) {
+
+    private static final int FARGATE_MAX_STOP_TIMEOUT_SECONDS = 120;
+    private static final int SPOT_INTERRUPTION_NOTICE_SECONDS = 120;
+    private static final int SHUTDOWN_MARGIN_SECONDS = 5;
+
+    public CapacityProviderConfig {
+        if (onDemandBase < 0 || onDemandWeight < 0 || spotWeight < 0) {
+            throw new IllegalArgumentException("capacity provider base and weights must not be negative");
+        }
+        if (spotEnabled && onDemandWeight + spotWeight == 0) {
+            throw new IllegalArgumentException("at least one capacity provider weight must be positive");
+        }
+        if (stopTimeoutSeconds < 2 || stopTimeoutSeconds > FARGATE_MAX_STOP_TIMEOUT_SECONDS) {
+            throw new IllegalArgumentException("stopTimeoutSeconds must be between 2 and "
+                    + FARGATE_MAX_STOP_TIMEOUT_SECONDS);
+        }
+        if (deregistrationDelaySeconds < 0 || deregistrationDelaySeconds > 3600) {
+            throw new IllegalArgumentException("deregistrationDelaySeconds must be between 0 and 3600");
+        }
+        if (spotEnabled && deregistrationDelaySeconds + stopTimeoutSeconds > SPOT_INTERRUPTION_NOTICE_SECONDS) {
+            throw new IllegalArgumentException("deregistrationDelaySeconds + stopTimeoutSeconds must not exceed the "
+                    + SPOT_INTERRUPTION_NOTICE_SECONDS + "s Spot interruption notice");
+        }
+    }
+
+    /**
+     * Time the application is given to flush and exit after SIGTERM, kept
+     * a few seconds below the stop timeout so ECS never has to SIGKILL it.
+     */
+    public int shutdownTimeoutMillis() {
+        return Math.max(1, stopTimeoutSeconds - SHUTDOWN_MARGIN_SECONDS) * 1000;
+    }
+
+    /**
+     * Time the application keeps accepting requests after SIGTERM. On a Spot interruption
+     * SIGTERM and deregistration start together, so new requests can arrive for up to the
+     * deregistration delay; capped at half the shutdown timeout to leave room for draining.
+     */
+    public int shutdownAcceptMillis() {
+        return Math.min(deregistrationDelaySeconds * 1000, shutdownTimeoutMillis() / 2);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.infra;
+
+/**
+ * Value object representing a scheduled min/max capacity window for the ECS service.
+ * The cron expression uses the six-field Application Auto Scaling format,
+ * e.g. {@code 0 7 ? * MON-FRI *}; the time zone is an IANA name or null for UTC.
+ */
+public record CapacityWindow(String name, String cronExpression, int minCapacity, int maxCapacity,
+                             String timeZone) {
+
+    public CapacityWindow {
+        if (name == null || !name.matches("[A-Za-z0-9-]+")) {
+            throw new IllegalArgumentException("name is required and may only contain letters, digits and '-'");
+        }
+        if (cronExpression == null || cronExpression.trim().split("\\s+").length != 6) {
+            throw new IllegalArgumentException(
+                    "cronExpression for window '" + name + "' must have six fields");
+        }
+        if (minCapacity < 0 || maxCapacity < minCapacity) {
+            throw new IllegalArgumentException(
+                    "window '" + name + "' needs 0 <= minCapacity <= maxCapacity");
+        }
+    }
+
+    public CapacityWindow(String name, String cronExpression, int minCapacity, int maxCapacity) {
+        this(name, cronExpression, minCapacity, maxCapacity, null);
+    }
+}
@@ -11,6 +11,9 @@ import software.amazon.awscdk.StackProps;
  * External platform values (awsAccount, vpcId, ecsClusterName, albName) are
  * read from CDK context. Set defaults in cdk.json or override via CLI:
  *   cdk deploy -c vpcId=vpc-xxx -c ecsClusterName=my-cluster -c albName=my-alb
+ *
+ * Node runtime tuning (nodeHeapFraction, nodeMaxOldSpaceSizeMiB, uvThreadpoolSize)
+ * may be set per environment by suffixing the key, e.g. "uvThreadpoolSize.prod".
  */
 public class CdkApp {
 
@@ -27,13 +30,27 @@ public class CdkApp {
         String environment = resolveContext(app, "environment", "dev");
 
         // Build configuration
-        InfrastructureConfig config = InfrastructureConfig.builder()
+        InfrastructureConfig.Builder builder = InfrastructureConfig.builder()
                 .awsAccount(awsAccount)
                 .environment(environment)
                 .vpcId(vpcId)
                 .ecsClusterName(ecsClusterName)
-                .albName(albName)
-                .build();
+                .albName(albName);
+
+        String heapFraction = resolveEnvironmentContext(app, "nodeHeapFraction", environment);
+        if (heapFraction != null) {
+            builder.nodeHeapFraction(Double.parseDouble(heapFraction));
+        }
+        String maxOldSpaceSize = resolveEnvironmentContext(app, "nodeMaxOldSpaceSizeMiB", environment);
+        if (maxOldSpaceSize != null) {
+            builder.nodeMaxOldSpaceSizeMiB(Integer.parseInt(maxOldSpaceSize));
+        }
+        String threadpoolSize = resolveEnvironmentContext(app, "uvThreadpoolSize", environment);
+        if (threadpoolSize != null) {
+            builder.uvThreadpoolSize(Integer.parseInt(threadpoolSize));
+        }
+
+        InfrastructureConfig config = builder.build();
 
         // Create the stack
         new AstroWebUiStack(app, "AstroWebUiStack", StackProps.builder()
@@ -42,6 +59,8 @@ public class CdkApp {
                         .region(config.getAwsEnvironment().region())
                         .build())
                 .description("Astro WebUI infrastructure - ECS Fargate deployment")
+                // The CloudFront web ACL lives in a us-east-1 stack
+                .crossRegionReferences(true)
                 .build(),
                 config);
 
@@ -53,6 +72,17 @@ public class CdkApp {
         return value != null ? value : fallback;
     }
 
+    /**
+     * Resolves "key.environment" first, then "key"; values may be strings or numbers in cdk.json.
+     */
+    private static String resolveEnvironmentContext(App app, String key, String environment) {
+        Object value = app.getNode().tryGetContext(key + "." + environment);
+        if (value == null) {
+            value = app.getNode().tryGetContext(key);
+        }
+        return value != null ? value.toString() : null;
+    }
+
     private static String requireContext(App app, String key) {
         String value = (String) app.getNode().tryGetContext(key);
         if (value == null) {
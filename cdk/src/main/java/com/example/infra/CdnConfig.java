@@ -0,0 +1,59 @@
+package com.example.infra;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Value object representing the CloudFront distribution in front of the ALB. Content-hashed
+ * Astro assets are cached at the edge for {@code assetCacheTtlDays}; dynamic paths listed in
+ * {@code edgeCacheRules} are micro-cached, and everything else is forwarded uncached to the SSR
+ * tasks. A non-blank {@code originShieldRegion} adds a regional cache layer in front of the
+ * origins; {@code additionalMetricsEnabled} turns on CloudFront's CacheHitRate metric.
+ */
+public record CdnConfig(boolean enabled, PriceClass priceClass, int assetCacheTtlDays,
+                        List<EdgeCacheRule> edgeCacheRules, String originShieldRegion,
+                        boolean additionalMetricsEnabled) {
+
+    /** Paths served by the immutable asset behaviour; edge cache rules may not claim them. */
+    public static final List<String> STATIC_PATHS = List.of("/_astro/*", "/favicon.svg");
+
+    public enum PriceClass {
+        /** North America and Europe edge locations only. */
+        PRICE_CLASS_100,
+        /** Adds most of Asia, the Middle East and Africa. */
+        PRICE_CLASS_200,
+        /** All edge locations. */
+        PRICE_CLASS_ALL
+    }
+
+    public CdnConfig {
+        if (priceClass == null) {
+            throw new IllegalArgumentException("cdn priceClass is required");
+        }
+        if (assetCacheTtlDays < 1 || assetCacheTtlDays > 365) {
+            throw new IllegalArgumentException("cdn assetCacheTtlDays must be between 1 and 365");
+        }
+        if (edgeCacheRules == null) {
+            throw new IllegalArgumentException("cdn edgeCacheRules is required");
+        }
+        edgeCacheRules = List.copyOf(edgeCacheRules);
+        Set<String> patterns = new HashSet<>();
+        for (EdgeCacheRule rule : edgeCacheRules) {
+            if (STATIC_PATHS.contains(rule.pathPattern())) {
+                throw new IllegalArgumentException(rule.pathPattern() + " is already cached as a static asset");
+            }
+            if (!patterns.add(rule.pathPattern())) {
+                throw new IllegalArgumentException("duplicate edge cache rule for " + rule.pathPattern());
+            }
+        }
+        if (originShieldRegion != null && !originShieldRegion.isBlank()
+                && !originShieldRegion.matches("[a-z]{2}(-[a-z]+)+-\\d")) {
+            throw new IllegalArgumentException("cdn originShieldRegion must be an AWS region code");
+        }
+    }
+
+    public boolean originShieldEnabled() {
+        return originShieldRegion != null && !originShieldRegion.isBlank();
+    }
+}
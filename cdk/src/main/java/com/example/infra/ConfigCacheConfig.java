@@ -0,0 +1,28 @@
+package com.example.infra;
+
+/**
+ * Value object representing the config-cache sidecar.
+ * The sidecar loads /&lt;serviceName&gt;/ with GetParametersByPath and serves it to the app
+ * on localhost, refreshing on a jittered interval; it gets its own CPU and memory share.
+ */
+public record ConfigCacheConfig(boolean enabled, int cpu, int memoryMiB, int port,
+                                int refreshSeconds, String imageTag) {
+
+    public ConfigCacheConfig {
+        if (cpu < 0) {
+            throw new IllegalArgumentException("config cache cpu must not be negative");
+        }
+        if (memoryMiB < 6) {
+            throw new IllegalArgumentException("config cache memoryMiB must be at least 6");
+        }
+        if (port < 1 || port > 65535) {
+            throw new IllegalArgumentException("config cache port must be between 1 and 65535");
+        }
+        if (refreshSeconds < 5) {
+            throw new IllegalArgumentException("config cache refreshSeconds must be at least 5");
+        }
+        if (imageTag == null || imageTag.isBlank()) {
+            throw new IllegalArgumentException("config cache imageTag must not be blank");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.infra;
+
+/**
+ * Value object representing push-based propagation of Parameter Store changes.
+ * An EventBridge rule sends changes under /&lt;serviceName&gt;/ to a notifier Lambda, which
+ * POSTs to the admin port of every running task so cached config is reloaded within seconds.
+ */
+public record ConfigPropagationConfig(boolean enabled, int adminPort, int notifyTimeoutMillis) {
+
+    public ConfigPropagationConfig {
+        if (adminPort < 1 || adminPort > 65535) {
+            throw new IllegalArgumentException("config propagation adminPort must be between 1 and 65535");
+        }
+        if (notifyTimeoutMillis < 100) {
+            throw new IllegalArgumentException("config propagation notifyTimeoutMillis must be at least 100");
+        }
+    }
+}
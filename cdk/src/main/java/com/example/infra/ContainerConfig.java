@@ -1,13 +1,135 @@
 package com.example.infra;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 /**
  * Value object representing container resource settings.
+ * CPU units and memory are validated against the legal Fargate combinations
+ * at synth time, so an unsupported pair never reaches CloudFormation.
  */
-public record ContainerConfig(int port, int cpu, int memoryMiB, int desiredCount, String imageTag) {
+public record ContainerConfig(int port, int cpu, int memoryMiB, int desiredCount, String imageTag,
+                              Architecture architecture) {
+
+    /**
+     * CPU architecture of the Fargate task. Image tags without an architecture
+     * suffix are expected to be multi-arch manifests (see deploy-app.sh).
+     */
+    public enum Architecture {
+        X86_64(List.of("amd64", "x86_64", "x86-64")),
+        ARM64(List.of("arm64", "aarch64"));
+
+        private final List<String> tagSuffixes;
+
+        Architecture(List<String> tagSuffixes) {
+            this.tagSuffixes = tagSuffixes;
+        }
+
+        boolean matchesTag(String imageTag) {
+            String tag = imageTag.toLowerCase();
+            return tagSuffixes.stream().anyMatch(suffix -> tag.endsWith("-" + suffix));
+        }
+    }
+
+    /**
+     * Named Fargate task sizes for right-sizing experiments.
+     */
+    public enum SizingProfile {
+        XS(256, 512),
+        S(512, 1024),
+        M(1024, 2048),
+        L(2048, 4096),
+        XL(4096, 16384);
+
+        private final int cpu;
+        private final int memoryMiB;
+
+        SizingProfile(int cpu, int memoryMiB) {
+            this.cpu = cpu;
+            this.memoryMiB = memoryMiB;
+        }
+
+        public int cpu() {
+            return cpu;
+        }
+
+        public int memoryMiB() {
+            return memoryMiB;
+        }
+    }
+
+    /**
+     * Legal Fargate memory values (MiB) per CPU unit value.
+     */
+    private static final Map<Integer, List<Integer>> FARGATE_SIZES = fargateSizes();
+
+    private static final int NEAREST_SIZES_LISTED = 3;
 
     public ContainerConfig {
         if (imageTag == null || imageTag.isBlank()) {
             throw new IllegalArgumentException("imageTag is required");
         }
+        if (architecture == null) {
+            throw new IllegalArgumentException("architecture is required");
+        }
+        if (!isValidFargateSize(cpu, memoryMiB)) {
+            throw new IllegalArgumentException("Unsupported Fargate size " + cpu + " CPU / " + memoryMiB
+                    + " MiB. Nearest valid sizes (CPU/MiB): " + nearestValidSizes(cpu, memoryMiB));
+        }
+        for (Architecture other : Architecture.values()) {
+            if (other != architecture && other.matchesTag(imageTag)) {
+                throw new IllegalArgumentException("imageTag '" + imageTag + "' is built for " + other
+                        + " but the task runs on " + architecture);
+            }
+        }
+    }
+
+    public static boolean isValidFargateSize(int cpu, int memoryMiB) {
+        return FARGATE_SIZES.getOrDefault(cpu, List.of()).contains(memoryMiB);
+    }
+
+    private static String nearestValidSizes(int cpu, int memoryMiB) {
+        List<int[]> pairs = new ArrayList<>();
+        FARGATE_SIZES.forEach((validCpu, memories) ->
+                memories.forEach(validMemory -> pairs.add(new int[] {validCpu, validMemory})));
+        return pairs.stream()
+                .sorted(Comparator.comparingDouble(pair -> sizeDistance(cpu, memoryMiB, pair[0], pair[1])))
+                .limit(NEAREST_SIZES_LISTED)
+                .map(pair -> pair[0] + "/" + pair[1])
+                .collect(Collectors.joining(", "));
+    }
+
+    // Distance on a log scale so 256 vs 512 CPU weighs the same as 8192 vs 16384
+    private static double sizeDistance(int cpu, int memoryMiB, int validCpu, int validMemoryMiB) {
+        return Math.abs(log2(Math.max(cpu, 1)) - log2(validCpu))
+                + Math.abs(log2(Math.max(memoryMiB, 1)) - log2(validMemoryMiB));
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+
+    private static Map<Integer, List<Integer>> fargateSizes() {
+        Map<Integer, List<Integer>> sizes = new LinkedHashMap<>();
+        sizes.put(256, List.of(512, 1024, 2048));
+        sizes.put(512, range(1024, 4096, 1024));
+        sizes.put(1024, range(2048, 8192, 1024));
+        sizes.put(2048, range(4096, 16384, 1024));
+        sizes.put(4096, range(8192, 30720, 1024));
+        sizes.put(8192, range(16384, 61440, 4096));
+        sizes.put(16384, range(32768, 122880, 8192));
+        return sizes;
+    }
+
+    private static List<Integer> range(int from, int to, int step) {
+        List<Integer> values = new ArrayList<>();
+        for (int value = from; value <= to; value += step) {
+            values.add(value);
+        }
+        return List.copyOf(values);
     }
 }
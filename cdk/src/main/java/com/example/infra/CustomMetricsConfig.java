@@ -0,0 +1,27 @@
+package com.example.infra;
+
+/**
+ * Value object representing the custom CloudWatch metrics the app publishes via
+ * Embedded Metric Format, and the target tracking values used to scale on them.
+ * The app always publishes to {@code namespace}; {@code enabled} adds the scaling policies.
+ */
+public record CustomMetricsConfig(boolean enabled, String namespace, String eventLoopLagMetricName,
+                                  String inFlightMetricName, int eventLoopLagTargetMs,
+                                  int inFlightTargetPerTask, int publishIntervalSeconds) {
+
+    public CustomMetricsConfig {
+        if (namespace == null || namespace.isBlank()) {
+            throw new IllegalArgumentException("metrics namespace is required");
+        }
+        if (eventLoopLagMetricName == null || eventLoopLagMetricName.isBlank()
+                || inFlightMetricName == null || inFlightMetricName.isBlank()) {
+            throw new IllegalArgumentException("custom metric names are required");
+        }
+        if (eventLoopLagTargetMs < 1 || inFlightTargetPerTask < 1) {
+            throw new IllegalArgumentException("custom metric targets must be positive");
+        }
+        if (publishIntervalSeconds < 1 || publishIntervalSeconds > 60) {
+            throw new IllegalArgumentException("publishIntervalSeconds must be between 1 and 60");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.infra;
+
+/**
+ * Value object representing an edge micro-cache for one dynamic path. The app marks successful
+ * GET and HEAD responses for {@code pathPattern} with the {@link #cacheControl()} header, and
+ * CloudFront keeps them for {@code ttlSeconds}, then serves them stale while revalidating for
+ * {@code staleWhileRevalidateSeconds}, or while the origin fails for {@code staleIfErrorSeconds}.
+ * Patterns use CloudFront syntax: an exact path, or a prefix ending in {@code *}.
+ */
+public record EdgeCacheRule(String pathPattern, int ttlSeconds, int staleWhileRevalidateSeconds,
+                            int staleIfErrorSeconds) {
+
+    public EdgeCacheRule {
+        if (pathPattern == null || !pathPattern.matches("/[A-Za-z0-9_\\-./]*\\*?")) {
+            throw new IllegalArgumentException(
+                    "edge cache pathPattern must be a path starting with /, optionally ending in *");
+        }
+        if (ttlSeconds < 1 || ttlSeconds > 3600) {
+            throw new IllegalArgumentException("edge cache ttlSeconds must be between 1 and 3600");
+        }
+        if (staleWhileRevalidateSeconds < 0 || staleIfErrorSeconds < 0) {
+            throw new IllegalArgumentException("edge cache stale windows must not be negative");
+        }
+    }
+
+    /**
+     * Browsers always revalidate; only the shared edge cache holds the response.
+     */
+    public String cacheControl() {
+        return "public, max-age=0, s-maxage=" + ttlSeconds
+                + ", stale-while-revalidate=" + staleWhileRevalidateSeconds
+                + ", stale-if-error=" + staleIfErrorSeconds;
+    }
+
+    /**
+     * The root path has no characters to name its cache policy after.
+     */
+    public boolean isRoot() {
+        return pathPattern.equals("/");
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.infra;
+
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.services.wafv2.CfnWebACL;
+import software.amazon.awscdk.services.wafv2.CfnWebACLProps;
+import software.constructs.Construct;
+
+/**
+ * Holds the CLOUDFRONT-scope web ACL for the service's distribution. WAF only accepts that
+ * scope in us-east-1, so {@link AstroWebUiStack} creates this stack there and references the
+ * ACL's ARN across regions.
+ */
+final class EdgeWebAclStack extends Stack {
+
+    static final String REGION = "us-east-1";
+
+    private final CfnWebACL webAcl;
+
+    EdgeWebAclStack(Construct scope, String id, StackProps props, CfnWebACLProps webAclProps) {
+        super(scope, id, props);
+        this.webAcl = new CfnWebACL(this, "WebAcl", webAclProps);
+    }
+
+    String getWebAclArn() {
+        return webAcl.getAttrArn();
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.infra;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration class for the Astro WebUI infrastructure.
  * Provides type-safe, centralized configuration.
@@ -11,7 +16,25 @@ public final class InfrastructureConfig {
     private final AwsEnvironment awsEnvironment;
     private final NetworkConfig networkConfig;
     private final ContainerConfig containerConfig;
+    private final NodeRuntimeConfig nodeRuntimeConfig;
+    private final ParameterInjectionConfig parameterInjectionConfig;
+    private final AppConfigTuningConfig appConfigTuningConfig;
+    private final ConfigCacheConfig configCacheConfig;
+    private final ConfigPropagationConfig configPropagationConfig;
+    private final RetryPolicyConfig retryPolicyConfig;
+    private final BackendClientConfig backendClientConfig;
+    private final LoadSheddingConfig loadSheddingConfig;
+    private final RateLimitConfig rateLimitConfig;
+    private final WafConfig wafConfig;
+    private final CdnConfig cdnConfig;
+    private final StaticAssetsConfig staticAssetsConfig;
+    private final CacheKeyNormalizationConfig cacheKeyNormalizationConfig;
     private final RoutingConfig routingConfig;
+    private final ScalingConfig scalingConfig;
+    private final CapacityProviderConfig capacityProviderConfig;
+    private final CustomMetricsConfig customMetricsConfig;
+    private final PredictiveScalingConfig predictiveScalingConfig;
+    private final WakeOnRequestConfig wakeOnRequestConfig;
 
     private InfrastructureConfig(Builder builder) {
         this.serviceName = builder.serviceName;
@@ -21,9 +44,117 @@ public final class InfrastructureConfig {
                 builder.vpcId, builder.ecsClusterName, builder.albName);
         this.containerConfig = new ContainerConfig(
                 builder.containerPort, builder.containerCpu, builder.containerMemory,
-                builder.desiredCount, builder.imageTag);
+                builder.desiredCount, builder.imageTag, builder.architecture);
+        this.appConfigTuningConfig = new AppConfigTuningConfig(
+                builder.appConfigEnabled, builder.appConfigDeploymentDurationMinutes,
+                builder.appConfigGrowthFactorPercent, builder.appConfigFinalBakeTimeMinutes,
+                builder.appConfigPollIntervalSeconds, builder.appConfigAgentMemoryMiB);
+        this.configCacheConfig = new ConfigCacheConfig(
+                builder.configCacheEnabled, builder.configCacheCpu, builder.configCacheMemoryMiB,
+                builder.configCachePort, builder.configCacheRefreshSeconds, builder.configCacheImageTag);
+        int agentReservedMiB = appConfigTuningConfig.enabled() ? appConfigTuningConfig.agentMemoryMiB() : 0;
+        int cacheReservedMiB = configCacheConfig.enabled() ? configCacheConfig.memoryMiB() : 0;
+        this.nodeRuntimeConfig = new NodeRuntimeConfig(
+                builder.nodeHeapFraction, builder.sidecarReservedMiB + agentReservedMiB + cacheReservedMiB,
+                builder.nodeMaxOldSpaceSizeMiB, builder.uvThreadpoolSize, builder.workerConcurrency);
+        int workers = nodeRuntimeConfig.workerConcurrency(containerConfig.cpu());
+        int heapMiB = nodeRuntimeConfig.maxOldSpaceSizeMiB(containerConfig.memoryMiB(), containerConfig.cpu());
+        if (heapMiB < 1
+                || (long) heapMiB * workers + nodeRuntimeConfig.sidecarReservedMiB() >= containerConfig.memoryMiB()) {
+            throw new IllegalArgumentException(workers + " Node worker(s) with a " + heapMiB + " MiB heap plus "
+                    + nodeRuntimeConfig.sidecarReservedMiB() + " MiB sidecar reservation must fit within "
+                    + containerConfig.memoryMiB() + " MiB task memory");
+        }
+        this.parameterInjectionConfig = new ParameterInjectionConfig(builder.parameterInjectionEnabled);
+        this.retryPolicyConfig = new RetryPolicyConfig(
+                builder.retryBaseDelayMillis, builder.retryMaxDelayMillis, builder.retryJitter,
+                builder.retryableStatusCodes, builder.retryableMethods, builder.retryBudgetPercent);
+        this.backendClientConfig = new BackendClientConfig(
+                builder.backendMaxConnectionsPerOrigin, builder.backendKeepAliveTimeoutMillis,
+                builder.backendPipelining, builder.backendConnectTimeoutMillis);
+        this.loadSheddingConfig = new LoadSheddingConfig(
+                builder.loadSheddingEnabled, builder.loadSheddingAlgorithm, builder.concurrencyInitialLimit,
+                builder.concurrencyMinLimit, builder.concurrencyMaxLimit, builder.shedStatusCode);
+        this.rateLimitConfig = new RateLimitConfig(
+                builder.rateLimitEnabled, builder.valkeyMajorVersion,
+                builder.valkeyMaxDataStorageGb, builder.valkeyMaxEcpuPerSecond);
+        this.wafConfig = new WafConfig(
+                builder.wafEnabled, builder.wafEvaluationWindowSeconds, builder.botControlInspectionLevel,
+                builder.albDedicated);
+        this.cdnConfig = new CdnConfig(
+                builder.cdnEnabled, builder.cdnPriceClass, builder.assetCacheTtlDays, builder.edgeCacheRules,
+                builder.originShieldRegion, builder.cdnAdditionalMetricsEnabled);
+        this.staticAssetsConfig = new StaticAssetsConfig(
+                builder.staticAssetsEnabled, builder.staticAssetPath, builder.staticAssetVersionRetentionDays);
+        if (staticAssetsConfig.enabled() && !cdnConfig.enabled()) {
+            throw new IllegalArgumentException("static asset offload requires the CloudFront distribution (cdnEnabled)");
+        }
+        if (wafConfig.enabled() && !cdnConfig.enabled() && !wafConfig.albDedicated()) {
+            throw new IllegalArgumentException("a web ACL on the shared ALB would replace any other ACL on it and "
+                    + "apply to every service behind it; enable cdnEnabled or set albDedicated");
+        }
+        this.cacheKeyNormalizationConfig = new CacheKeyNormalizationConfig(
+                builder.cacheKeyNormalizationEnabled, builder.strippedQueryParams,
+                builder.lowercasePaths, builder.caseSensitivePathPrefixes);
         this.routingConfig = new RoutingConfig(
                 builder.pathPattern, builder.healthCheckPath, builder.listenerRulePriority);
+        this.scalingConfig = new ScalingConfig(
+                builder.autoScalingEnabled, builder.minCapacity, builder.maxCapacity,
+                builder.requestsPerTarget, builder.scaleInCooldownSeconds, builder.scaleOutCooldownSeconds,
+                builder.cpuTargetPercent, builder.memoryTargetPercent,
+                builder.burstCpuThresholdPercent, builder.burstScaleOutTasks,
+                builder.severeCpuThresholdPercent, builder.severeScaleOutTasks,
+                builder.capacityWindows.getOrDefault(builder.environment, List.of()));
+        this.capacityProviderConfig = new CapacityProviderConfig(
+                builder.spotEnabled, builder.onDemandBase, builder.onDemandWeight, builder.spotWeight,
+                builder.stopTimeoutSeconds, builder.deregistrationDelaySeconds);
+        this.customMetricsConfig = new CustomMetricsConfig(
+                builder.customMetricsEnabled,
+                builder.metricsNamespace != null ? builder.metricsNamespace : builder.serviceName,
+                builder.eventLoopLagMetricName, builder.inFlightMetricName,
+                builder.eventLoopLagTargetMs, builder.inFlightTargetPerTask, builder.metricsPublishIntervalSeconds);
+        this.predictiveScalingConfig = new PredictiveScalingConfig(
+                builder.predictiveScalingEnabled, builder.predictiveLoadMetric, builder.predictiveTargetValue,
+                builder.predictiveSchedulingBufferSeconds, builder.predictiveForecastOnly);
+        if (configCacheConfig.enabled() && configCacheConfig.cpu() >= containerConfig.cpu()) {
+            throw new IllegalArgumentException("config cache cpu must be less than the task cpu");
+        }
+        this.configPropagationConfig = new ConfigPropagationConfig(
+                builder.configPropagationEnabled, builder.configAdminPort, builder.configNotifyTimeoutMillis);
+        if (configPropagationConfig.enabled()) {
+            int adminPort = configPropagationConfig.adminPort();
+            if (adminPort == containerConfig.port()
+                    || (configCacheConfig.enabled() && adminPort == configCacheConfig.port())
+                    || (appConfigTuningConfig.enabled() && adminPort == AppConfigTuningConfig.AGENT_PORT)) {
+                throw new IllegalArgumentException("config admin port " + adminPort
+                        + " clashes with another port in the task");
+            }
+        }
+        if (predictiveScalingConfig.enabled() && !scalingConfig.enabled()) {
+            throw new IllegalArgumentException("predictive scaling requires auto scaling to be enabled");
+        }
+        this.wakeOnRequestConfig = new WakeOnRequestConfig(
+                builder.wakeOnRequestEnabled,
+                builder.wakeListenerRulePriority > 0
+                        ? builder.wakeListenerRulePriority : builder.listenerRulePriority + 1,
+                builder.idleMinutes, builder.wakeDesiredCount, builder.wakeRetryAfterSeconds);
+        if (wakeOnRequestConfig.enabled()) {
+            validateWakeOnRequest();
+        }
+    }
+
+    private void validateWakeOnRequest() {
+        String env = awsEnvironment.environmentName();
+        if (env.equalsIgnoreCase("prod") || env.equalsIgnoreCase("production")) {
+            throw new IllegalArgumentException("wake-on-request is only supported in non-production environments");
+        }
+        if (wakeOnRequestConfig.listenerRulePriority() <= routingConfig.listenerRulePriority()) {
+            throw new IllegalArgumentException(
+                    "wake listener rule must have a lower priority (higher number) than the service rule");
+        }
+        if (scalingConfig.enabled() && scalingConfig.minCapacity() != 0) {
+            throw new IllegalArgumentException("wake-on-request requires auto scaling minCapacity of 0");
+        }
     }
 
     public String getServiceName() {
@@ -42,10 +173,82 @@ public final class InfrastructureConfig {
         return containerConfig;
     }
 
+    public NodeRuntimeConfig getNodeRuntimeConfig() {
+        return nodeRuntimeConfig;
+    }
+
+    public ParameterInjectionConfig getParameterInjectionConfig() {
+        return parameterInjectionConfig;
+    }
+
+    public AppConfigTuningConfig getAppConfigTuningConfig() {
+        return appConfigTuningConfig;
+    }
+
+    public ConfigCacheConfig getConfigCacheConfig() {
+        return configCacheConfig;
+    }
+
+    public ConfigPropagationConfig getConfigPropagationConfig() {
+        return configPropagationConfig;
+    }
+
+    public RetryPolicyConfig getRetryPolicyConfig() {
+        return retryPolicyConfig;
+    }
+
+    public BackendClientConfig getBackendClientConfig() {
+        return backendClientConfig;
+    }
+
+    public LoadSheddingConfig getLoadSheddingConfig() {
+        return loadSheddingConfig;
+    }
+
+    public RateLimitConfig getRateLimitConfig() {
+        return rateLimitConfig;
+    }
+
+    public WafConfig getWafConfig() {
+        return wafConfig;
+    }
+
+    public CdnConfig getCdnConfig() {
+        return cdnConfig;
+    }
+
+    public StaticAssetsConfig getStaticAssetsConfig() {
+        return staticAssetsConfig;
+    }
+
+    public CacheKeyNormalizationConfig getCacheKeyNormalizationConfig() {
+        return cacheKeyNormalizationConfig;
+    }
+
     public RoutingConfig getRoutingConfig() {
         return routingConfig;
     }
 
+    public ScalingConfig getScalingConfig() {
+        return scalingConfig;
+    }
+
+    public CapacityProviderConfig getCapacityProviderConfig() {
+        return capacityProviderConfig;
+    }
+
+    public CustomMetricsConfig getCustomMetricsConfig() {
+        return customMetricsConfig;
+    }
+
+    public PredictiveScalingConfig getPredictiveScalingConfig() {
+        return predictiveScalingConfig;
+    }
+
+    public WakeOnRequestConfig getWakeOnRequestConfig() {
+        return wakeOnRequestConfig;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -65,7 +268,107 @@ public final class InfrastructureConfig {
         private String pathPattern = "/*";
         private String healthCheckPath = "/api/health";
         private String imageTag = "latest";
+        private ContainerConfig.Architecture architecture = ContainerConfig.Architecture.X86_64;
+        private double nodeHeapFraction = 0.75;
+        private int sidecarReservedMiB = 0;
+        private int nodeMaxOldSpaceSizeMiB = 0;
+        private int uvThreadpoolSize = 0;
+        private int workerConcurrency = 0;
+        private boolean parameterInjectionEnabled = false;
+        private boolean appConfigEnabled = false;
+        private int appConfigDeploymentDurationMinutes = 10;
+        private int appConfigGrowthFactorPercent = 20;
+        private int appConfigFinalBakeTimeMinutes = 5;
+        private int appConfigPollIntervalSeconds = 45;
+        private int appConfigAgentMemoryMiB = 64;
+        private boolean configCacheEnabled = false;
+        private int configCacheCpu = 64;
+        private int configCacheMemoryMiB = 128;
+        private int configCachePort = 2773;
+        private int configCacheRefreshSeconds = 30;
+        private String configCacheImageTag = "latest";
+        private boolean configPropagationEnabled = false;
+        private int configAdminPort = 9091;
+        private int configNotifyTimeoutMillis = 2000;
+        private int retryBaseDelayMillis = 100;
+        private int retryMaxDelayMillis = 2000;
+        private RetryPolicyConfig.Jitter retryJitter = RetryPolicyConfig.Jitter.FULL;
+        private List<Integer> retryableStatusCodes = List.of(502, 503, 504);
+        private List<String> retryableMethods = List.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+        private int retryBudgetPercent = 20;
+        private int backendMaxConnectionsPerOrigin = 32;
+        private int backendKeepAliveTimeoutMillis = 30000;
+        private int backendPipelining = 1;
+        private int backendConnectTimeoutMillis = 2000;
+        private boolean loadSheddingEnabled = false;
+        private LoadSheddingConfig.Algorithm loadSheddingAlgorithm = LoadSheddingConfig.Algorithm.GRADIENT;
+        private int concurrencyInitialLimit = 20;
+        private int concurrencyMinLimit = 4;
+        private int concurrencyMaxLimit = 200;
+        private int shedStatusCode = 503;
+        private boolean rateLimitEnabled = false;
+        private String valkeyMajorVersion = "8";
+        private int valkeyMaxDataStorageGb = 1;
+        private int valkeyMaxEcpuPerSecond = 5000;
+        private boolean wafEnabled = false;
+        private int wafEvaluationWindowSeconds = 300;
+        private WafConfig.BotControlInspectionLevel botControlInspectionLevel =
+                WafConfig.BotControlInspectionLevel.COMMON;
+        private boolean albDedicated = false;
+        private boolean cdnEnabled = false;
+        private CdnConfig.PriceClass cdnPriceClass = CdnConfig.PriceClass.PRICE_CLASS_100;
+        private int assetCacheTtlDays = 365;
+        private List<EdgeCacheRule> edgeCacheRules = List.of(
+                new EdgeCacheRule("/", 2, 5, 60),
+                new EdgeCacheRule("/api/greetings", 2, 5, 60));
+        private String originShieldRegion = null;
+        private boolean cdnAdditionalMetricsEnabled = true;
+        private boolean cacheKeyNormalizationEnabled = true;
+        private List<String> strippedQueryParams = List.of(
+                "utm_*", "gclid", "gbraid", "wbraid", "dclid", "fbclid", "msclkid", "yclid",
+                "mc_cid", "mc_eid", "_ga", "_gl", "igshid");
+        private boolean lowercasePaths = false;
+        private List<String> caseSensitivePathPrefixes = List.of("/_astro/", "/api/");
+        private boolean staticAssetsEnabled = false;
+        private String staticAssetPath = "../app/dist/client";
+        private int staticAssetVersionRetentionDays = 30;
         private int listenerRulePriority = 200;
+        private boolean autoScalingEnabled = false;
+        private int minCapacity = 1;
+        private int maxCapacity = 4;
+        private int requestsPerTarget = 500;
+        private int scaleInCooldownSeconds = 300;
+        private int scaleOutCooldownSeconds = 60;
+        private int cpuTargetPercent = 60;
+        private int memoryTargetPercent = 75;
+        private int burstCpuThresholdPercent = 85;
+        private int burstScaleOutTasks = 2;
+        private int severeCpuThresholdPercent = 95;
+        private int severeScaleOutTasks = 4;
+        private final Map<String, List<CapacityWindow>> capacityWindows = new HashMap<>();
+        private boolean spotEnabled = false;
+        private int onDemandBase = 1;
+        private int onDemandWeight = 1;
+        private int spotWeight = 3;
+        private int stopTimeoutSeconds = 30;
+        private int deregistrationDelaySeconds = 30;
+        private boolean customMetricsEnabled = false;
+        private String metricsNamespace;
+        private String eventLoopLagMetricName = "EventLoopLagP99";
+        private String inFlightMetricName = "InFlightRequests";
+        private int eventLoopLagTargetMs = 50;
+        private int inFlightTargetPerTask = 20;
+        private int metricsPublishIntervalSeconds = 60;
+        private boolean predictiveScalingEnabled = false;
+        private PredictiveScalingConfig.LoadMetric predictiveLoadMetric = PredictiveScalingConfig.LoadMetric.CPU;
+        private int predictiveTargetValue = 60;
+        private int predictiveSchedulingBufferSeconds = 300;
+        private boolean predictiveForecastOnly = true;
+        private boolean wakeOnRequestEnabled = false;
+        private int wakeListenerRulePriority = 0;
+        private int idleMinutes = 30;
+        private int wakeDesiredCount = 1;
+        private int wakeRetryAfterSeconds = 15;
 
         public Builder awsRegion(String awsRegion) {
             this.awsRegion = awsRegion;
@@ -117,6 +420,15 @@ public final class InfrastructureConfig {
             return this;
         }
 
+        /**
+         * Sets container CPU and memory from a named Fargate sizing profile.
+         */
+        public Builder sizingProfile(ContainerConfig.SizingProfile sizingProfile) {
+            this.containerCpu = sizingProfile.cpu();
+            this.containerMemory = sizingProfile.memoryMiB();
+            return this;
+        }
+
         public Builder desiredCount(int desiredCount) {
             this.desiredCount = desiredCount;
             return this;
@@ -137,11 +449,606 @@ public final class InfrastructureConfig {
             return this;
         }
 
+        public Builder architecture(ContainerConfig.Architecture architecture) {
+            this.architecture = architecture;
+            return this;
+        }
+
+        /**
+         * Fraction of the app container's memory given to the V8 old space.
+         */
+        public Builder nodeHeapFraction(double nodeHeapFraction) {
+            this.nodeHeapFraction = nodeHeapFraction;
+            return this;
+        }
+
+        /**
+         * Task memory kept free for sidecar containers before the heap fraction is applied.
+         */
+        public Builder sidecarReservedMiB(int sidecarReservedMiB) {
+            this.sidecarReservedMiB = sidecarReservedMiB;
+            return this;
+        }
+
+        /**
+         * Fixed --max-old-space-size in MiB; 0 derives it from nodeHeapFraction.
+         */
+        public Builder nodeMaxOldSpaceSizeMiB(int nodeMaxOldSpaceSizeMiB) {
+            this.nodeMaxOldSpaceSizeMiB = nodeMaxOldSpaceSizeMiB;
+            return this;
+        }
+
+        /**
+         * Fixed UV_THREADPOOL_SIZE; 0 derives it from the CPU units.
+         */
+        public Builder uvThreadpoolSize(int uvThreadpoolSize) {
+            this.uvThreadpoolSize = uvThreadpoolSize;
+            return this;
+        }
+
+        /**
+         * Fixed number of clustered SSR workers per task; 0 runs one per vCPU.
+         */
+        public Builder workerConcurrency(int workerConcurrency) {
+            this.workerConcurrency = workerConcurrency;
+            return this;
+        }
+
+        /**
+         * Injects the SSM parameters as container secrets instead of per-request lookups.
+         */
+        public Builder parameterInjectionEnabled(boolean parameterInjectionEnabled) {
+            this.parameterInjectionEnabled = parameterInjectionEnabled;
+            return this;
+        }
+
+        /**
+         * Serves api.timeout.ms, api.retry.count and rate.limit.rpm from AppConfig via the agent sidecar.
+         */
+        public Builder appConfigEnabled(boolean appConfigEnabled) {
+            this.appConfigEnabled = appConfigEnabled;
+            return this;
+        }
+
+        public Builder appConfigDeploymentDurationMinutes(int appConfigDeploymentDurationMinutes) {
+            this.appConfigDeploymentDurationMinutes = appConfigDeploymentDurationMinutes;
+            return this;
+        }
+
+        public Builder appConfigGrowthFactorPercent(int appConfigGrowthFactorPercent) {
+            this.appConfigGrowthFactorPercent = appConfigGrowthFactorPercent;
+            return this;
+        }
+
+        public Builder appConfigFinalBakeTimeMinutes(int appConfigFinalBakeTimeMinutes) {
+            this.appConfigFinalBakeTimeMinutes = appConfigFinalBakeTimeMinutes;
+            return this;
+        }
+
+        public Builder appConfigPollIntervalSeconds(int appConfigPollIntervalSeconds) {
+            this.appConfigPollIntervalSeconds = appConfigPollIntervalSeconds;
+            return this;
+        }
+
+        /**
+         * Memory reserved for the agent sidecar; it is subtracted from the Node heap budget.
+         */
+        public Builder appConfigAgentMemoryMiB(int appConfigAgentMemoryMiB) {
+            this.appConfigAgentMemoryMiB = appConfigAgentMemoryMiB;
+            return this;
+        }
+
+        /**
+         * Runs the config-cache sidecar; the app reads parameters from it instead of SSM.
+         */
+        public Builder configCacheEnabled(boolean configCacheEnabled) {
+            this.configCacheEnabled = configCacheEnabled;
+            return this;
+        }
+
+        public Builder configCacheCpu(int configCacheCpu) {
+            this.configCacheCpu = configCacheCpu;
+            return this;
+        }
+
+        /**
+         * Hard memory limit for the sidecar; it is subtracted from the Node heap budget.
+         */
+        public Builder configCacheMemoryMiB(int configCacheMemoryMiB) {
+            this.configCacheMemoryMiB = configCacheMemoryMiB;
+            return this;
+        }
+
+        public Builder configCachePort(int configCachePort) {
+            this.configCachePort = configCachePort;
+            return this;
+        }
+
+        public Builder configCacheRefreshSeconds(int configCacheRefreshSeconds) {
+            this.configCacheRefreshSeconds = configCacheRefreshSeconds;
+            return this;
+        }
+
+        public Builder configCacheImageTag(String configCacheImageTag) {
+            this.configCacheImageTag = configCacheImageTag;
+            return this;
+        }
+
+        /**
+         * Pushes Parameter Store changes to running tasks instead of waiting for cache expiry.
+         */
+        public Builder configPropagationEnabled(boolean configPropagationEnabled) {
+            this.configPropagationEnabled = configPropagationEnabled;
+            return this;
+        }
+
+        /**
+         * Task port the notifier POSTs to; only the notifier's security group may reach it.
+         */
+        public Builder configAdminPort(int configAdminPort) {
+            this.configAdminPort = configAdminPort;
+            return this;
+        }
+
+        public Builder configNotifyTimeoutMillis(int configNotifyTimeoutMillis) {
+            this.configNotifyTimeoutMillis = configNotifyTimeoutMillis;
+            return this;
+        }
+
+        public Builder retryBaseDelayMillis(int retryBaseDelayMillis) {
+            this.retryBaseDelayMillis = retryBaseDelayMillis;
+            return this;
+        }
+
+        public Builder retryMaxDelayMillis(int retryMaxDelayMillis) {
+            this.retryMaxDelayMillis = retryMaxDelayMillis;
+            return this;
+        }
+
+        public Builder retryJitter(RetryPolicyConfig.Jitter retryJitter) {
+            this.retryJitter = retryJitter;
+            return this;
+        }
+
+        public Builder retryableStatusCodes(List<Integer> retryableStatusCodes) {
+            this.retryableStatusCodes = retryableStatusCodes;
+            return this;
+        }
+
+        /**
+         * Only idempotent methods may be listed; POST and PATCH are rejected.
+         */
+        public Builder retryableMethods(List<String> retryableMethods) {
+            this.retryableMethods = retryableMethods;
+            return this;
+        }
+
+        /**
+         * Retries each process may send, as a percentage of its backend requests.
+         */
+        public Builder retryBudgetPercent(int retryBudgetPercent) {
+            this.retryBudgetPercent = retryBudgetPercent;
+            return this;
+        }
+
+        /**
+         * Connection cap per backend origin, per Node worker.
+         */
+        public Builder backendMaxConnectionsPerOrigin(int backendMaxConnectionsPerOrigin) {
+            this.backendMaxConnectionsPerOrigin = backendMaxConnectionsPerOrigin;
+            return this;
+        }
+
+        /**
+         * Idle keep-alive before the client closes a connection; keep it below the ALB's 60s idle timeout.
+         */
+        public Builder backendKeepAliveTimeoutMillis(int backendKeepAliveTimeoutMillis) {
+            this.backendKeepAliveTimeoutMillis = backendKeepAliveTimeoutMillis;
+            return this;
+        }
+
+        public Builder backendPipelining(int backendPipelining) {
+            this.backendPipelining = backendPipelining;
+            return this;
+        }
+
+        public Builder backendConnectTimeoutMillis(int backendConnectTimeoutMillis) {
+            this.backendConnectTimeoutMillis = backendConnectTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Limits concurrent backend calls per Node worker and sheds the excess immediately.
+         */
+        public Builder loadSheddingEnabled(boolean loadSheddingEnabled) {
+            this.loadSheddingEnabled = loadSheddingEnabled;
+            return this;
+        }
+
+        public Builder loadSheddingAlgorithm(LoadSheddingConfig.Algorithm loadSheddingAlgorithm) {
+            this.loadSheddingAlgorithm = loadSheddingAlgorithm;
+            return this;
+        }
+
+        public Builder concurrencyInitialLimit(int concurrencyInitialLimit) {
+            this.concurrencyInitialLimit = concurrencyInitialLimit;
+            return this;
+        }
+
+        public Builder concurrencyMinLimit(int concurrencyMinLimit) {
+            this.concurrencyMinLimit = concurrencyMinLimit;
+            return this;
+        }
+
+        public Builder concurrencyMaxLimit(int concurrencyMaxLimit) {
+            this.concurrencyMaxLimit = concurrencyMaxLimit;
+            return this;
+        }
+
+        /**
+         * Status returned for shed requests: 503 (default) or 429.
+         */
+        public Builder shedStatusCode(int shedStatusCode) {
+            this.shedStatusCode = shedStatusCode;
+            return this;
+        }
+
+        /**
+         * Creates a serverless Valkey cache and enforces rate.limit.rpm per client across all tasks.
+         */
+        public Builder rateLimitEnabled(boolean rateLimitEnabled) {
+            this.rateLimitEnabled = rateLimitEnabled;
+            return this;
+        }
+
+        public Builder valkeyMajorVersion(String valkeyMajorVersion) {
+            this.valkeyMajorVersion = valkeyMajorVersion;
+            return this;
+        }
+
+        /**
+         * Usage limits cap the serverless cache's cost; rate limiter state is a few bytes per client.
+         */
+        public Builder valkeyMaxDataStorageGb(int valkeyMaxDataStorageGb) {
+            this.valkeyMaxDataStorageGb = valkeyMaxDataStorageGb;
+            return this;
+        }
+
+        public Builder valkeyMaxEcpuPerSecond(int valkeyMaxEcpuPerSecond) {
+            this.valkeyMaxEcpuPerSecond = valkeyMaxEcpuPerSecond;
+            return this;
+        }
+
+        /**
+         * Creates a WAF web ACL: on the CloudFront distribution when cdnEnabled, else on the ALB,
+         * which also needs {@link #albDedicated(boolean)}.
+         */
+        public Builder wafEnabled(boolean wafEnabled) {
+            this.wafEnabled = wafEnabled;
+            return this;
+        }
+
+        /**
+         * Declares that the looked-up ALB serves only this service, so this stack may own its
+         * single web ACL association.
+         */
+        public Builder albDedicated(boolean albDedicated) {
+            this.albDedicated = albDedicated;
+            return this;
+        }
+
+        public Builder wafEvaluationWindowSeconds(int wafEvaluationWindowSeconds) {
+            this.wafEvaluationWindowSeconds = wafEvaluationWindowSeconds;
+            return this;
+        }
+
+        public Builder botControlInspectionLevel(WafConfig.BotControlInspectionLevel botControlInspectionLevel) {
+            this.botControlInspectionLevel = botControlInspectionLevel;
+            return this;
+        }
+
+        /**
+         * Puts a CloudFront distribution in front of the ALB that caches /_astro/* at the edge.
+         */
+        public Builder cdnEnabled(boolean cdnEnabled) {
+            this.cdnEnabled = cdnEnabled;
+            return this;
+        }
+
+        public Builder cdnPriceClass(CdnConfig.PriceClass cdnPriceClass) {
+            this.cdnPriceClass = cdnPriceClass;
+            return this;
+        }
+
+        public Builder assetCacheTtlDays(int assetCacheTtlDays) {
+            this.assetCacheTtlDays = assetCacheTtlDays;
+            return this;
+        }
+
+        /**
+         * Replaces the default micro-cache rules (2s TTL for / and /api/greetings); pass an
+         * empty list to forward every dynamic request to the tasks.
+         */
+        public Builder edgeCacheRules(List<EdgeCacheRule> edgeCacheRules) {
+            this.edgeCacheRules = edgeCacheRules;
+            return this;
+        }
+
+        /**
+         * Region of the Origin Shield cache, ideally the stack's own region; null disables it.
+         */
+        public Builder originShieldRegion(String originShieldRegion) {
+            this.originShieldRegion = originShieldRegion;
+            return this;
+        }
+
+        /**
+         * CloudFront additional metrics (billed per distribution) provide CacheHitRate.
+         */
+        public Builder cdnAdditionalMetricsEnabled(boolean cdnAdditionalMetricsEnabled) {
+            this.cdnAdditionalMetricsEnabled = cdnAdditionalMetricsEnabled;
+            return this;
+        }
+
+        /**
+         * Normalises the cache key of dynamic requests with a viewer-request CloudFront Function.
+         */
+        public Builder cacheKeyNormalizationEnabled(boolean cacheKeyNormalizationEnabled) {
+            this.cacheKeyNormalizationEnabled = cacheKeyNormalizationEnabled;
+            return this;
+        }
+
+        /**
+         * Tracking parameters dropped from the cache key; a trailing * matches a prefix.
+         */
+        public Builder strippedQueryParams(List<String> strippedQueryParams) {
+            this.strippedQueryParams = strippedQueryParams;
+            return this;
+        }
+
+        /**
+         * Lower-cases request.uri, which is also the path the origin receives, so enable it only
+         * when every route outside the case-sensitive prefixes is lower-case.
+         */
+        public Builder lowercasePaths(boolean lowercasePaths) {
+            this.lowercasePaths = lowercasePaths;
+            return this;
+        }
+
+        /**
+         * Paths left as-is when lower-casing: content hashes and API ids are case-sensitive.
+         */
+        public Builder caseSensitivePathPrefixes(List<String> caseSensitivePathPrefixes) {
+            this.caseSensitivePathPrefixes = caseSensitivePathPrefixes;
+            return this;
+        }
+
+        /**
+         * Serves the static paths from an S3 bucket instead of the ALB. Requires cdnEnabled.
+         */
+        public Builder staticAssetsEnabled(boolean staticAssetsEnabled) {
+            this.staticAssetsEnabled = staticAssetsEnabled;
+            return this;
+        }
+
+        /**
+         * Astro client build output deployed to the bucket, relative to the CDK app directory.
+         */
+        public Builder staticAssetPath(String staticAssetPath) {
+            this.staticAssetPath = staticAssetPath;
+            return this;
+        }
+
+        /**
+         * Overwritten objects stay in the bucket this long for rollbacks.
+         */
+        public Builder staticAssetVersionRetentionDays(int staticAssetVersionRetentionDays) {
+            this.staticAssetVersionRetentionDays = staticAssetVersionRetentionDays;
+            return this;
+        }
+
         public Builder listenerRulePriority(int listenerRulePriority) {
             this.listenerRulePriority = listenerRulePriority;
             return this;
         }
 
+        public Builder autoScalingEnabled(boolean autoScalingEnabled) {
+            this.autoScalingEnabled = autoScalingEnabled;
+            return this;
+        }
+
+        public Builder minCapacity(int minCapacity) {
+            this.minCapacity = minCapacity;
+            return this;
+        }
+
+        public Builder maxCapacity(int maxCapacity) {
+            this.maxCapacity = maxCapacity;
+            return this;
+        }
+
+        public Builder requestsPerTarget(int requestsPerTarget) {
+            this.requestsPerTarget = requestsPerTarget;
+            return this;
+        }
+
+        public Builder scaleInCooldownSeconds(int scaleInCooldownSeconds) {
+            this.scaleInCooldownSeconds = scaleInCooldownSeconds;
+            return this;
+        }
+
+        public Builder scaleOutCooldownSeconds(int scaleOutCooldownSeconds) {
+            this.scaleOutCooldownSeconds = scaleOutCooldownSeconds;
+            return this;
+        }
+
+        public Builder cpuTargetPercent(int cpuTargetPercent) {
+            this.cpuTargetPercent = cpuTargetPercent;
+            return this;
+        }
+
+        public Builder memoryTargetPercent(int memoryTargetPercent) {
+            this.memoryTargetPercent = memoryTargetPercent;
+            return this;
+        }
+
+        public Builder burstCpuThresholdPercent(int burstCpuThresholdPercent) {
+            this.burstCpuThresholdPercent = burstCpuThresholdPercent;
+            return this;
+        }
+
+        public Builder burstScaleOutTasks(int burstScaleOutTasks) {
+            this.burstScaleOutTasks = burstScaleOutTasks;
+            return this;
+        }
+
+        public Builder severeCpuThresholdPercent(int severeCpuThresholdPercent) {
+            this.severeCpuThresholdPercent = severeCpuThresholdPercent;
+            return this;
+        }
+
+        public Builder severeScaleOutTasks(int severeScaleOutTasks) {
+            this.severeScaleOutTasks = severeScaleOutTasks;
+            return this;
+        }
+
+        /**
+         * Registers a scheduled capacity window for the given environment.
+         * Only windows matching the configured environment are applied.
+         */
+        public Builder capacityWindow(String environment, CapacityWindow window) {
+            this.capacityWindows.computeIfAbsent(environment, key -> new ArrayList<>()).add(window);
+            return this;
+        }
+
+        public Builder spotEnabled(boolean spotEnabled) {
+            this.spotEnabled = spotEnabled;
+            return this;
+        }
+
+        public Builder onDemandBase(int onDemandBase) {
+            this.onDemandBase = onDemandBase;
+            return this;
+        }
+
+        public Builder onDemandWeight(int onDemandWeight) {
+            this.onDemandWeight = onDemandWeight;
+            return this;
+        }
+
+        public Builder spotWeight(int spotWeight) {
+            this.spotWeight = spotWeight;
+            return this;
+        }
+
+        public Builder stopTimeoutSeconds(int stopTimeoutSeconds) {
+            this.stopTimeoutSeconds = stopTimeoutSeconds;
+            return this;
+        }
+
+        public Builder deregistrationDelaySeconds(int deregistrationDelaySeconds) {
+            this.deregistrationDelaySeconds = deregistrationDelaySeconds;
+            return this;
+        }
+
+        /**
+         * Scales on event-loop lag and in-flight requests; the metrics are published either way.
+         */
+        public Builder customMetricsEnabled(boolean customMetricsEnabled) {
+            this.customMetricsEnabled = customMetricsEnabled;
+            return this;
+        }
+
+        /**
+         * CloudWatch namespace for app-published metrics; defaults to the service name.
+         */
+        public Builder metricsNamespace(String metricsNamespace) {
+            this.metricsNamespace = metricsNamespace;
+            return this;
+        }
+
+        public Builder eventLoopLagMetricName(String eventLoopLagMetricName) {
+            this.eventLoopLagMetricName = eventLoopLagMetricName;
+            return this;
+        }
+
+        public Builder inFlightMetricName(String inFlightMetricName) {
+            this.inFlightMetricName = inFlightMetricName;
+            return this;
+        }
+
+        public Builder eventLoopLagTargetMs(int eventLoopLagTargetMs) {
+            this.eventLoopLagTargetMs = eventLoopLagTargetMs;
+            return this;
+        }
+
+        public Builder inFlightTargetPerTask(int inFlightTargetPerTask) {
+            this.inFlightTargetPerTask = inFlightTargetPerTask;
+            return this;
+        }
+
+        public Builder metricsPublishIntervalSeconds(int metricsPublishIntervalSeconds) {
+            this.metricsPublishIntervalSeconds = metricsPublishIntervalSeconds;
+            return this;
+        }
+
+        public Builder predictiveScalingEnabled(boolean predictiveScalingEnabled) {
+            this.predictiveScalingEnabled = predictiveScalingEnabled;
+            return this;
+        }
+
+        public Builder predictiveLoadMetric(PredictiveScalingConfig.LoadMetric predictiveLoadMetric) {
+            this.predictiveLoadMetric = predictiveLoadMetric;
+            return this;
+        }
+
+        public Builder predictiveTargetValue(int predictiveTargetValue) {
+            this.predictiveTargetValue = predictiveTargetValue;
+            return this;
+        }
+
+        public Builder predictiveSchedulingBufferSeconds(int predictiveSchedulingBufferSeconds) {
+            this.predictiveSchedulingBufferSeconds = predictiveSchedulingBufferSeconds;
+            return this;
+        }
+
+        /**
+         * Forecast-only (the default) publishes forecasts without acting on them.
+         */
+        public Builder predictiveForecastOnly(boolean predictiveForecastOnly) {
+            this.predictiveForecastOnly = predictiveForecastOnly;
+            return this;
+        }
+
+        public Builder wakeOnRequestEnabled(boolean wakeOnRequestEnabled) {
+            this.wakeOnRequestEnabled = wakeOnRequestEnabled;
+            return this;
+        }
+
+        /**
+         * Priority of the wake listener rule; defaults to one below the service rule. The deploy
+         * fails if another rule on the listener holds it, or sits between the two with the same path.
+         */
+        public Builder wakeListenerRulePriority(int wakeListenerRulePriority) {
+            this.wakeListenerRulePriority = wakeListenerRulePriority;
+            return this;
+        }
+
+        public Builder idleMinutes(int idleMinutes) {
+            this.idleMinutes = idleMinutes;
+            return this;
+        }
+
+        public Builder wakeDesiredCount(int wakeDesiredCount) {
+            this.wakeDesiredCount = wakeDesiredCount;
+            return this;
+        }
+
+        public Builder wakeRetryAfterSeconds(int wakeRetryAfterSeconds) {
+            this.wakeRetryAfterSeconds = wakeRetryAfterSeconds;
+            return this;
+        }
+
         public InfrastructureConfig build() {
             if (serviceName == null) {
                 throw new IllegalStateException("serviceName is required");
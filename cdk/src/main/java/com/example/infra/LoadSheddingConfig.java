@@ -0,0 +1,33 @@
+package com.example.infra;
+
+/**
+ * Value object representing adaptive concurrency limiting of backend calls in the app.
+ * Each Node worker starts at {@code initialLimit} concurrent backend calls and adapts between
+ * {@code minLimit} and {@code maxLimit} from observed latency and failures; calls over the
+ * limit are rejected immediately with {@code shedStatusCode} instead of queueing until timeout.
+ */
+public record LoadSheddingConfig(boolean enabled, Algorithm algorithm, int initialLimit, int minLimit,
+                                 int maxLimit, int shedStatusCode) {
+
+    public enum Algorithm {
+        /** Additive increase while the limit is in use, multiplicative decrease on failures. */
+        AIMD,
+        /** Scales the limit by the ratio of long-term to current latency, growing by a small queue allowance. */
+        GRADIENT
+    }
+
+    public LoadSheddingConfig {
+        if (algorithm == null) {
+            throw new IllegalArgumentException("load shedding algorithm is required");
+        }
+        if (minLimit < 1) {
+            throw new IllegalArgumentException("load shedding minLimit must be positive");
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("load shedding initialLimit must be between minLimit and maxLimit");
+        }
+        if (shedStatusCode != 429 && shedStatusCode != 503) {
+            throw new IllegalArgumentException("load shedding shedStatusCode must be 429 or 503");
+        }
+    }
+}
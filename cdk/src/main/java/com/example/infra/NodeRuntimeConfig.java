@@ -0,0 +1,67 @@
+package com.example.infra;
+
+/**
+ * Value object representing Node.js runtime tuning derived from the task size.
+ * One clustered SSR worker runs per vCPU. The V8 old-space limit is a fraction of the
+ * task memory left after the sidecar reservation, split across workers, and each
+ * worker's libuv thread pool gets its share of the vCPUs. Non-zero overrides take precedence.
+ */
+public record NodeRuntimeConfig(double heapFraction, int sidecarReservedMiB, int maxOldSpaceSizeOverrideMiB,
+                                int uvThreadpoolSizeOverride, int workerConcurrencyOverride) {
+
+    private static final int CPU_UNITS_PER_VCPU = 1024;
+    private static final int UV_THREADS_PER_VCPU = 4;
+    private static final int UV_THREADPOOL_DEFAULT = 4;
+    private static final int UV_THREADPOOL_MAX = 1024;
+
+    public NodeRuntimeConfig {
+        if (heapFraction <= 0 || heapFraction > 1) {
+            throw new IllegalArgumentException("heapFraction must be greater than 0 and at most 1");
+        }
+        if (sidecarReservedMiB < 0) {
+            throw new IllegalArgumentException("sidecarReservedMiB must not be negative");
+        }
+        if (maxOldSpaceSizeOverrideMiB < 0) {
+            throw new IllegalArgumentException("maxOldSpaceSizeOverrideMiB must not be negative");
+        }
+        if (uvThreadpoolSizeOverride < 0 || uvThreadpoolSizeOverride > UV_THREADPOOL_MAX) {
+            throw new IllegalArgumentException("uvThreadpoolSizeOverride must be between 0 and " + UV_THREADPOOL_MAX);
+        }
+        if (workerConcurrencyOverride < 0) {
+            throw new IllegalArgumentException("workerConcurrencyOverride must not be negative");
+        }
+    }
+
+    /**
+     * Number of SSR worker processes (WEB_CONCURRENCY) for a task with the given CPU units.
+     */
+    public int workerConcurrency(int cpuUnits) {
+        if (workerConcurrencyOverride > 0) {
+            return workerConcurrencyOverride;
+        }
+        return Math.max(1, cpuUnits / CPU_UNITS_PER_VCPU);
+    }
+
+    /**
+     * Per-worker V8 old-space limit; NODE_OPTIONS applies to every worker process.
+     */
+    public int maxOldSpaceSizeMiB(int taskMemoryMiB, int cpuUnits) {
+        if (maxOldSpaceSizeOverrideMiB > 0) {
+            return maxOldSpaceSizeOverrideMiB;
+        }
+        return (int) Math.floor((taskMemoryMiB - sidecarReservedMiB) * heapFraction / workerConcurrency(cpuUnits));
+    }
+
+    public int uvThreadpoolSize(int cpuUnits) {
+        if (uvThreadpoolSizeOverride > 0) {
+            return uvThreadpoolSizeOverride;
+        }
+        int vcpus = Math.max(1, (int) Math.ceil((double) cpuUnits / CPU_UNITS_PER_VCPU));
+        int vcpusPerWorker = Math.max(1, vcpus / workerConcurrency(cpuUnits));
+        return Math.min(UV_THREADPOOL_MAX, Math.max(UV_THREADPOOL_DEFAULT, vcpusPerWorker * UV_THREADS_PER_VCPU));
+    }
+
+    public String nodeOptions(int taskMemoryMiB, int cpuUnits) {
+        return "--max-old-space-size=" + maxOldSpaceSizeMiB(taskMemoryMiB, cpuUnits);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.infra;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Single source of truth for the application's SSM parameters.
+ * The stack creates one StringParameter per entry, and {@link ParameterCatalogGenerator}
+ * renders the same entries into the app's TypeScript module and the LocalStack seed data.
+ */
+public final class ParameterCatalog {
+
+    public static final List<ParameterDefinition> PARAMETERS = List.of(
+            new ParameterDefinition("app.description", ParameterDefinition.Type.STRING,
+                    "This application manages a greeting service. "
+                    + "You can create new greetings, look up existing ones by ID, "
+                    + "delete greetings, and browse all stored messages. "
+                    + "It communicates with the Spring Cloud Service API backend.",
+                    "Application description", ParameterDefinition.Reload.STARTUP),
+            new ParameterDefinition("api.backend.url", ParameterDefinition.Type.STRING,
+                    "http://localhost:8080",
+                    "Backend API base URL", ParameterDefinition.Reload.STARTUP),
+            new ParameterDefinition("api.timeout.ms", ParameterDefinition.Type.INTEGER,
+                    "5000",
+                    "Backend API request timeout in milliseconds", ParameterDefinition.Reload.RUNTIME),
+            new ParameterDefinition("api.retry.count", ParameterDefinition.Type.INTEGER,
+                    "3",
+                    "Backend API request retry count", ParameterDefinition.Reload.RUNTIME),
+            new ParameterDefinition("log.level", ParameterDefinition.Type.STRING,
+                    "info",
+                    "Application log level", ParameterDefinition.Reload.STARTUP),
+            new ParameterDefinition("rate.limit.rpm", ParameterDefinition.Type.INTEGER,
+                    "60",
+                    "Rate limit in requests per minute", ParameterDefinition.Reload.RUNTIME),
+            new ParameterDefinition("retry.base.delay.ms", ParameterDefinition.Type.INTEGER,
+                    "100",
+                    "Backend retry base backoff in milliseconds", ParameterDefinition.Reload.RUNTIME),
+            new ParameterDefinition("retry.max.delay.ms", ParameterDefinition.Type.INTEGER,
+                    "2000",
+                    "Backend retry maximum backoff in milliseconds", ParameterDefinition.Reload.RUNTIME),
+            new ParameterDefinition("retry.jitter", ParameterDefinition.Type.STRING,
+                    "full",
+                    "Backend retry jitter (full, equal or none)", ParameterDefinition.Reload.RUNTIME),
+            new ParameterDefinition("retry.status.codes", ParameterDefinition.Type.STRING,
+                    "502,503,504",
+                    "Comma-separated backend status codes that are retried", ParameterDefinition.Reload.RUNTIME),
+            new ParameterDefinition("retry.methods", ParameterDefinition.Type.STRING,
+                    "GET,HEAD,OPTIONS,PUT,DELETE",
+                    "Comma-separated HTTP methods that are retried", ParameterDefinition.Reload.RUNTIME),
+            new ParameterDefinition("retry.budget.percent", ParameterDefinition.Type.INTEGER,
+                    "20",
+                    "Retries allowed as a percentage of backend requests", ParameterDefinition.Reload.RUNTIME));
+
+    private ParameterCatalog() {
+    }
+
+    public static ParameterDefinition get(String key) {
+        return PARAMETERS.stream()
+                .filter(parameter -> parameter.key().equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown parameter " + key));
+    }
+
+    /**
+     * Runtime-tunable parameters and their defaults, in catalog order.
+     */
+    public static Map<String, ParameterDefinition> runtimeParameters() {
+        return PARAMETERS.stream()
+                .filter(parameter -> parameter.reload() == ParameterDefinition.Reload.RUNTIME)
+                .collect(Collectors.toMap(ParameterDefinition::key, parameter -> parameter,
+                        (a, b) -> a, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.infra;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Renders {@link ParameterCatalog} into the files that used to duplicate it by hand:
+ * the app's typed parameter module and the LocalStack seed data.
+ *
+ * Run from the cdk directory after changing the catalog:
+ *   mvn -q compile exec:java -Dexec.mainClass=com.example.infra.ParameterCatalogGenerator
+ */
+public final class ParameterCatalogGenerator {
+
+    static final String TYPESCRIPT_MODULE = "app/src/lib/parameters.generated.ts";
+    static final List<String> SEED_FILES = List.of(
+            "localstack-init/parameters.generated.tsv",
+            ".devcontainer/localstack-init/parameters.generated.tsv");
+
+    private ParameterCatalogGenerator() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        Path root = Path.of(args.length > 0 ? args[0] : "..").toAbsolutePath().normalize();
+
+        write(root.resolve(TYPESCRIPT_MODULE), typeScriptModule(ParameterCatalog.PARAMETERS));
+        for (String seedFile : SEED_FILES) {
+            write(root.resolve(seedFile), seedData(ParameterCatalog.PARAMETERS));
+        }
+    }
+
+    static String typeScriptModule(List<ParameterDefinition> parameters) {
+        StringBuilder ts = new StringBuilder();
+        ts.append("// Generated from cdk/src/main/java/com/example/infra/ParameterCatalog.java.\n");
+        ts.append("// Do not edit; run ParameterCatalogGenerator after changing the catalog.\n\n");
+        ts.append("export type ParameterType = 'string' | 'integer';\n");
+        ts.append("export type ReloadSemantics = 'startup' | 'runtime';\n\n");
+        ts.append("export interface ParameterDefinition {\n");
+        ts.append("  type: ParameterType;\n");
+        ts.append("  defaultValue: string;\n");
+        ts.append("  description: string;\n");
+        ts.append("  reload: ReloadSemantics;\n");
+        ts.append("  envName: string;\n");
+        ts.append("}\n\n");
+        ts.append("export const PARAMETERS = {\n");
+        for (ParameterDefinition parameter : parameters) {
+            ts.append("  ").append(quote(parameter.key())).append(": {\n");
+            ts.append("    type: ").append(quote(parameter.type().typeScriptName())).append(",\n");
+            ts.append("    defaultValue: ").append(quote(parameter.defaultValue())).append(",\n");
+            ts.append("    description: ").append(quote(parameter.description())).append(",\n");
+            ts.append("    reload: ").append(quote(parameter.reload().typeScriptName())).append(",\n");
+            ts.append("    envName: ").append(quote(parameter.environmentName())).append(",\n");
+            ts.append("  },\n");
+        }
+        ts.append("} as const satisfies Record<string, ParameterDefinition>;\n\n");
+        ts.append("export type ParameterName = keyof typeof PARAMETERS;\n\n");
+        ts.append("export type ParameterValue<N extends ParameterName> =\n");
+        ts.append("  (typeof PARAMETERS)[N]['type'] extends 'integer' ? number : string;\n");
+        return ts.toString();
+    }
+
+    /**
+     * Tab-separated key, type and default per line, read by the LocalStack init scripts.
+     */
+    static String seedData(List<ParameterDefinition> parameters) {
+        StringBuilder tsv = new StringBuilder();
+        for (ParameterDefinition parameter : parameters) {
+            tsv.append(parameter.key()).append('\t')
+                    .append(parameter.type().typeScriptName()).append('\t')
+                    .append(parameter.defaultValue()).append('\n');
+        }
+        return tsv.toString();
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        System.out.println("Wrote " + path);
+    }
+}
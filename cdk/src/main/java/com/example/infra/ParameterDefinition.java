@@ -0,0 +1,78 @@
+package com.example.infra;
+
+/**
+ * Value object representing one application parameter stored under /&lt;serviceName&gt;/.
+ * The reload semantics tell the app whether a value is read once at startup or
+ * may change while tasks are running.
+ */
+public record ParameterDefinition(String key, Type type, String defaultValue, String description, Reload reload) {
+
+    public enum Type {
+        STRING("string"),
+        INTEGER("integer");
+
+        private final String typeScriptName;
+
+        Type(String typeScriptName) {
+            this.typeScriptName = typeScriptName;
+        }
+
+        public String typeScriptName() {
+            return typeScriptName;
+        }
+    }
+
+    public enum Reload {
+        /** Read once when the process starts. */
+        STARTUP("startup"),
+        /** Tunable at runtime; the app refreshes it periodically. */
+        RUNTIME("runtime");
+
+        private final String typeScriptName;
+
+        Reload(String typeScriptName) {
+            this.typeScriptName = typeScriptName;
+        }
+
+        public String typeScriptName() {
+            return typeScriptName;
+        }
+    }
+
+    public ParameterDefinition {
+        if (key == null || !key.matches("[a-z][a-z0-9]*(\\.[a-z][a-z0-9]*)*")) {
+            throw new IllegalArgumentException("parameter key must be dot-separated lowercase words: " + key);
+        }
+        if (type == null || reload == null) {
+            throw new IllegalArgumentException("parameter type and reload semantics are required for " + key);
+        }
+        if (defaultValue == null || description == null || description.isBlank()) {
+            throw new IllegalArgumentException("parameter default and description are required for " + key);
+        }
+        if (type == Type.INTEGER) {
+            try {
+                Integer.parseInt(defaultValue);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("default for integer parameter " + key + " is not an integer");
+            }
+        }
+    }
+
+    /**
+     * Environment variable carrying an injected value, e.g. api.timeout.ms becomes API_TIMEOUT_MS.
+     */
+    public String environmentName() {
+        return ParameterInjectionConfig.environmentName(key);
+    }
+
+    /**
+     * CloudFormation construct ID, e.g. api.timeout.ms becomes ApiTimeoutMsParameter.
+     */
+    public String constructId() {
+        StringBuilder id = new StringBuilder();
+        for (String part : key.split("\\.")) {
+            id.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+        }
+        return id.append("Parameter").toString();
+    }
+}
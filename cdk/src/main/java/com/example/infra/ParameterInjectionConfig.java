@@ -0,0 +1,16 @@
+package com.example.infra;
+
+/**
+ * Value object representing how SSM parameters reach the container.
+ * When enabled, the stack's parameters are injected as ECS secrets at task start
+ * and the app only falls back to SSM GetParameter for values missing from its environment.
+ */
+public record ParameterInjectionConfig(boolean enabled) {
+
+    /**
+     * Environment variable name for a parameter key, e.g. api.timeout.ms becomes API_TIMEOUT_MS.
+     */
+    public static String environmentName(String parameterKey) {
+        return parameterKey.toUpperCase().replace('.', '_');
+    }
+}
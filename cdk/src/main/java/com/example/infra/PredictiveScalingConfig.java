@@ -0,0 +1,45 @@
+package com.example.infra;
+
+/**
+ * Value object representing the opt-in ECS predictive scaling policy.
+ * The forecast is learned from the load metric; in forecast-only mode it is
+ * published for evaluation without changing capacity.
+ */
+public record PredictiveScalingConfig(boolean enabled, LoadMetric loadMetric, int targetValue,
+                                      int schedulingBufferSeconds, boolean forecastOnly) {
+
+    /**
+     * Predefined metric pair the forecast is based on.
+     */
+    public enum LoadMetric {
+        CPU("ECSServiceCPUUtilization"),
+        MEMORY("ECSServiceMemoryUtilization"),
+        ALB_REQUEST_COUNT("ALBRequestCount");
+
+        private final String predefinedMetricType;
+
+        LoadMetric(String predefinedMetricType) {
+            this.predefinedMetricType = predefinedMetricType;
+        }
+
+        public String predefinedMetricType() {
+            return predefinedMetricType;
+        }
+    }
+
+    public PredictiveScalingConfig {
+        if (loadMetric == null) {
+            throw new IllegalArgumentException("loadMetric is required");
+        }
+        if (targetValue < 1) {
+            throw new IllegalArgumentException("predictive scaling targetValue must be positive");
+        }
+        if (schedulingBufferSeconds < 0 || schedulingBufferSeconds > 3600) {
+            throw new IllegalArgumentException("schedulingBufferSeconds must be between 0 and 3600");
+        }
+    }
+
+    public String mode() {
+        return forecastOnly ? "ForecastOnly" : "ForecastAndScale";
+    }
+}
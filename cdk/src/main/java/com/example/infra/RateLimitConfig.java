@@ -0,0 +1,24 @@
+package com.example.infra;
+
+/**
+ * Value object representing the shared rate limiter store: an ElastiCache Serverless Valkey
+ * cache reachable only from the service's tasks. The app enforces rate.limit.rpm per client
+ * with a token bucket held in the cache, so the limit is the same however many tasks run.
+ */
+public record RateLimitConfig(boolean enabled, String engineMajorVersion, int maxDataStorageGb,
+                              int maxEcpuPerSecond) {
+
+    public static final int VALKEY_PORT = 6379;
+
+    public RateLimitConfig {
+        if (engineMajorVersion == null || !engineMajorVersion.matches("\\d+")) {
+            throw new IllegalArgumentException("valkey engineMajorVersion must be a major version number");
+        }
+        if (maxDataStorageGb < 1) {
+            throw new IllegalArgumentException("valkey maxDataStorageGb must be at least 1");
+        }
+        if (maxEcpuPerSecond < 1000 || maxEcpuPerSecond > 15_000_000) {
+            throw new IllegalArgumentException("valkey maxEcpuPerSecond must be between 1000 and 15000000");
+        }
+    }
+}
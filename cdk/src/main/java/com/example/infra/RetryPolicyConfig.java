@@ -0,0 +1,68 @@
+package com.example.infra;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Value object representing the app's backend retry policy, published as SSM parameters.
+ * Retries back off exponentially from {@code baseDelayMillis} up to {@code maxDelayMillis}
+ * with jitter, apply only to the listed status codes and (idempotent) methods, and are
+ * limited per process to {@code budgetPercent} of requests so a brownout is not amplified.
+ */
+public record RetryPolicyConfig(int baseDelayMillis, int maxDelayMillis, Jitter jitter,
+                                List<Integer> retryableStatusCodes, List<String> retryableMethods,
+                                int budgetPercent) {
+
+    public enum Jitter {
+        /** Uniform between zero and the exponential delay. */
+        FULL,
+        /** Half the exponential delay plus a uniform share of the other half. */
+        EQUAL,
+        /** The exponential delay unchanged. */
+        NONE
+    }
+
+    private static final List<String> NON_IDEMPOTENT_METHODS = List.of("POST", "PATCH");
+
+    public RetryPolicyConfig {
+        if (baseDelayMillis < 1) {
+            throw new IllegalArgumentException("retry baseDelayMillis must be positive");
+        }
+        if (maxDelayMillis < baseDelayMillis) {
+            throw new IllegalArgumentException("retry maxDelayMillis must not be less than baseDelayMillis");
+        }
+        if (jitter == null) {
+            throw new IllegalArgumentException("retry jitter is required");
+        }
+        retryableStatusCodes = List.copyOf(retryableStatusCodes);
+        if (retryableStatusCodes.stream().anyMatch(code -> code < 400 || code > 599)) {
+            throw new IllegalArgumentException("retryable status codes must be 4xx or 5xx");
+        }
+        retryableMethods = retryableMethods.stream().map(String::toUpperCase).toList();
+        if (retryableMethods.stream().anyMatch(NON_IDEMPOTENT_METHODS::contains)) {
+            throw new IllegalArgumentException("retryable methods must be idempotent; "
+                    + String.join(" and ", NON_IDEMPOTENT_METHODS) + " are not");
+        }
+        if (budgetPercent < 0 || budgetPercent > 100) {
+            throw new IllegalArgumentException("retry budgetPercent must be between 0 and 100");
+        }
+    }
+
+    /**
+     * Catalog parameter values for this policy, keyed by parameter key.
+     */
+    public Map<String, String> parameterValues() {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("retry.base.delay.ms", String.valueOf(baseDelayMillis));
+        values.put("retry.max.delay.ms", String.valueOf(maxDelayMillis));
+        values.put("retry.jitter", jitter.name().toLowerCase());
+        values.put("retry.status.codes", retryableStatusCodes.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(",")));
+        values.put("retry.methods", String.join(",", retryableMethods));
+        values.put("retry.budget.percent", String.valueOf(budgetPercent));
+        return values;
+    }
+}
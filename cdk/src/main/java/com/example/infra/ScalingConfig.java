@@ -0,0 +1,62 @@
+package com.example.infra;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Value object representing ECS service auto scaling settings.
+ * Target tracking on ALB RequestCountPerTarget, CPU and memory, a CPU step
+ * scaling burst policy and scheduled capacity windows are attached only when enabled.
+ */
+public record ScalingConfig(boolean enabled, int minCapacity, int maxCapacity, int requestsPerTarget,
+                            int scaleInCooldownSeconds, int scaleOutCooldownSeconds,
+                            int cpuTargetPercent, int memoryTargetPercent,
+                            int burstCpuThresholdPercent, int burstScaleOutTasks,
+                            int severeCpuThresholdPercent, int severeScaleOutTasks,
+                            List<CapacityWindow> capacityWindows) {
+
+    public ScalingConfig {
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("minCapacity must not be negative");
+        }
+        if (maxCapacity < 1 || maxCapacity < minCapacity) {
+            throw new IllegalArgumentException("maxCapacity must be at least 1 and not less than minCapacity");
+        }
+        if (requestsPerTarget < 1) {
+            throw new IllegalArgumentException("requestsPerTarget must be positive");
+        }
+        if (scaleInCooldownSeconds < 0 || scaleOutCooldownSeconds < 0) {
+            throw new IllegalArgumentException("scaling cooldowns must not be negative");
+        }
+        if (!isPercent(cpuTargetPercent) || !isPercent(memoryTargetPercent)) {
+            throw new IllegalArgumentException("CPU and memory targets must be between 1 and 100 percent");
+        }
+        if (!isPercent(burstCpuThresholdPercent) || !isPercent(severeCpuThresholdPercent)
+                || severeCpuThresholdPercent <= burstCpuThresholdPercent) {
+            throw new IllegalArgumentException(
+                    "burst CPU thresholds must be between 1 and 100 percent, severe above burst");
+        }
+        if (burstCpuThresholdPercent <= cpuTargetPercent) {
+            throw new IllegalArgumentException("burstCpuThresholdPercent must be above cpuTargetPercent");
+        }
+        if (burstScaleOutTasks < 1 || severeScaleOutTasks < burstScaleOutTasks) {
+            throw new IllegalArgumentException(
+                    "burstScaleOutTasks must be positive and not more than severeScaleOutTasks");
+        }
+        capacityWindows = capacityWindows == null ? List.of() : List.copyOf(capacityWindows);
+        if (!enabled && !capacityWindows.isEmpty()) {
+            throw new IllegalArgumentException("capacity windows require auto scaling to be enabled");
+        }
+        Set<String> windowNames = new HashSet<>();
+        for (CapacityWindow window : capacityWindows) {
+            if (!windowNames.add(window.name())) {
+                throw new IllegalArgumentException("duplicate capacity window name: " + window.name());
+            }
+        }
+    }
+
+    private static boolean isPercent(int value) {
+        return value >= 1 && value <= 100;
+    }
+}
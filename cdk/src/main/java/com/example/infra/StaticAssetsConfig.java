@@ -0,0 +1,18 @@
+package com.example.infra;
+
+/**
+ * Value object representing static asset offload: the Astro client build at {@code assetPath}
+ * (relative to the CDK app directory) is deployed to a versioned S3 bucket that CloudFront
+ * reads through Origin Access Control, so the SSR tasks only serve dynamic routes.
+ */
+public record StaticAssetsConfig(boolean enabled, String assetPath, int noncurrentVersionRetentionDays) {
+
+    public StaticAssetsConfig {
+        if (assetPath == null || assetPath.isBlank()) {
+            throw new IllegalArgumentException("static assetPath is required");
+        }
+        if (noncurrentVersionRetentionDays < 1) {
+            throw new IllegalArgumentException("static noncurrentVersionRetentionDays must be positive");
+        }
+    }
+}
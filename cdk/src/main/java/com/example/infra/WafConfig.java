@@ -0,0 +1,43 @@
+package com.example.infra;
+
+import java.util.Set;
+
+/**
+ * Value object representing the WAFv2 web ACL in front of the service.
+ * Requests under the service's {@code /api/} prefix are blocked per client IP once they exceed
+ * rate.limit.rpm over {@code evaluationWindowSeconds}; AWS Bot Control inspects the service's
+ * paths at {@code botControlInspectionLevel}. With the CloudFront distribution the ACL is
+ * attached to it; without, it is attached to the ALB, which takes a single web ACL for every
+ * service behind it, so that requires {@code albDedicated}.
+ */
+public record WafConfig(boolean enabled, int evaluationWindowSeconds,
+                        BotControlInspectionLevel botControlInspectionLevel, boolean albDedicated) {
+
+    /** Smallest request limit WAF accepts for a rate-based rule. */
+    public static final int MIN_RATE_LIMIT = 10;
+
+    private static final Set<Integer> EVALUATION_WINDOWS = Set.of(60, 120, 300, 600);
+
+    public enum BotControlInspectionLevel {
+        /** Signature-based detection of self-identifying bots; the cheaper tier. */
+        COMMON,
+        /** Adds browser interrogation and behavioural detection of bots that hide themselves. */
+        TARGETED
+    }
+
+    public WafConfig {
+        if (!EVALUATION_WINDOWS.contains(evaluationWindowSeconds)) {
+            throw new IllegalArgumentException("waf evaluationWindowSeconds must be one of 60, 120, 300 or 600");
+        }
+        if (botControlInspectionLevel == null) {
+            throw new IllegalArgumentException("waf botControlInspectionLevel is required");
+        }
+    }
+
+    /**
+     * Rate-based rule limit for the evaluation window equivalent to {@code requestsPerMinute}.
+     */
+    public long rateLimit(int requestsPerMinute) {
+        return Math.max(MIN_RATE_LIMIT, (long) requestsPerMinute * evaluationWindowSeconds / 60);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.infra;
+
+/**
+ * Value object representing scale-to-zero with wake-on-request for non-production environments.
+ * A lower-priority listener rule sends traffic to a small Lambda while the service rule is parked;
+ * the Lambda raises the desired count and an idle alarm returns the service to zero. Neither
+ * rule's priority changes after deployment.
+ */
+public record WakeOnRequestConfig(boolean enabled, int listenerRulePriority, int idleMinutes,
+                                  int wakeDesiredCount, int retryAfterSeconds) {
+
+    public WakeOnRequestConfig {
+        if (listenerRulePriority < 1 || listenerRulePriority > 50000) {
+            throw new IllegalArgumentException("wake listenerRulePriority must be between 1 and 50000");
+        }
+        if (idleMinutes < 1) {
+            throw new IllegalArgumentException("idleMinutes must be positive");
+        }
+        if (wakeDesiredCount < 1) {
+            throw new IllegalArgumentException("wakeDesiredCount must be positive");
+        }
+        if (retryAfterSeconds < 1) {
+            throw new IllegalArgumentException("retryAfterSeconds must be positive");
+        }
+    }
+}
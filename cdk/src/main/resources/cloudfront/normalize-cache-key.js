@@ -0,0 +1,54 @@
+// Viewer-request cache-key normalisation (inlined by AstroWebUiStack as a CloudFront Function,
+// runtime cloudfront-js-2.0: no network, no require of npm modules, 10 KB source limit).
+// Strips tracking query params and sorts the rest, collapses Accept-Encoding to br/gzip, and,
+// when lowercasePaths is on, lower-cases paths outside the case-sensitive prefixes. Lower-casing
+// rewrites the URI the origin receives, so it only suits apps whose routes are all lower-case.
+const CONFIG = __CACHE_KEY_CONFIG__;
+
+function isStripped(name) {
+  const lower = name.toLowerCase();
+  return CONFIG.strippedQueryParams.some((param) => (param.endsWith('*')
+    ? lower.startsWith(param.slice(0, -1))
+    : lower === param));
+}
+
+function normalizeQuerystring(querystring) {
+  const normalized = {};
+  Object.keys(querystring)
+    .filter((name) => !isStripped(name))
+    .sort()
+    .forEach((name) => {
+      normalized[name] = querystring[name];
+    });
+  return normalized;
+}
+
+// Same buckets CloudFront compresses into: br, gzip, or identity
+function normalizeAcceptEncoding(headers) {
+  const header = headers['accept-encoding'];
+  if (!header) return;
+  const accepted = header.value.toLowerCase().split(',')
+    .map((part) => part.trim().split(';'))
+    .filter((part) => !part.slice(1).some((param) => /^\s*q=0(\.0*)?\s*$/.test(param)))
+    .map((part) => part[0].trim());
+  const encodings = ['br', 'gzip'].filter((encoding) => accepted.indexOf(encoding) !== -1);
+  if (encodings.length === 0) {
+    delete headers['accept-encoding'];
+  } else {
+    headers['accept-encoding'] = { value: encodings.join(',') };
+  }
+}
+
+function normalizeUri(uri) {
+  if (!CONFIG.lowercasePaths) return uri;
+  if (CONFIG.caseSensitivePathPrefixes.some((prefix) => uri.startsWith(prefix))) return uri;
+  return uri.toLowerCase();
+}
+
+function handler(event) {
+  const request = event.request;
+  request.uri = normalizeUri(request.uri);
+  request.querystring = normalizeQuerystring(request.querystring);
+  normalizeAcceptEncoding(request.headers);
+  return request;
+}
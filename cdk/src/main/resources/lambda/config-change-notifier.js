@@ -0,0 +1,76 @@
+// Config-change notifier (inlined by AstroWebUiStack).
+// EventBridge "Parameter Store Change" under /<service>/: POST the change to the admin
+// port of every running task so it reloads cached config, then publish EMF metrics.
+const ecsSdk = require('@aws-sdk/client-ecs');
+
+const ecs = new ecsSdk.ECSClient({});
+const env = process.env;
+
+async function runningTaskIps() {
+  const taskArns = [];
+  let nextToken;
+  do {
+    const page = await ecs.send(new ecsSdk.ListTasksCommand({
+      cluster: env.CLUSTER_NAME, serviceName: env.SERVICE_NAME, desiredStatus: 'RUNNING', nextToken,
+    }));
+    taskArns.push(...page.taskArns);
+    nextToken = page.nextToken;
+  } while (nextToken);
+
+  const ips = [];
+  // DescribeTasks accepts at most 100 tasks per call
+  for (let i = 0; i < taskArns.length; i += 100) {
+    const { tasks } = await ecs.send(new ecsSdk.DescribeTasksCommand({
+      cluster: env.CLUSTER_NAME, tasks: taskArns.slice(i, i + 100),
+    }));
+    for (const task of tasks) {
+      const eni = task.attachments?.find((a) => a.type === 'ElasticNetworkInterface');
+      const ip = eni?.details?.find((d) => d.name === 'privateIPv4Address')?.value;
+      if (ip) ips.push(ip);
+    }
+  }
+  return ips;
+}
+
+async function notify(ip, body) {
+  const response = await fetch(`http://${ip}:${env.ADMIN_PORT}/config-refresh`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body,
+    signal: AbortSignal.timeout(Number(env.NOTIFY_TIMEOUT_MS)),
+  });
+  if (!response.ok) throw new Error(`${ip} returned ${response.status}`);
+}
+
+exports.handler = async (event) => {
+  const changedAt = Date.parse(event.time);
+  const body = JSON.stringify({ name: event.detail.name, operation: event.detail.operation, changedAt });
+
+  const ips = await runningTaskIps();
+  const results = await Promise.allSettled(ips.map((ip) => notify(ip, body)));
+  const failed = results.filter((r) => r.status === 'rejected');
+  for (const failure of failed) {
+    console.error(JSON.stringify({ msg: 'Task notification failed', error: String(failure.reason) }));
+  }
+
+  // EventBridge timestamps have second precision, so latency is accurate to about a second
+  console.log(JSON.stringify({
+    _aws: {
+      Timestamp: Date.now(),
+      CloudWatchMetrics: [{
+        Namespace: env.METRICS_NAMESPACE,
+        Dimensions: [['ServiceName']],
+        Metrics: [
+          { Name: 'ConfigNotifyLatency', Unit: 'Milliseconds' },
+          { Name: 'ConfigTasksNotified', Unit: 'Count' },
+          { Name: 'ConfigTaskNotifyFailures', Unit: 'Count' },
+        ],
+      }],
+    },
+    ServiceName: env.SERVICE_NAME,
+    ConfigNotifyLatency: Date.now() - changedAt,
+    ConfigTasksNotified: ips.length - failed.length,
+    ConfigTaskNotifyFailures: failed.length,
+    parameter: event.detail.name,
+  }));
+};
@@ -0,0 +1,143 @@
+// Wake-on-request for scale-to-zero environments (inlined by AstroWebUiStack).
+// Both listener rules keep their CloudFormation priorities. While the service is asleep its
+// rule carries a source-ip condition no client can match, so requests fall through to the
+// wake rule; this function adds or removes that condition.
+// ALB request: raise desired count and answer with a warming page.
+// Scheduled check: reconcile routing with the service's desired count and target health.
+// SNS idle alarm: scale the service to zero, then park the service rule.
+// CloudFormation: check the wake rule priority against the listener's other rules.
+const https = require('https');
+const ecsSdk = require('@aws-sdk/client-ecs');
+const elbSdk = require('@aws-sdk/client-elastic-load-balancing-v2');
+
+const ecs = new ecsSdk.ECSClient({});
+const elb = new elbSdk.ElasticLoadBalancingV2Client({});
+const env = process.env;
+
+const forwardsTo = (rule, arn) => rule.Actions.some((a) => a.Type === 'forward'
+  && (a.TargetGroupArn === arn || (a.ForwardConfig?.TargetGroups ?? []).some((t) => t.TargetGroupArn === arn)));
+
+const matchesPath = (rule) => rule.Conditions.some((c) => c.Field === 'path-pattern'
+  && (c.PathPatternConfig?.Values ?? c.Values ?? []).includes(env.PATH_PATTERN));
+
+async function routeTo(target) {
+  const { Rules } = await elb.send(new elbSdk.DescribeRulesCommand({ RuleArns: [env.SERVICE_RULE_ARN] }));
+  const parked = Rules[0].Conditions.some((c) => c.Field === 'source-ip');
+  if (parked === (target === 'wake')) return;
+  const conditions = [{ Field: 'path-pattern', PathPatternConfig: { Values: [env.PATH_PATTERN] } }];
+  if (target === 'wake') {
+    conditions.push({ Field: 'source-ip', SourceIpConfig: { Values: [env.PARKED_SOURCE_IP] } });
+  }
+  await elb.send(new elbSdk.ModifyRuleCommand({ RuleArn: env.SERVICE_RULE_ARN, Conditions: conditions }));
+  console.log(JSON.stringify({ msg: 'Listener routing switched', target }));
+}
+
+async function setDesiredCount(desiredCount) {
+  await ecs.send(new ecsSdk.UpdateServiceCommand({
+    cluster: env.CLUSTER_NAME, service: env.SERVICE_NAME, desiredCount,
+  }));
+  console.log(JSON.stringify({ msg: 'Desired count updated', desiredCount }));
+}
+
+async function currentDesiredCount() {
+  const { services } = await ecs.send(new ecsSdk.DescribeServicesCommand({
+    cluster: env.CLUSTER_NAME, services: [env.SERVICE_NAME],
+  }));
+  return services[0]?.desiredCount ?? 0;
+}
+
+async function hasHealthyTarget() {
+  const { TargetHealthDescriptions } = await elb.send(
+    new elbSdk.DescribeTargetHealthCommand({ TargetGroupArn: env.TARGET_GROUP_ARN }));
+  return TargetHealthDescriptions.some((t) => t.TargetHealth.State === 'healthy');
+}
+
+// Routing follows the desired count, which the idle handler sets to 0 before parking the rule:
+// a check that interleaves with it either parks the rule itself or is corrected a minute later.
+// Draining targets can still report healthy, so a desired count of 0 always parks.
+async function reconcile() {
+  const desiredCount = await currentDesiredCount();
+  await routeTo(desiredCount > 0 && await hasHealthyTarget() ? 'service' : 'wake');
+  return desiredCount;
+}
+
+async function checkWakePriority(wakeTargetGroupArn) {
+  const rules = [];
+  let marker;
+  do {
+    const page = await elb.send(new elbSdk.DescribeRulesCommand({ ListenerArn: env.LISTENER_ARN, Marker: marker }));
+    rules.push(...page.Rules);
+    marker = page.NextMarker;
+  } while (marker);
+
+  const servicePriority = Number(env.SERVICE_RULE_PRIORITY);
+  const wakePriority = Number(env.WAKE_RULE_PRIORITY);
+  const conflicts = rules.filter((r) => !r.IsDefault && r.RuleArn !== env.SERVICE_RULE_ARN
+    && !forwardsTo(r, wakeTargetGroupArn)).filter((r) => {
+    const priority = Number(r.Priority);
+    return priority === wakePriority
+      || (priority > servicePriority && priority < wakePriority && matchesPath(r));
+  });
+  if (conflicts.length > 0) {
+    throw new Error(`wake rule priority ${wakePriority} collides with, or is shadowed by, listener rules `
+      + conflicts.map((r) => `${r.RuleArn} (priority ${r.Priority})`).join(', '));
+  }
+}
+
+function respond(event, status, reason) {
+  const body = JSON.stringify({
+    Status: status,
+    Reason: reason,
+    PhysicalResourceId: event.PhysicalResourceId ?? 'wake-rule-priority-check',
+    StackId: event.StackId,
+    RequestId: event.RequestId,
+    LogicalResourceId: event.LogicalResourceId,
+  });
+  return new Promise((resolve, reject) => {
+    const req = https.request(event.ResponseURL, {
+      method: 'PUT', headers: { 'Content-Type': '', 'Content-Length': Buffer.byteLength(body) },
+    }, (res) => {
+      res.resume();
+      res.on('end', resolve);
+    });
+    req.on('error', reject);
+    req.end(body);
+  });
+}
+
+const warmingPage = (retryAfter) => `<!doctype html><html lang="en"><head><meta charset="UTF-8">
+<meta http-equiv="refresh" content="${retryAfter}"><title>Warming up</title></head>
+<body><h1>Warming up</h1><p>The service is starting. This page retries in ${retryAfter} seconds.</p></body></html>`;
+
+exports.handler = async (event) => {
+  if (event.RequestType) {
+    try {
+      if (event.RequestType !== 'Delete') await checkWakePriority(event.ResourceProperties.WakeTargetGroupArn);
+      await respond(event, 'SUCCESS', 'OK');
+    } catch (err) {
+      await respond(event, 'FAILED', err.message);
+    }
+    return;
+  }
+
+  if (event.Records) {
+    await setDesiredCount(0);
+    await routeTo('wake');
+    return;
+  }
+
+  const desiredCount = await reconcile();
+  if (event.source === 'aws.events') return;
+
+  if (desiredCount < Number(env.WAKE_DESIRED_COUNT)) {
+    await setDesiredCount(Number(env.WAKE_DESIRED_COUNT));
+  }
+
+  return {
+    statusCode: 503,
+    statusDescription: '503 Service Unavailable',
+    isBase64Encoded: false,
+    headers: { 'Content-Type': 'text/html', 'Cache-Control': 'no-store', 'Retry-After': env.RETRY_AFTER_SECONDS },
+    body: warmingPage(env.RETRY_AFTER_SECONDS),
+  };
+};
@@ -1,16 +1,24 @@
 package com.example.infra;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import software.amazon.awscdk.App;
 import software.amazon.awscdk.Environment;
 import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.assertions.Match;
 import software.amazon.awscdk.assertions.Template;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AstroWebUiStackTest {
 
@@ -96,6 +104,7 @@ class AstroWebUiStackTest {
         assertEquals(512, config.getContainerConfig().memoryMiB());
         assertEquals(0, config.getContainerConfig().desiredCount());
         assertEquals("latest", config.getContainerConfig().imageTag());
+        assertEquals(ContainerConfig.Architecture.X86_64, config.getContainerConfig().architecture());
         assertEquals("/*", config.getRoutingConfig().pathPattern());
         assertEquals("/api/health", config.getRoutingConfig().healthCheckPath());
         assertEquals(200, config.getRoutingConfig().listenerRulePriority());
@@ -120,6 +129,1293 @@ class AstroWebUiStackTest {
         template.resourceCountIs("AWS::DynamoDB::Table", 0);
     }
 
+    @Test
+    void givenDefaultConfig_whenStackSynthesized_thenNoAutoScalingResourcesAreCreated() {
+        Template template = createTemplateWithDefaultConfig();
+
+        template.resourceCountIs("AWS::ApplicationAutoScaling::ScalableTarget", 0);
+        template.resourceCountIs("AWS::ApplicationAutoScaling::ScalingPolicy", 0);
+    }
+
+    @Test
+    void givenAutoScalingEnabled_whenStackSynthesized_thenRequestCountTargetTrackingIsCreated() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .autoScalingEnabled(true)
+                .minCapacity(2)
+                .maxCapacity(10)
+                .requestsPerTarget(300)
+                .scaleInCooldownSeconds(240)
+                .scaleOutCooldownSeconds(30)
+                .build());
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalableTarget", Map.of(
+                "MinCapacity", 2,
+                "MaxCapacity", 10,
+                "ScalableDimension", "ecs:service:DesiredCount",
+                "ServiceNamespace", "ecs"
+        ));
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalingPolicy", Map.of(
+                "PolicyType", "TargetTrackingScaling",
+                "TargetTrackingScalingPolicyConfiguration", Map.of(
+                        "PredefinedMetricSpecification", Map.of(
+                                "PredefinedMetricType", "ALBRequestCountPerTarget"
+                        ),
+                        "TargetValue", 300,
+                        "ScaleInCooldown", 240,
+                        "ScaleOutCooldown", 30
+                )
+        ));
+    }
+
+    @Test
+    void givenAutoScalingEnabled_whenStackSynthesized_thenCpuAndMemoryTargetTrackingAreCreated() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .autoScalingEnabled(true)
+                .cpuTargetPercent(55)
+                .memoryTargetPercent(70)
+                .build());
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalingPolicy", Map.of(
+                "PolicyType", "TargetTrackingScaling",
+                "TargetTrackingScalingPolicyConfiguration", Map.of(
+                        "PredefinedMetricSpecification", Map.of(
+                                "PredefinedMetricType", "ECSServiceAverageCPUUtilization"
+                        ),
+                        "TargetValue", 55
+                )
+        ));
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalingPolicy", Map.of(
+                "PolicyType", "TargetTrackingScaling",
+                "TargetTrackingScalingPolicyConfiguration", Map.of(
+                        "PredefinedMetricSpecification", Map.of(
+                                "PredefinedMetricType", "ECSServiceAverageMemoryUtilization"
+                        ),
+                        "TargetValue", 70
+                )
+        ));
+    }
+
+    @Test
+    void givenAutoScalingEnabled_whenStackSynthesized_thenCpuBurstStepScalingIsCreated() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .autoScalingEnabled(true)
+                .burstCpuThresholdPercent(80)
+                .burstScaleOutTasks(3)
+                .severeCpuThresholdPercent(90)
+                .severeScaleOutTasks(6)
+                .build());
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalingPolicy", Map.of(
+                "PolicyType", "StepScaling",
+                "StepScalingPolicyConfiguration", Map.of(
+                        "AdjustmentType", "ChangeInCapacity",
+                        "StepAdjustments", List.of(
+                                Map.of("MetricIntervalLowerBound", 0,
+                                        "MetricIntervalUpperBound", 10,
+                                        "ScalingAdjustment", 3),
+                                Map.of("MetricIntervalLowerBound", 10,
+                                        "ScalingAdjustment", 6)
+                        )
+                )
+        ));
+
+        template.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of(
+                "ComparisonOperator", "GreaterThanOrEqualToThreshold",
+                "MetricName", "CPUUtilization",
+                "Namespace", "AWS/ECS",
+                "Threshold", 80
+        ));
+    }
+
+    @Test
+    void givenSevereThresholdBelowBurstThreshold_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .burstCpuThresholdPercent(90)
+                .severeCpuThresholdPercent(85);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenCapacityWindowsForEnvironment_whenStackSynthesized_thenScheduledActionsAreCreated() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .autoScalingEnabled(true)
+                .capacityWindow("dev", new CapacityWindow(
+                        "morning-peak", "0 7 ? * MON-FRI *", 4, 12, "Europe/Madrid"))
+                .capacityWindow("dev", new CapacityWindow(
+                        "overnight", "0 22 * * ? *", 0, 1))
+                .capacityWindow("prod", new CapacityWindow(
+                        "prod-only", "0 6 * * ? *", 10, 20))
+                .build());
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalableTarget", Map.of(
+                "ScheduledActions", List.of(
+                        Map.of(
+                                "ScheduledActionName", "Schedule-morning-peak",
+                                "Schedule", "cron(0 7 ? * MON-FRI *)",
+                                "Timezone", "Europe/Madrid",
+                                "ScalableTargetAction", Map.of("MinCapacity", 4, "MaxCapacity", 12)
+                        ),
+                        Map.of(
+                                "ScheduledActionName", "Schedule-overnight",
+                                "Schedule", "cron(0 22 * * ? *)",
+                                "ScalableTargetAction", Map.of("MinCapacity", 0, "MaxCapacity", 1)
+                        )
+                )
+        ));
+    }
+
+    @Test
+    void givenCapacityWindowWithoutAutoScaling_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .capacityWindow("dev", new CapacityWindow("morning-peak", "0 7 ? * MON-FRI *", 4, 12));
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenDefaultConfig_whenStackSynthesized_thenDrainingSettingsAreApplied() {
+        Template template = createTemplateWithDefaultConfig();
+
+        template.hasResourceProperties("AWS::ElasticLoadBalancingV2::TargetGroup", Map.of(
+                "TargetGroupAttributes", Match.arrayWith(List.of(Map.of(
+                        "Key", "deregistration_delay.timeout_seconds",
+                        "Value", "30"
+                )))
+        ));
+
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "StopTimeout", 30,
+                        "Environment", Match.arrayWith(List.of(Map.of(
+                                "Name", "SHUTDOWN_TIMEOUT_MS",
+                                "Value", "25000"
+                        )))
+                ))))
+        ));
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Environment", Match.arrayWith(List.of(Map.of(
+                                "Name", "SHUTDOWN_ACCEPT_MS",
+                                "Value", "12500"
+                        )))
+                ))))
+        ));
+    }
+
+    @Test
+    void givenSpotEnabled_whenStackSynthesized_thenCapacityProviderStrategyIsUsed() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .spotEnabled(true)
+                .onDemandBase(2)
+                .onDemandWeight(1)
+                .spotWeight(4)
+                .build());
+
+        template.hasResourceProperties("AWS::ECS::Service", Map.of(
+                "CapacityProviderStrategy", List.of(
+                        Map.of("CapacityProvider", "FARGATE", "Base", 2, "Weight", 1),
+                        Map.of("CapacityProvider", "FARGATE_SPOT", "Weight", 4)
+                ),
+                "LaunchType", Match.absent()
+        ));
+    }
+
+    @Test
+    void givenSpotEnabled_whenStackSynthesized_thenInterruptionStopsAreCounted() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .spotEnabled(true)
+                .build());
+
+        template.hasResourceProperties("AWS::Events::Rule", Map.of(
+                "EventPattern", Map.of(
+                        "source", List.of("aws.ecs"),
+                        "detail-type", List.of("ECS Task State Change"),
+                        "detail", Map.of(
+                                "group", List.of("service:" + DEFAULT_SERVICE_NAME),
+                                "stopCode", List.of("SpotInterruption")
+                        )
+                )
+        ));
+
+        template.hasResourceProperties("AWS::Logs::MetricFilter", Map.of(
+                "MetricTransformations", List.of(Map.of(
+                        "MetricNamespace", DEFAULT_SERVICE_NAME,
+                        "MetricName", "SpotInterruptions",
+                        "MetricValue", "1"
+                ))
+        ));
+    }
+
+    @Test
+    void givenSpotDrainingLongerThanInterruptionNotice_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .spotEnabled(true)
+                .deregistrationDelaySeconds(90)
+                .stopTimeoutSeconds(60);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenArm64Architecture_whenStackSynthesized_thenTaskRunsOnGraviton() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .architecture(ContainerConfig.Architecture.ARM64)
+                .build());
+
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "RuntimePlatform", Map.of(
+                        "CpuArchitecture", "ARM64",
+                        "OperatingSystemFamily", "LINUX"
+                )
+        ));
+    }
+
+    @Test
+    void givenImageTagForOtherArchitecture_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .architecture(ContainerConfig.Architecture.ARM64)
+                .imageTag("1.4.0-amd64");
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenCustomMetricsEnabled_whenStackSynthesized_thenEmfSettingsArePassedToContainer() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .customMetricsEnabled(true)
+                .metricsNamespace("WebUi/Ssr")
+                .build());
+
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Environment", Match.arrayWith(List.of(
+                                Map.of("Name", "METRICS_NAMESPACE", "Value", "WebUi/Ssr")
+                        ))
+                ))))
+        ));
+    }
+
+    @Test
+    void givenCustomMetricsAndAutoScalingEnabled_whenStackSynthesized_thenCustomMetricTargetTrackingIsCreated() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .autoScalingEnabled(true)
+                .customMetricsEnabled(true)
+                .eventLoopLagTargetMs(40)
+                .inFlightTargetPerTask(25)
+                .build());
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalingPolicy", Map.of(
+                "TargetTrackingScalingPolicyConfiguration", Map.of(
+                        "CustomizedMetricSpecification", Map.of(
+                                "MetricName", "EventLoopLagP99",
+                                "Namespace", DEFAULT_SERVICE_NAME,
+                                "Dimensions", List.of(Map.of("Name", "ServiceName", "Value", DEFAULT_SERVICE_NAME)),
+                                "Statistic", "Average"
+                        ),
+                        "TargetValue", 40
+                )
+        ));
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalingPolicy", Map.of(
+                "TargetTrackingScalingPolicyConfiguration", Map.of(
+                        "CustomizedMetricSpecification", Map.of(
+                                "MetricName", "InFlightRequests"
+                        ),
+                        "TargetValue", 25
+                )
+        ));
+    }
+
+    @Test
+    void givenPredictiveScalingEnabled_whenStackSynthesized_thenPredictivePolicyIsCreated() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .autoScalingEnabled(true)
+                .predictiveScalingEnabled(true)
+                .predictiveLoadMetric(PredictiveScalingConfig.LoadMetric.ALB_REQUEST_COUNT)
+                .predictiveTargetValue(1000)
+                .predictiveSchedulingBufferSeconds(600)
+                .predictiveForecastOnly(false)
+                .build());
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalingPolicy", Map.of(
+                "PolicyName", DEFAULT_SERVICE_NAME + "-predictive",
+                "PolicyType", "PredictiveScaling",
+                "ScalableDimension", "ecs:service:DesiredCount",
+                "ServiceNamespace", "ecs",
+                "PredictiveScalingPolicyConfiguration", Map.of(
+                        "MetricSpecifications", List.of(Map.of(
+                                "TargetValue", 1000,
+                                "PredefinedMetricPairSpecification", Map.of(
+                                        "PredefinedMetricType", "ALBRequestCount",
+                                        "ResourceLabel", Match.anyValue()
+                                )
+                        )),
+                        "Mode", "ForecastAndScale",
+                        "SchedulingBufferTime", 600
+                )
+        ));
+    }
+
+    @Test
+    void givenPredictiveScalingDefaults_whenStackSynthesized_thenPolicyIsForecastOnlyOnCpu() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .autoScalingEnabled(true)
+                .predictiveScalingEnabled(true)
+                .build());
+
+        template.hasResourceProperties("AWS::ApplicationAutoScaling::ScalingPolicy", Map.of(
+                "PolicyType", "PredictiveScaling",
+                "PredictiveScalingPolicyConfiguration", Map.of(
+                        "MetricSpecifications", List.of(Map.of(
+                                "PredefinedMetricPairSpecification", Map.of(
+                                        "PredefinedMetricType", "ECSServiceCPUUtilization",
+                                        "ResourceLabel", Match.absent()
+                                )
+                        )),
+                        "Mode", "ForecastOnly"
+                )
+        ));
+    }
+
+    @Test
+    void givenPredictiveScalingWithoutAutoScaling_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .predictiveScalingEnabled(true);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenWakeOnRequestEnabled_whenStackSynthesized_thenLambdaWakeRuleIsCreated() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .wakeOnRequestEnabled(true)
+                .idleMinutes(20)
+                .wakeDesiredCount(2)
+                .build());
+
+        template.resourceCountIs("AWS::ElasticLoadBalancingV2::ListenerRule", 2);
+        template.hasResourceProperties("AWS::ElasticLoadBalancingV2::ListenerRule", Map.of(
+                "Priority", 201
+        ));
+
+        template.hasResourceProperties("AWS::ElasticLoadBalancingV2::TargetGroup", Map.of(
+                "Name", DEFAULT_SERVICE_NAME + "-wake-tg",
+                "TargetType", "lambda"
+        ));
+
+        template.hasResourceProperties("AWS::Lambda::Function", Map.of(
+                "FunctionName", DEFAULT_SERVICE_NAME + "-wake",
+                "Environment", Map.of("Variables", Map.of(
+                        "SERVICE_RULE_PRIORITY", "200",
+                        "WAKE_RULE_PRIORITY", "201",
+                        "WAKE_DESIRED_COUNT", "2"
+                ))
+        ));
+
+        template.hasResourceProperties("AWS::CloudWatch::Alarm", Map.of(
+                "AlarmName", DEFAULT_SERVICE_NAME + "-idle",
+                "ComparisonOperator", "LessThanThreshold",
+                "EvaluationPeriods", 20,
+                "TreatMissingData", "breaching",
+                "Metrics", Match.arrayWith(List.of(Map.of(
+                        "Id", "expr_1",
+                        "Expression", "FILL(service, 0) + FILL(wake, 0)")))
+        ));
+    }
+
+    @Test
+    void givenWakeOnRequestEnabled_whenStackSynthesized_thenScheduledCheckRoutesBackToService() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .wakeOnRequestEnabled(true)
+                .build());
+
+        template.hasResourceProperties("AWS::Events::Rule", Map.of(
+                "Name", DEFAULT_SERVICE_NAME + "-wake-health-check",
+                "ScheduleExpression", "rate(1 minute)",
+                "Targets", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Arn", Map.of("Fn::GetAtt", Match.arrayWith(List.of("Arn")))))))
+        ));
+        template.hasResourceProperties("AWS::Lambda::Permission", Map.of(
+                "Principal", "events.amazonaws.com"
+        ));
+    }
+
+    @Test
+    void givenWakeOnRequestEnabled_whenStackSynthesized_thenServiceRuleStartsParkedAtFixedPriority() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .wakeOnRequestEnabled(true)
+                .build());
+
+        template.hasResourceProperties("AWS::ElasticLoadBalancingV2::ListenerRule", Map.of(
+                "Priority", 200,
+                "Conditions", Match.arrayWith(List.of(Map.of(
+                        "Field", "source-ip",
+                        "SourceIpConfig", Map.of("Values", List.of(AstroWebUiStack.PARKED_SOURCE_IP)))))
+        ));
+        template.hasResourceProperties("AWS::Lambda::Function", Map.of(
+                "FunctionName", DEFAULT_SERVICE_NAME + "-wake",
+                "Environment", Map.of("Variables", Map.of(
+                        "PARKED_SOURCE_IP", AstroWebUiStack.PARKED_SOURCE_IP,
+                        "SERVICE_RULE_ARN", Match.anyValue()
+                ))
+        ));
+        String policies = template.findResources("AWS::IAM::Policy").toString();
+        assertTrue(policies.contains("elasticloadbalancing:ModifyRule"));
+        assertFalse(policies.contains("elasticloadbalancing:SetRulePriorities"));
+    }
+
+    @Test
+    void givenWakeOnRequestEnabled_whenStackSynthesized_thenWakeRuleWaitsForPriorityCheck() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .wakeOnRequestEnabled(true)
+                .build());
+
+        template.hasResourceProperties("Custom::WakeRulePriorityCheck", Map.of(
+                "WakeRulePriority", "201"
+        ));
+        template.hasResource("AWS::ElasticLoadBalancingV2::ListenerRule", Map.of(
+                "Properties", Map.of("Priority", 201),
+                "DependsOn", Match.arrayWith(List.of(Match.stringLikeRegexp("WakeRulePriorityCheck.*")))
+        ));
+    }
+
+    @Test
+    void givenWakeOnRequestDisabled_whenStackSynthesized_thenServiceRuleIsNotParked() {
+        Template template = createTemplate(defaultConfigBuilder().build());
+
+        assertFalse(template.findResources("AWS::ElasticLoadBalancingV2::ListenerRule").toString()
+                .contains("source-ip"));
+    }
+
+    @Test
+    void givenWakeOnRequestInProduction_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .environment("prod")
+                .wakeOnRequestEnabled(true);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenWakeOnRequestWithNonZeroMinCapacity_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .autoScalingEnabled(true)
+                .minCapacity(1)
+                .wakeOnRequestEnabled(true);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenSizingProfile_whenStackSynthesized_thenTaskUsesProfileSize() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .sizingProfile(ContainerConfig.SizingProfile.XL)
+                .build());
+
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "Cpu", "4096",
+                "Memory", "16384"
+        ));
+    }
+
+    @Test
+    void givenUnsupportedFargateSize_whenConfigBuilt_thenNearestValidSizesAreReported() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .containerCpu(256)
+                .containerMemory(4096);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, builder::build);
+        assertTrue(exception.getMessage().contains("256/2048"));
+        assertTrue(exception.getMessage().contains("512/4096"));
+    }
+
+    @Test
+    void givenDefaultConfig_whenStackSynthesized_thenNodeRuntimeIsSizedFromTask() {
+        Template template = createTemplateWithDefaultConfig();
+
+        assertContainerEnvironment(template, "WEB_CONCURRENCY", "1");
+        assertContainerEnvironment(template, "NODE_OPTIONS", "--max-old-space-size=384");
+        assertContainerEnvironment(template, "UV_THREADPOOL_SIZE", "4");
+    }
+
+    @Test
+    void givenLargeProfileWithSidecarReservation_whenStackSynthesized_thenHeapIsSplitAcrossWorkers() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .sizingProfile(ContainerConfig.SizingProfile.L)
+                .sidecarReservedMiB(256)
+                .build());
+
+        assertContainerEnvironment(template, "WEB_CONCURRENCY", "2");
+        assertContainerEnvironment(template, "NODE_OPTIONS", "--max-old-space-size=1440");
+        assertContainerEnvironment(template, "UV_THREADPOOL_SIZE", "4");
+    }
+
+    @Test
+    void givenExtraLargeProfile_whenStackSynthesized_thenOneWorkerPerVcpuIsConfigured() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .sizingProfile(ContainerConfig.SizingProfile.XL)
+                .build());
+
+        assertContainerEnvironment(template, "WEB_CONCURRENCY", "4");
+        assertContainerEnvironment(template, "NODE_OPTIONS", "--max-old-space-size=3072");
+    }
+
+    @Test
+    void givenWorkerConcurrencyOverride_whenStackSynthesized_thenOverrideIsUsed() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .sizingProfile(ContainerConfig.SizingProfile.XL)
+                .workerConcurrency(2)
+                .build());
+
+        assertContainerEnvironment(template, "WEB_CONCURRENCY", "2");
+        assertContainerEnvironment(template, "UV_THREADPOOL_SIZE", "8");
+    }
+
+    @Test
+    void givenNodeRuntimeOverrides_whenStackSynthesized_thenOverridesAreUsed() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .nodeMaxOldSpaceSizeMiB(300)
+                .uvThreadpoolSize(16)
+                .build());
+
+        assertContainerEnvironment(template, "NODE_OPTIONS", "--max-old-space-size=300");
+        assertContainerEnvironment(template, "UV_THREADPOOL_SIZE", "16");
+    }
+
+    @Test
+    void givenHeapLargerThanTaskMemory_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .nodeMaxOldSpaceSizeMiB(512);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenDefaultConfig_whenStackSynthesized_thenNoContainerSecretsAreInjected() {
+        Template template = createTemplateWithDefaultConfig();
+
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Secrets", Match.absent()
+                ))))
+        ));
+    }
+
+    @Test
+    void givenParameterInjectionEnabled_whenStackSynthesized_thenParametersAreContainerSecrets() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .parameterInjectionEnabled(true)
+                .build());
+
+        for (String name : List.of("APP_DESCRIPTION", "API_BACKEND_URL", "API_TIMEOUT_MS",
+                "API_RETRY_COUNT", "LOG_LEVEL", "RATE_LIMIT_RPM")) {
+            template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                    "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                            "Secrets", Match.arrayWith(List.of(Match.objectLike(Map.of("Name", name))))
+                    ))))
+            ));
+        }
+
+        template.hasResourceProperties("AWS::IAM::Policy", Map.of(
+                "Roles", List.of(Map.of("Ref", Match.stringLikeRegexp("TaskExecutionRole.*"))),
+                "PolicyDocument", Map.of(
+                        "Statement", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                                "Action", Match.arrayWith(List.of("ssm:GetParameters")),
+                                "Effect", "Allow"
+                        ))))
+                )
+        ));
+    }
+
+    @Test
+    void givenAppConfigEnabled_whenStackSynthesized_thenTuningProfileIsDeployedGradually() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .appConfigEnabled(true)
+                .retryBaseDelayMillis(250)
+                .build());
+
+        template.resourceCountIs("AWS::AppConfig::Application", 1);
+        template.hasResourceProperties("AWS::AppConfig::ConfigurationProfile", Map.of(
+                "Name", "tuning",
+                "LocationUri", "hosted"
+        ));
+        template.hasResourceProperties("AWS::AppConfig::HostedConfigurationVersion", Map.of(
+                "ContentType", "application/json",
+                "Content", "{\"api.timeout.ms\":5000,\"api.retry.count\":3,\"rate.limit.rpm\":60,"
+                        + "\"retry.base.delay.ms\":250,\"retry.max.delay.ms\":2000,\"retry.jitter\":\"full\","
+                        + "\"retry.status.codes\":\"502,503,504\",\"retry.methods\":\"GET,HEAD,OPTIONS,PUT,DELETE\","
+                        + "\"retry.budget.percent\":20}"
+        ));
+        template.hasResourceProperties("AWS::AppConfig::DeploymentStrategy", Map.of(
+                "GrowthType", "LINEAR",
+                "GrowthFactor", 20,
+                "DeploymentDurationInMinutes", 10,
+                "FinalBakeTimeInMinutes", 5
+        ));
+        template.resourceCountIs("AWS::AppConfig::Deployment", 1);
+    }
+
+    @Test
+    void givenAppConfigEnabled_whenStackSynthesized_thenAgentSidecarAndPermissionsAreAdded() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .appConfigEnabled(true)
+                .build());
+
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Name", "appconfig-agent",
+                        "Essential", false,
+                        "MemoryReservation", 64
+                ))))
+        ));
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Name", DEFAULT_SERVICE_NAME,
+                        "DependsOn", List.of(Map.of("ContainerName", "appconfig-agent", "Condition", "START"))
+                ))))
+        ));
+        assertContainerEnvironment(template, "APPCONFIG_AGENT_URL", "http://localhost:2772");
+        // Agent memory comes out of the heap budget: (512 - 64) * 0.75
+        assertContainerEnvironment(template, "NODE_OPTIONS", "--max-old-space-size=336");
+
+        template.hasResourceProperties("AWS::IAM::Policy", Map.of(
+                "PolicyDocument", Map.of(
+                        "Statement", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                                "Action", List.of("appconfig:StartConfigurationSession",
+                                        "appconfig:GetLatestConfiguration"),
+                                "Effect", "Allow"
+                        ))))
+                )
+        ));
+    }
+
+    @Test
+    void givenConfigCacheEnabled_whenStackSynthesized_thenSidecarWithOwnShareIsAdded() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .configCacheEnabled(true)
+                .build());
+
+        template.hasResourceProperties("AWS::ECR::Repository", Map.of(
+                "RepositoryName", DEFAULT_SERVICE_NAME + "-config-cache"
+        ));
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Name", "config-cache",
+                        "Essential", false,
+                        "Cpu", 64,
+                        "Memory", 128
+                ))))
+        ));
+        assertContainerEnvironment(template, "CONFIG_CACHE_URL", "http://localhost:2773");
+        // Sidecar memory comes out of the heap budget: (512 - 128) * 0.75
+        assertContainerEnvironment(template, "NODE_OPTIONS", "--max-old-space-size=288");
+
+        template.hasResourceProperties("AWS::IAM::Policy", Map.of(
+                "PolicyDocument", Map.of(
+                        "Statement", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                                "Action", "ssm:GetParametersByPath",
+                                "Effect", "Allow"
+                        ))))
+                )
+        ));
+    }
+
+    @Test
+    void givenConfigCacheCpuNotBelowTaskCpu_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .configCacheEnabled(true)
+                .configCacheCpu(256);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenParameterCatalog_whenStackSynthesized_thenOneParameterPerEntryIsCreated() {
+        Template template = createTemplateWithDefaultConfig();
+
+        template.resourceCountIs("AWS::SSM::Parameter", ParameterCatalog.PARAMETERS.size());
+        template.hasResourceProperties("AWS::SSM::Parameter", Map.of(
+                "Name", "/" + DEFAULT_SERVICE_NAME + "/api.timeout.ms",
+                "Value", "5000",
+                "Description", "Backend API request timeout in milliseconds for " + DEFAULT_SERVICE_NAME
+        ));
+    }
+
+    @Test
+    void givenDefaultConfig_whenStackSynthesized_thenTaskRoleCanOnlyBatchReadServiceHierarchy() {
+        Template template = createTemplateWithDefaultConfig();
+        String pathArn = "arn:aws:ssm:" + DEFAULT_REGION + ":" + DEFAULT_ACCOUNT + ":parameter/" + DEFAULT_SERVICE_NAME;
+
+        template.hasResourceProperties("AWS::IAM::Policy", Map.of(
+                "Roles", List.of(Map.of("Ref", Match.stringLikeRegexp("TaskRole.*"))),
+                "PolicyDocument", Map.of(
+                        "Statement", List.of(Map.of(
+                                "Action", "ssm:GetParametersByPath",
+                                "Effect", "Allow",
+                                "Resource", List.of(pathArn, pathArn + "/*")
+                        ))
+                )
+        ));
+    }
+
+    @Test
+    void givenParameterCatalog_whenGeneratorRuns_thenCheckedInFilesAreCurrent() throws IOException {
+        Path root = Path.of("..");
+
+        assertEquals(ParameterCatalogGenerator.typeScriptModule(ParameterCatalog.PARAMETERS),
+                Files.readString(root.resolve(ParameterCatalogGenerator.TYPESCRIPT_MODULE)),
+                "Run ParameterCatalogGenerator to regenerate the TypeScript module");
+        for (String seedFile : ParameterCatalogGenerator.SEED_FILES) {
+            assertEquals(ParameterCatalogGenerator.seedData(ParameterCatalog.PARAMETERS),
+                    Files.readString(root.resolve(seedFile)),
+                    "Run ParameterCatalogGenerator to regenerate " + seedFile);
+        }
+    }
+
+    @Test
+    void givenIntegerParameterWithTextDefault_whenDefined_thenExceptionIsThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new ParameterDefinition("api.timeout.ms",
+                ParameterDefinition.Type.INTEGER, "fast", "Timeout", ParameterDefinition.Reload.RUNTIME));
+    }
+
+    @Test
+    void givenConfigPropagationEnabled_whenStackSynthesized_thenParameterChangesReachNotifier() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .configPropagationEnabled(true)
+                .build());
+
+        template.hasResourceProperties("AWS::Events::Rule", Map.of(
+                "Name", DEFAULT_SERVICE_NAME + "-config-change",
+                "EventPattern", Map.of(
+                        "source", List.of("aws.ssm"),
+                        "detail-type", List.of("Parameter Store Change"),
+                        "detail", Map.of("name", List.of(Map.of("prefix", "/" + DEFAULT_SERVICE_NAME + "/")))
+                )
+        ));
+        template.hasResourceProperties("AWS::Lambda::Function", Map.of(
+                "FunctionName", DEFAULT_SERVICE_NAME + "-config-notifier",
+                "Environment", Map.of("Variables", Map.of(
+                        "ADMIN_PORT", "9091",
+                        "NOTIFY_TIMEOUT_MS", "2000"
+                )),
+                "VpcConfig", Match.objectLike(Map.of())
+        ));
+        template.hasResourceProperties("AWS::EC2::SecurityGroupIngress", Map.of(
+                "FromPort", 9091,
+                "ToPort", 9091,
+                "SourceSecurityGroupId", Match.anyValue()
+        ));
+        assertContainerEnvironment(template, "CONFIG_ADMIN_PORT", "9091");
+    }
+
+    @Test
+    void givenConfigAdminPortEqualToContainerPort_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .configPropagationEnabled(true)
+                .configAdminPort(4321);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenRetryPolicy_whenStackSynthesized_thenPolicyIsPublishedAsParameters() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .retryMaxDelayMillis(5000)
+                .retryJitter(RetryPolicyConfig.Jitter.EQUAL)
+                .retryableStatusCodes(List.of(503))
+                .build());
+
+        template.hasResourceProperties("AWS::SSM::Parameter", Map.of(
+                "Name", "/" + DEFAULT_SERVICE_NAME + "/retry.max.delay.ms",
+                "Value", "5000"
+        ));
+        template.hasResourceProperties("AWS::SSM::Parameter", Map.of(
+                "Name", "/" + DEFAULT_SERVICE_NAME + "/retry.jitter",
+                "Value", "equal"
+        ));
+        template.hasResourceProperties("AWS::SSM::Parameter", Map.of(
+                "Name", "/" + DEFAULT_SERVICE_NAME + "/retry.status.codes",
+                "Value", "503"
+        ));
+    }
+
+    @Test
+    void givenDefaultRetryPolicy_whenCompared_thenItMatchesCatalogDefaults() {
+        InfrastructureConfig config = defaultConfigBuilder().build();
+
+        config.getRetryPolicyConfig().parameterValues().forEach((key, value) ->
+                assertEquals(ParameterCatalog.get(key).defaultValue(), value, key));
+    }
+
+    @Test
+    void givenPostAsRetryableMethod_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .retryableMethods(List.of("GET", "post"));
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenBackendClientConfig_whenStackSynthesized_thenPoolSettingsArePassedToContainer() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .backendMaxConnectionsPerOrigin(64)
+                .backendKeepAliveTimeoutMillis(45000)
+                .build());
+
+        assertContainerEnvironment(template, "BACKEND_MAX_CONNECTIONS", "64");
+        assertContainerEnvironment(template, "BACKEND_KEEP_ALIVE_TIMEOUT_MS", "45000");
+        assertContainerEnvironment(template, "BACKEND_PIPELINING", "1");
+        assertContainerEnvironment(template, "BACKEND_CONNECT_TIMEOUT_MS", "2000");
+    }
+
+    @Test
+    void givenZeroBackendConnections_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .backendMaxConnectionsPerOrigin(0);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenLoadSheddingEnabled_whenStackSynthesized_thenLimiterSettingsArePassedToContainer() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .loadSheddingEnabled(true)
+                .loadSheddingAlgorithm(LoadSheddingConfig.Algorithm.AIMD)
+                .shedStatusCode(429)
+                .build());
+
+        assertContainerEnvironment(template, "LOAD_SHEDDING_ALGORITHM", "aimd");
+        assertContainerEnvironment(template, "LOAD_SHEDDING_INITIAL_LIMIT", "20");
+        assertContainerEnvironment(template, "LOAD_SHEDDING_MIN_LIMIT", "4");
+        assertContainerEnvironment(template, "LOAD_SHEDDING_MAX_LIMIT", "200");
+        assertContainerEnvironment(template, "LOAD_SHEDDING_STATUS_CODE", "429");
+    }
+
+    @Test
+    void givenInitialLimitAboveMaxLimit_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .concurrencyInitialLimit(50)
+                .concurrencyMaxLimit(40);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenUnsupportedShedStatusCode_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .shedStatusCode(500);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenRateLimitEnabled_whenStackSynthesized_thenValkeyCacheIsReachableOnlyFromTasks() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .rateLimitEnabled(true)
+                .build());
+
+        template.hasResourceProperties("AWS::ElastiCache::ServerlessCache", Map.of(
+                "ServerlessCacheName", DEFAULT_SERVICE_NAME + "-ratelimit",
+                "Engine", "valkey",
+                "MajorEngineVersion", "8",
+                "CacheUsageLimits", Map.of(
+                        "DataStorage", Map.of("Maximum", 1, "Unit", "GB"),
+                        "ECPUPerSecond", Map.of("Maximum", 5000)
+                )
+        ));
+        template.hasResourceProperties("AWS::EC2::SecurityGroupIngress", Map.of(
+                "FromPort", 6379,
+                "ToPort", 6379,
+                "SourceSecurityGroupId", Match.anyValue()
+        ));
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Environment", Match.arrayWith(List.of(Map.of(
+                                "Name", "RATE_LIMIT_VALKEY_URL",
+                                "Value", Match.objectLike(Map.of("Fn::Join", Match.anyValue()))
+                        )))
+                ))))
+        ));
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Environment", Match.arrayWith(List.of(Map.of(
+                                "Name", "RATE_LIMIT_TRUSTED_HOPS",
+                                "Value", "1"
+                        )))
+                ))))
+        ));
+    }
+
+    @Test
+    void givenDefaultConfig_whenStackSynthesized_thenNoValkeyCacheIsCreated() {
+        Template template = createTemplateWithDefaultConfig();
+
+        template.resourceCountIs("AWS::ElastiCache::ServerlessCache", 0);
+    }
+
+    @Test
+    void givenWafEnabled_whenStackSynthesized_thenApiRateRuleFollowsRateLimitRpm() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .wafEnabled(true)
+                .albDedicated(true)
+                .build());
+
+        template.hasResourceProperties("AWS::WAFv2::WebACL", Map.of(
+                "Name", DEFAULT_SERVICE_NAME + "-waf",
+                "Scope", "REGIONAL",
+                "DefaultAction", Map.of("Allow", Map.of()),
+                "Rules", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Name", "api-rate-limit",
+                        "Statement", Map.of("RateBasedStatement", Match.objectLike(Map.of(
+                                "Limit", 300,
+                                "EvaluationWindowSec", 300,
+                                "AggregateKeyType", "IP",
+                                "ScopeDownStatement", Map.of("ByteMatchStatement", Match.objectLike(Map.of(
+                                        "SearchString", "/api/",
+                                        "PositionalConstraint", "STARTS_WITH"
+                                )))
+                        ))),
+                        "Action", Map.of("Block", Map.of("CustomResponse", Map.of("ResponseCode", 429))),
+                        "VisibilityConfig", Match.objectLike(Map.of(
+                                "CloudWatchMetricsEnabled", true,
+                                "MetricName", DEFAULT_SERVICE_NAME + "-api-rate-limit"
+                        ))
+                ))))
+        ));
+        template.hasResourceProperties("AWS::WAFv2::WebACL", Map.of(
+                "Rules", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Name", "bot-control",
+                        "Statement", Map.of("ManagedRuleGroupStatement", Match.objectLike(Map.of(
+                                "VendorName", "AWS",
+                                "Name", "AWSManagedRulesBotControlRuleSet",
+                                "ManagedRuleGroupConfigs", List.of(Map.of(
+                                        "AWSManagedRulesBotControlRuleSet", Map.of("InspectionLevel", "COMMON")))
+                        )))
+                ))))
+        ));
+        template.resourceCountIs("AWS::WAFv2::WebACLAssociation", 1);
+    }
+
+    @Test
+    void givenDefaultConfig_whenStackSynthesized_thenNoWebAclIsCreated() {
+        Template template = createTemplateWithDefaultConfig();
+
+        template.resourceCountIs("AWS::WAFv2::WebACL", 0);
+    }
+
+    @Test
+    void givenCdnEnabled_whenStackSynthesized_thenHashedAssetsAreCachedAndDefaultIsUncached() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .cdnEnabled(true)
+                .edgeCacheRules(List.of())
+                .build());
+
+        template.hasResourceProperties("AWS::CloudFront::CachePolicy", Map.of(
+                "CachePolicyConfig", Match.objectLike(Map.of(
+                        "Name", DEFAULT_SERVICE_NAME + "-immutable-assets",
+                        "DefaultTTL", 31536000,
+                        "MaxTTL", 31536000,
+                        "ParametersInCacheKeyAndForwardedToOrigin", Match.objectLike(Map.of(
+                                "EnableAcceptEncodingBrotli", true,
+                                "EnableAcceptEncodingGzip", true
+                        ))
+                ))
+        ));
+        template.hasResourceProperties("AWS::CloudFront::Distribution", Map.of(
+                "DistributionConfig", Match.objectLike(Map.of(
+                        "Origins", List.of(Match.objectLike(Map.of(
+                                "CustomOriginConfig", Match.objectLike(Map.of(
+                                        "OriginProtocolPolicy", "http-only"))
+                        ))),
+                        "DefaultCacheBehavior", Match.objectLike(Map.of(
+                                // Managed CachingDisabled policy
+                                "CachePolicyId", "4135ea2d-6df8-44a3-9df3-4b5a84be39ad",
+                                "ViewerProtocolPolicy", "redirect-to-https"
+                        )),
+                        "CacheBehaviors", Match.arrayWith(List.of(
+                                Match.objectLike(Map.of("PathPattern", "/_astro/*", "Compress", true)),
+                                Match.objectLike(Map.of("PathPattern", "/favicon.svg", "Compress", true))
+                        ))
+                ))
+        ));
+        template.hasOutput("DistributionUrl", Match.anyValue());
+    }
+
+    @Test
+    void givenCdnEnabled_whenStackSynthesized_thenDynamicPathsAreMicroCachedForSafeMethods() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .cdnEnabled(true)
+                .originShieldRegion(DEFAULT_REGION)
+                .build());
+
+        template.hasResourceProperties("AWS::CloudFront::CachePolicy", Map.of(
+                "CachePolicyConfig", Match.objectLike(Map.of(
+                        "Name", DEFAULT_SERVICE_NAME + "-micro-api-greetings",
+                        "MinTTL", 0,
+                        "DefaultTTL", 2,
+                        "MaxTTL", 2
+                ))
+        ));
+        template.hasResourceProperties("AWS::CloudFront::CachePolicy", Map.of(
+                "CachePolicyConfig", Match.objectLike(Map.of("Name", DEFAULT_SERVICE_NAME + "-micro-root"))
+        ));
+        template.hasResourceProperties("AWS::CloudFront::Distribution", Map.of(
+                "DistributionConfig", Match.objectLike(Map.of(
+                        "Origins", List.of(Match.objectLike(Map.of(
+                                "OriginShield", Map.of("Enabled", true, "OriginShieldRegion", DEFAULT_REGION)
+                        ))),
+                        "DefaultCacheBehavior", Match.objectLike(Map.of(
+                                "CachedMethods", List.of("GET", "HEAD")
+                        )),
+                        "CacheBehaviors", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                                "PathPattern", "/api/greetings",
+                                "AllowedMethods", Match.arrayWith(List.of("POST")),
+                                "CachedMethods", List.of("GET", "HEAD")
+                        )))),
+                        "CustomErrorResponses", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                                "ErrorCode", 502,
+                                "ErrorCachingMinTTL", 0
+                        ))))
+                ))
+        ));
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Environment", Match.arrayWith(List.of(Map.of(
+                                "Name", "EDGE_CACHE_RULES",
+                                "Value", Match.stringLikeRegexp(
+                                        "\"path\":\"/api/greetings\".*stale-while-revalidate=5, stale-if-error=60")
+                        )))
+                ))))
+        ));
+    }
+
+    @Test
+    void givenRootEdgeCacheRule_whenStackSynthesized_thenDefaultBehaviorDoesNotCacheUnlistedPaths() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .cdnEnabled(true)
+                .build());
+
+        template.hasResourceProperties("AWS::CloudFront::Distribution", Map.of(
+                "DistributionConfig", Match.objectLike(Map.of(
+                        "DefaultCacheBehavior", Match.objectLike(Map.of(
+                                // Managed CachingDisabled policy
+                                "CachePolicyId", "4135ea2d-6df8-44a3-9df3-4b5a84be39ad"
+                        )),
+                        "CacheBehaviors", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                                "PathPattern", "/",
+                                "CachePolicyId", Map.of("Ref", Match.stringLikeRegexp("MicroCachePolicyroot"))
+                        ))))
+                ))
+        ));
+    }
+
+    @Test
+    void givenCdnEnabled_whenStackSynthesized_thenEdgeHitRateIsOnTheDashboard() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .cdnEnabled(true)
+                .build());
+
+        template.resourceCountIs("AWS::CloudFront::MonitoringSubscription", 1);
+        template.hasResourceProperties("AWS::CloudWatch::Dashboard", Map.of(
+                "DashboardName", DEFAULT_SERVICE_NAME + "-edge"
+        ));
+        // The body is an Fn::Join around the distribution id
+        String dashboard = template.findResources("AWS::CloudWatch::Dashboard").toString();
+        assertTrue(dashboard.contains("CacheHitRate"));
+    }
+
+    @Test
+    void givenEdgeCacheRuleOnStaticPath_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .edgeCacheRules(List.of(new EdgeCacheRule("/_astro/*", 2, 5, 60)));
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenDefaultCacheKeyConfig_whenStackSynthesized_thenFunctionConfigMatchesHarnessDefaults() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .cdnEnabled(true)
+                .build());
+
+        // Kept in step with DEFAULT_CONFIG in app/src/edge/normalizeCacheKeyUnitTest.ts
+        String functions = template.findResources("AWS::CloudFront::Function").toString();
+        assertTrue(functions.contains("const CONFIG = {\"strippedQueryParams\":[\"utm_*\",\"gclid\",\"gbraid\","
+                + "\"wbraid\",\"dclid\",\"fbclid\",\"msclkid\",\"yclid\",\"mc_cid\",\"mc_eid\",\"_ga\","
+                + "\"_gl\",\"igshid\"],\"lowercasePaths\":false,"
+                + "\"caseSensitivePathPrefixes\":[\"/_astro/\",\"/api/\"]};"));
+    }
+
+    @Test
+    void givenCdnEnabled_whenStackSynthesized_thenCacheKeyFunctionRunsOnDynamicViewerRequests() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .cdnEnabled(true)
+                .strippedQueryParams(List.of("utm_*", "ref"))
+                .build());
+
+        template.hasResourceProperties("AWS::CloudFront::Function", Map.of(
+                "Name", DEFAULT_SERVICE_NAME + "-cache-key",
+                "FunctionConfig", Match.objectLike(Map.of("Runtime", "cloudfront-js-2.0"))
+        ));
+        String functions = template.findResources("AWS::CloudFront::Function").toString();
+        assertTrue(functions.contains("const CONFIG = {\"strippedQueryParams\":[\"utm_*\",\"ref\"],"
+                + "\"lowercasePaths\":false,\"caseSensitivePathPrefixes\":[\"/_astro/\",\"/api/\"]};"));
+        template.hasResourceProperties("AWS::CloudFront::Distribution", Map.of(
+                "DistributionConfig", Match.objectLike(Map.of(
+                        "DefaultCacheBehavior", Match.objectLike(Map.of(
+                                "FunctionAssociations", List.of(Match.objectLike(Map.of(
+                                        "EventType", "viewer-request"
+                                )))
+                        )),
+                        "CacheBehaviors", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                                "PathPattern", "/_astro/*",
+                                "FunctionAssociations", Match.absent()
+                        ))))
+                ))
+        ));
+    }
+
+    @Test
+    void givenUpperCaseStrippedQueryParam_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .strippedQueryParams(List.of("UTM_Source"));
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenDefaultConfig_whenStackSynthesized_thenNoDistributionIsCreated() {
+        Template template = createTemplateWithDefaultConfig();
+
+        template.resourceCountIs("AWS::CloudFront::Distribution", 0);
+    }
+
+    @Test
+    void givenStaticAssetsEnabled_whenStackSynthesized_thenStaticPathsAreServedFromS3ThroughOac(
+            @TempDir Path clientBuild) throws IOException {
+        Files.createDirectories(clientBuild.resolve("_astro"));
+        Files.writeString(clientBuild.resolve("_astro/index.abc123.js"), "export {};");
+        Files.writeString(clientBuild.resolve("favicon.svg"), "<svg/>");
+
+        Template template = createTemplate(defaultConfigBuilder()
+                .cdnEnabled(true)
+                .staticAssetsEnabled(true)
+                .staticAssetPath(clientBuild.toString())
+                .build());
+
+        template.hasResourceProperties("AWS::S3::Bucket", Map.of(
+                "VersioningConfiguration", Map.of("Status", "Enabled")
+        ));
+        template.hasResourceProperties("AWS::CloudFront::OriginAccessControl", Map.of(
+                "OriginAccessControlConfig", Match.objectLike(Map.of(
+                        "OriginAccessControlOriginType", "s3",
+                        "SigningBehavior", "always",
+                        "SigningProtocol", "sigv4"
+                ))
+        ));
+        template.hasResourceProperties("AWS::S3::BucketPolicy", Map.of(
+                "PolicyDocument", Map.of("Statement", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Action", "s3:GetObject",
+                        "Principal", Map.of("Service", "cloudfront.amazonaws.com"),
+                        "Condition", Map.of("StringEquals", Map.of("AWS:SourceArn", Match.anyValue()))
+                )))))
+        ));
+        template.hasResourceProperties("AWS::CloudFront::Distribution", Map.of(
+                "DistributionConfig", Match.objectLike(Map.of(
+                        "Origins", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                                "OriginAccessControlId", Match.anyValue(),
+                                "S3OriginConfig", Map.of("OriginAccessIdentity", "")
+                        )))),
+                        "CacheBehaviors", Match.arrayWith(List.of(
+                                Match.objectLike(Map.of("PathPattern", "/_astro/*")),
+                                Match.objectLike(Map.of("PathPattern", "/favicon.svg"))
+                        ))
+                ))
+        ));
+        template.resourceCountIs("Custom::CDKBucketDeployment", 2);
+    }
+
+    @Test
+    void givenStaticAssetsWithoutCdn_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .staticAssetsEnabled(true);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenWafOnSharedAlb_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .wafEnabled(true);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenWafWithCdn_whenStackSynthesized_thenCloudFrontAclInUsEast1GuardsTheDistribution() {
+        App app = new App();
+        AstroWebUiStack stack = new AstroWebUiStack(app, "TestStack", testStackProps(defaultConfigBuilder().build()),
+                defaultConfigBuilder()
+                        .wafEnabled(true)
+                        .cdnEnabled(true)
+                        .build());
+        EdgeWebAclStack edgeStack = (EdgeWebAclStack) app.getNode().findChild("TestStackEdgeWaf");
+        Template template = Template.fromStack(stack);
+        Template edgeTemplate = Template.fromStack(edgeStack);
+
+        assertEquals("us-east-1", edgeStack.getRegion());
+        edgeTemplate.hasResourceProperties("AWS::WAFv2::WebACL", Map.of(
+                "Name", DEFAULT_SERVICE_NAME + "-waf",
+                "Scope", "CLOUDFRONT",
+                "Rules", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Name", "api-rate-limit",
+                        "Statement", Map.of("RateBasedStatement", Match.objectLike(Map.of(
+                                "AggregateKeyType", "IP"
+                        )))
+                ))))
+        ));
+        template.resourceCountIs("AWS::WAFv2::WebACL", 0);
+        template.resourceCountIs("AWS::WAFv2::WebACLAssociation", 0);
+        template.hasResourceProperties("AWS::CloudFront::Distribution", Map.of(
+                "DistributionConfig", Match.objectLike(Map.of("WebACLId", Match.anyValue()))
+        ));
+    }
+
+    @Test
+    void givenUnsupportedWafEvaluationWindow_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .wafEvaluationWindowSeconds(90);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void givenOnlyLoadSheddingEnabled_whenStackSynthesized_thenMetricsNamespaceIsSet() {
+        Template template = createTemplate(defaultConfigBuilder()
+                .loadSheddingEnabled(true)
+                .build());
+
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Environment", Match.arrayWith(List.of(
+                                Map.of("Name", "METRICS_NAMESPACE", "Value", DEFAULT_SERVICE_NAME)
+                        ))
+                ))))
+        ));
+    }
+
+    @Test
+    void givenMaxCapacityBelowMinCapacity_whenConfigBuilt_thenExceptionIsThrown() {
+        InfrastructureConfig.Builder builder = defaultConfigBuilder()
+                .minCapacity(5)
+                .maxCapacity(2);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
     private InfrastructureConfig.Builder defaultConfigBuilder() {
         return InfrastructureConfig.builder()
                 .awsAccount(DEFAULT_ACCOUNT)
@@ -135,14 +1431,25 @@ class AstroWebUiStackTest {
 
     private Template createTemplate(InfrastructureConfig config) {
         App app = new App();
-        AstroWebUiStack stack = new AstroWebUiStack(app, "TestStack",
-                StackProps.builder()
-                        .env(Environment.builder()
-                                .account(config.getAwsEnvironment().accountId())
-                                .region(config.getAwsEnvironment().region())
-                                .build())
-                        .build(),
-                config);
+        AstroWebUiStack stack = new AstroWebUiStack(app, "TestStack", testStackProps(config), config);
         return Template.fromStack(stack);
     }
+
+    private static StackProps testStackProps(InfrastructureConfig config) {
+        return StackProps.builder()
+                .env(Environment.builder()
+                        .account(config.getAwsEnvironment().accountId())
+                        .region(config.getAwsEnvironment().region())
+                        .build())
+                .crossRegionReferences(true)
+                .build();
+    }
+
+    private void assertContainerEnvironment(Template template, String name, String value) {
+        template.hasResourceProperties("AWS::ECS::TaskDefinition", Map.of(
+                "ContainerDefinitions", Match.arrayWith(List.of(Match.objectLike(Map.of(
+                        "Environment", Match.arrayWith(List.of(Map.of("Name", name, "Value", value)))
+                ))))
+        ));
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.configcache;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Config-cache sidecar entry point.
+ *
+ * Settings come from the environment:
+ *   SERVICE_NAME                  parameter hierarchy /&lt;SERVICE_NAME&gt;/ (default astro-webui)
+ *   AWS_REGION                    SSM region (default eu-west-1)
+ *   AWS_SSM_ENDPOINT              SSM endpoint override, e.g. LocalStack
+ *   CONFIG_CACHE_PORT             HTTP port (default 2773)
+ *   CONFIG_CACHE_BIND             bind address (default 127.0.0.1, task-local only)
+ *   CONFIG_CACHE_REFRESH_SECONDS  mean refresh interval (default 30)
+ *   CONFIG_CACHE_JITTER_PERCENT   refresh jitter, plus or minus (default 20)
+ */
+public class ConfigCacheApp {
+
+    public static void main(final String[] args) throws IOException {
+        String serviceName = env("SERVICE_NAME", "astro-webui");
+        String region = env("AWS_REGION", "eu-west-1");
+        int port = Integer.parseInt(env("CONFIG_CACHE_PORT", "2773"));
+        String bind = env("CONFIG_CACHE_BIND", "127.0.0.1");
+        int refreshSeconds = Integer.parseInt(env("CONFIG_CACHE_REFRESH_SECONDS", "30"));
+        int jitterPercent = Integer.parseInt(env("CONFIG_CACHE_JITTER_PERCENT", "20"));
+
+        ParameterSource source = SsmParameterSource.create(
+                region, System.getenv("AWS_SSM_ENDPOINT"), "/" + serviceName + "/");
+        ParameterCache cache = new ParameterCache(source, Duration.ofSeconds(refreshSeconds),
+                jitterPercent / 100.0, Clock.systemUTC());
+
+        // Boot load; a failure exits non-zero so ECS surfaces it instead of serving nothing
+        ParameterSnapshot snapshot = cache.load();
+        System.out.printf("Loaded %d parameters from /%s/ (ETag %s)%n",
+                snapshot.values().size(), serviceName, snapshot.etag());
+
+        ConfigCacheServer server = new ConfigCacheServer(cache, new InetSocketAddress(bind, port));
+        server.start();
+        Thread refresher = cache.startRefreshing();
+        System.out.printf("Config cache listening on %s:%d%n", bind, server.port());
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            refresher.interrupt();
+            server.stop();
+        }));
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.configcache;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Localhost HTTP endpoint for the cached parameters, one virtual thread per request.
+ *
+ * <ul>
+ *   <li>{@code GET /parameters} returns all values as JSON with an ETag; a matching
+ *       {@code If-None-Match} returns 304. Adding {@code ?wait=N} long-polls for up to
+ *       N seconds until the values change, so clients get changes pushed without polling SSM.</li>
+ *   <li>{@code GET /parameters/<name>} returns a single value as text, or 404.</li>
+ *   <li>{@code POST /refresh} reloads from SSM immediately, e.g. when the app is told a parameter changed.</li>
+ *   <li>{@code GET /health} returns 200 once the boot load has succeeded.</li>
+ * </ul>
+ */
+public final class ConfigCacheServer {
+
+    static final int MAX_WAIT_SECONDS = 60;
+
+    private final ParameterCache cache;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ConfigCacheServer(ParameterCache cache, InetSocketAddress address) throws IOException {
+        this.cache = cache;
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/parameters", this::handleParameters);
+        server.createContext("/refresh", this::handleRefresh);
+        server.createContext("/health", this::handleHealth);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleParameters(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "text/plain", "Method Not Allowed", null);
+                return;
+            }
+            ParameterSnapshot snapshot = cache.snapshot();
+            if (snapshot == null) {
+                respond(exchange, 503, "text/plain", "Parameters not loaded", null);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            String name = path.length() > "/parameters/".length()
+                    ? URLDecoder.decode(path.substring("/parameters/".length()), StandardCharsets.UTF_8)
+                    : null;
+            if (name != null) {
+                String value = snapshot.values().get(name);
+                if (value == null) {
+                    respond(exchange, 404, "text/plain", "Unknown parameter " + name, null);
+                } else {
+                    respond(exchange, 200, "text/plain; charset=utf-8", value, snapshot.etag());
+                }
+                return;
+            }
+
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (snapshot.etag().equals(ifNoneMatch)) {
+                int waitSeconds = waitSeconds(exchange.getRequestURI().getQuery());
+                if (waitSeconds > 0) {
+                    snapshot = cache.awaitChange(ifNoneMatch, Duration.ofSeconds(waitSeconds));
+                }
+                if (snapshot.etag().equals(ifNoneMatch)) {
+                    respond(exchange, 304, null, null, snapshot.etag());
+                    return;
+                }
+            }
+            respond(exchange, 200, "application/json", snapshot.toJson(), snapshot.etag());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handleRefresh(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "text/plain", "Method Not Allowed", null);
+                return;
+            }
+            boolean changed = cache.refresh();
+            ParameterSnapshot snapshot = cache.snapshot();
+            respond(exchange, 200, "application/json", "{\"changed\":" + changed + "}",
+                    snapshot != null ? snapshot.etag() : null);
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            boolean loaded = cache.snapshot() != null;
+            respond(exchange, loaded ? 200 : 503, "text/plain", loaded ? "ok" : "loading", null);
+        }
+    }
+
+    static int waitSeconds(String query) {
+        if (query == null) {
+            return 0;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.startsWith("wait=")) {
+                try {
+                    return Math.max(0, Math.min(MAX_WAIT_SECONDS, Integer.parseInt(pair.substring(5))));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body, String etag)
+            throws IOException {
+        if (etag != null) {
+            exchange.getResponseHeaders().set("ETag", etag);
+        }
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
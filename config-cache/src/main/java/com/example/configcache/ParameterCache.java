@@ -0,0 +1,122 @@
+package com.example.configcache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the current parameter snapshot and refreshes it from the source in the background.
+ * Refreshes are spread with jitter so a fleet of tasks does not hit SSM in lockstep.
+ * Waiters blocked in {@link #awaitChange} are released as soon as a refresh changes the ETag;
+ * they run on virtual threads and wait on a {@link Condition} rather than a monitor, so a parked
+ * waiter unmounts from its carrier and long-polling clients cost no platform threads.
+ */
+public final class ParameterCache {
+
+    private static final System.Logger LOG = System.getLogger(ParameterCache.class.getName());
+
+    private final ParameterSource source;
+    private final Duration refreshInterval;
+    private final double jitterFraction;
+    private final Clock clock;
+    private final ReentrantLock changeLock = new ReentrantLock();
+    private final Condition changed = changeLock.newCondition();
+
+    private volatile ParameterSnapshot snapshot;
+
+    public ParameterCache(ParameterSource source, Duration refreshInterval, double jitterFraction, Clock clock) {
+        if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+            throw new IllegalArgumentException("refreshInterval must be positive");
+        }
+        if (jitterFraction < 0 || jitterFraction >= 1) {
+            throw new IllegalArgumentException("jitterFraction must be at least 0 and below 1");
+        }
+        this.source = source;
+        this.refreshInterval = refreshInterval;
+        this.jitterFraction = jitterFraction;
+        this.clock = clock;
+    }
+
+    /**
+     * Boot-time load. Failures propagate so the sidecar does not report healthy without data.
+     */
+    public ParameterSnapshot load() {
+        ParameterSnapshot loaded = ParameterSnapshot.of(source.load(), clock.instant());
+        publish(loaded);
+        return loaded;
+    }
+
+    /**
+     * Reloads from the source, keeping the previous snapshot if the source fails.
+     *
+     * @return true if the values changed
+     */
+    public boolean refresh() {
+        try {
+            ParameterSnapshot loaded = ParameterSnapshot.of(source.load(), clock.instant());
+            ParameterSnapshot previous = snapshot;
+            if (previous != null && previous.etag().equals(loaded.etag())) {
+                return false;
+            }
+            publish(loaded);
+            LOG.log(System.Logger.Level.INFO, "Parameters changed, new ETag {0}", loaded.etag());
+            return true;
+        } catch (RuntimeException e) {
+            LOG.log(System.Logger.Level.WARNING, "Parameter refresh failed, serving previous values", e);
+            return false;
+        }
+    }
+
+    public ParameterSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Blocks until the snapshot's ETag differs from the given one or the timeout elapses.
+     */
+    public ParameterSnapshot awaitChange(String etag, Duration timeout) throws InterruptedException {
+        long remainingNanos = timeout.toNanos();
+        changeLock.lock();
+        try {
+            while (snapshot != null && snapshot.etag().equals(etag) && remainingNanos > 0) {
+                remainingNanos = changed.awaitNanos(remainingNanos);
+            }
+            return snapshot;
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * Starts the jittered refresh loop on a virtual thread.
+     */
+    public Thread startRefreshing() {
+        return Thread.ofVirtual().name("parameter-refresh").start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(nextDelay());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                refresh();
+            }
+        });
+    }
+
+    Duration nextDelay() {
+        double factor = 1 + jitterFraction * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        return Duration.ofMillis(Math.round(refreshInterval.toMillis() * factor));
+    }
+
+    private void publish(ParameterSnapshot loaded) {
+        changeLock.lock();
+        try {
+            snapshot = loaded;
+            changed.signalAll();
+        } finally {
+            changeLock.unlock();
+        }
+    }
+}
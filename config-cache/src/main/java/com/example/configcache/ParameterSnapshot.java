@@ -0,0 +1,75 @@
+package com.example.configcache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of the parameter hierarchy at one point in time.
+ * The ETag is a content hash, so unchanged refreshes keep the same tag.
+ */
+public record ParameterSnapshot(Map<String, String> values, String etag, Instant loadedAt) {
+
+    public ParameterSnapshot {
+        values = Map.copyOf(values);
+    }
+
+    public static ParameterSnapshot of(Map<String, String> values, Instant loadedAt) {
+        TreeMap<String, String> sorted = new TreeMap<>(values);
+        return new ParameterSnapshot(sorted, etagFor(sorted), loadedAt);
+    }
+
+    /**
+     * Renders the values as a flat JSON object with keys in sorted order.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        new TreeMap<>(values).forEach((name, value) -> {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(quote(name)).append(':').append(quote(value));
+        });
+        return json.append('}').toString();
+    }
+
+    private static String etagFor(TreeMap<String, String> values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            values.forEach((name, value) -> {
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            });
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.configcache;
+
+import java.util.Map;
+
+/**
+ * Loads the full parameter hierarchy for the service, keyed by name relative to its path.
+ */
+@FunctionalInterface
+public interface ParameterSource {
+
+    Map<String, String> load();
+}
@@ -0,0 +1,63 @@
+package com.example.configcache;
+
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.SsmClientBuilder;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Loads the service hierarchy with GetParametersByPath, following NextToken. SSM returns at
+ * most 10 parameters per page, so the 12-parameter catalog takes two calls per load.
+ */
+public final class SsmParameterSource implements ParameterSource {
+
+    private static final int MAX_RESULTS = 10;
+
+    private final SsmClient ssm;
+    private final String path;
+
+    public SsmParameterSource(SsmClient ssm, String path) {
+        this.ssm = ssm;
+        this.path = path.endsWith("/") ? path : path + "/";
+    }
+
+    /**
+     * Creates a source for the default credential chain; endpoint overrides SSM (LocalStack).
+     */
+    public static SsmParameterSource create(String region, String endpoint, String path) {
+        SsmClientBuilder builder = SsmClient.builder()
+                .region(Region.of(region))
+                .httpClientBuilder(UrlConnectionHttpClient.builder());
+        if (endpoint != null && !endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return new SsmParameterSource(builder.build(), path);
+    }
+
+    @Override
+    public Map<String, String> load() {
+        Map<String, String> values = new TreeMap<>();
+        String nextToken = null;
+        do {
+            GetParametersByPathResponse response = ssm.getParametersByPath(GetParametersByPathRequest.builder()
+                    .path(path)
+                    .recursive(true)
+                    .withDecryption(true)
+                    .maxResults(MAX_RESULTS)
+                    .nextToken(nextToken)
+                    .build());
+            for (Parameter parameter : response.parameters()) {
+                values.put(parameter.name().substring(path.length()), parameter.value());
+            }
+            nextToken = response.nextToken();
+        } while (nextToken != null);
+        return values;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.configcache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConfigCacheServerTest {
+
+    private final AtomicReference<Map<String, String>> values = new AtomicReference<>(
+            Map.of("api.timeout.ms", "5000", "app.description", "Say \"hello\""));
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private ParameterCache cache;
+    private ConfigCacheServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        cache = new ParameterCache(() -> values.get(), Duration.ofSeconds(30), 0.2, Clock.systemUTC());
+        cache.load();
+        server = new ConfigCacheServer(cache, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void givenLoadedCache_whenAllParametersRequested_thenJsonWithEtagIsReturned() throws Exception {
+        HttpResponse<String> response = get("/parameters", null);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"api.timeout.ms\":\"5000\",\"app.description\":\"Say \\\"hello\\\"\"}", response.body());
+        assertEquals(cache.snapshot().etag(), response.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    void givenMatchingEtag_whenParametersRequested_thenNotModifiedIsReturned() throws Exception {
+        HttpResponse<String> response = get("/parameters", cache.snapshot().etag());
+
+        assertEquals(304, response.statusCode());
+    }
+
+    @Test
+    void givenLongPoll_whenValuesChange_thenNewValuesArePushed() throws Exception {
+        String etag = cache.snapshot().etag();
+        CompletableFuture<HttpResponse<String>> pending = client.sendAsync(
+                request("/parameters?wait=10", etag), HttpResponse.BodyHandlers.ofString());
+
+        values.set(Map.of("api.timeout.ms", "2000"));
+        cache.refresh();
+
+        HttpResponse<String> response = pending.get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"api.timeout.ms\":\"2000\"}", response.body());
+    }
+
+    @Test
+    void givenKnownName_whenSingleParameterRequested_thenValueIsReturned() throws Exception {
+        HttpResponse<String> response = get("/parameters/api.timeout.ms", null);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("5000", response.body());
+    }
+
+    @Test
+    void givenUnknownName_whenSingleParameterRequested_thenNotFoundIsReturned() throws Exception {
+        assertEquals(404, get("/parameters/missing", null).statusCode());
+    }
+
+    @Test
+    void givenChangedSource_whenRefreshPosted_thenNewValuesAreServedImmediately() throws Exception {
+        values.set(Map.of("api.timeout.ms", "2000"));
+
+        HttpResponse<String> refresh = client.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + server.port() + "/refresh"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, refresh.statusCode());
+        assertEquals("{\"changed\":true}", refresh.body());
+        assertEquals("2000", get("/parameters/api.timeout.ms", null).body());
+    }
+
+    @Test
+    void givenLoadedCache_whenHealthRequested_thenOkIsReturned() throws Exception {
+        assertEquals(200, get("/health", null).statusCode());
+    }
+
+    @Test
+    void givenWaitQuery_whenParsed_thenValueIsClamped() {
+        assertEquals(0, ConfigCacheServer.waitSeconds(null));
+        assertEquals(15, ConfigCacheServer.waitSeconds("wait=15"));
+        assertEquals(ConfigCacheServer.MAX_WAIT_SECONDS, ConfigCacheServer.waitSeconds("x=1&wait=999"));
+        assertEquals(0, ConfigCacheServer.waitSeconds("wait=abc"));
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        return client.send(request(path, ifNoneMatch), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(String path, String ifNoneMatch) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + server.port() + path));
+        if (ifNoneMatch != null) {
+            builder.header("If-None-Match", ifNoneMatch);
+        }
+        return builder.GET().build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.configcache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParameterCacheTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final AtomicReference<Map<String, String>> values =
+            new AtomicReference<>(Map.of("api.timeout.ms", "5000"));
+
+    @Test
+    void givenSameValues_whenRefreshed_thenEtagIsUnchanged() {
+        ParameterCache cache = newCache(() -> values.get());
+        ParameterSnapshot loaded = cache.load();
+
+        assertFalse(cache.refresh());
+        assertSame(loaded, cache.snapshot());
+    }
+
+    @Test
+    void givenChangedValues_whenRefreshed_thenNewSnapshotIsPublished() {
+        ParameterCache cache = newCache(() -> values.get());
+        ParameterSnapshot loaded = cache.load();
+
+        values.set(Map.of("api.timeout.ms", "2000"));
+
+        assertTrue(cache.refresh());
+        assertEquals("2000", cache.snapshot().values().get("api.timeout.ms"));
+        assertNotEquals(loaded.etag(), cache.snapshot().etag());
+    }
+
+    @Test
+    void givenFailingSource_whenRefreshed_thenPreviousValuesAreKept() {
+        AtomicReference<Boolean> failing = new AtomicReference<>(false);
+        ParameterCache cache = newCache(() -> {
+            if (failing.get()) {
+                throw new IllegalStateException("throttled");
+            }
+            return values.get();
+        });
+        ParameterSnapshot loaded = cache.load();
+
+        failing.set(true);
+
+        assertFalse(cache.refresh());
+        assertSame(loaded, cache.snapshot());
+    }
+
+    @Test
+    void givenFailingSource_whenLoadedAtBoot_thenExceptionPropagates() {
+        ParameterCache cache = newCache(() -> {
+            throw new IllegalStateException("no credentials");
+        });
+
+        assertThrows(IllegalStateException.class, cache::load);
+    }
+
+    @Test
+    void givenWaiter_whenValuesChange_thenWaiterIsReleased() throws Exception {
+        ParameterCache cache = newCache(() -> values.get());
+        String etag = cache.load().etag();
+
+        CompletableFuture<ParameterSnapshot> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.awaitChange(etag, Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        values.set(Map.of("api.timeout.ms", "2000"));
+        cache.refresh();
+
+        assertEquals("2000", waiter.get(5, TimeUnit.SECONDS).values().get("api.timeout.ms"));
+    }
+
+    @Test
+    void givenNoChange_whenAwaitingChange_thenSnapshotIsReturnedAfterTimeout() throws Exception {
+        ParameterCache cache = newCache(() -> values.get());
+        ParameterSnapshot loaded = cache.load();
+
+        assertSame(loaded, cache.awaitChange(loaded.etag(), Duration.ofMillis(50)));
+    }
+
+    @Test
+    void givenJitter_whenDelayComputed_thenItStaysWithinBounds() {
+        ParameterCache cache = new ParameterCache(() -> values.get(), Duration.ofSeconds(30), 0.2, CLOCK);
+
+        for (int i = 0; i < 100; i++) {
+            long millis = cache.nextDelay().toMillis();
+            assertTrue(millis >= 24_000 && millis <= 36_000, "delay out of bounds: " + millis);
+        }
+    }
+
+    @Test
+    void givenInvalidJitter_whenCacheCreated_thenExceptionIsThrown() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParameterCache(() -> values.get(), Duration.ofSeconds(30), 1.0, CLOCK));
+    }
+
+    private ParameterCache newCache(ParameterSource source) {
+        return new ParameterCache(source, Duration.ofSeconds(30), 0.2, CLOCK);
+    }
+}
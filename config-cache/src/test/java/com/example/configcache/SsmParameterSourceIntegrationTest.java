@@ -0,0 +1,50 @@
+package com.example.configcache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.ParameterType;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against the LocalStack SSM from docker-compose.yml:
+ *   docker compose up -d localstack
+ *   LOCALSTACK_ENDPOINT=http://localhost:4566 mvn -pl config-cache test
+ */
+@EnabledIfEnvironmentVariable(named = "LOCALSTACK_ENDPOINT", matches = ".+")
+class SsmParameterSourceIntegrationTest {
+
+    @Test
+    void givenParameterHierarchy_whenLoaded_thenAllValuesAreReturnedByRelativeName() {
+        SsmClient ssm = SsmClient.builder()
+                .region(Region.EU_WEST_1)
+                .endpointOverride(URI.create(System.getenv("LOCALSTACK_ENDPOINT")))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .httpClientBuilder(UrlConnectionHttpClient.builder())
+                .build();
+        String path = "/config-cache-it-" + UUID.randomUUID() + "/";
+
+        // More than one page, to cover NextToken handling
+        for (int i = 0; i < 12; i++) {
+            String suffix = String.valueOf(i);
+            ssm.putParameter(b -> b.name(path + "param." + suffix).value("value-" + suffix)
+                    .type(ParameterType.STRING));
+        }
+        ssm.putParameter(b -> b.name(path + "nested/key").value("nested").type(ParameterType.STRING));
+
+        Map<String, String> values = new SsmParameterSource(ssm, path).load();
+
+        assertEquals(13, values.size());
+        assertEquals("value-11", values.get("param.11"));
+        assertEquals("nested", values.get("nested/key"));
+    }
+}
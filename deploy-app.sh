@@ -16,6 +16,12 @@ AWS_REGION="${AWS_REGION:-eu-west-1}"
 SERVICE_NAME="${SERVICE_NAME:-astro-webui}"
 ECS_CLUSTER="${ECS_CLUSTER:-ecs-cluster-cluster-dev}"
 IMAGE_TAG="${IMAGE_TAG:-latest}"
+# Multi-arch manifest so the same tag runs on X86_64 and ARM64 (Graviton) tasks
+IMAGE_PLATFORMS="${IMAGE_PLATFORMS:-linux/amd64,linux/arm64}"
+# Set to true when the stack runs the config-cache sidecar (configCacheEnabled)
+DEPLOY_CONFIG_CACHE="${DEPLOY_CONFIG_CACHE:-false}"
+# Set to true when the stack serves the client build from S3 (staticAssetsEnabled)
+DEPLOY_STATIC_ASSETS="${DEPLOY_STATIC_ASSETS:-false}"
 
 ECR_REPO="${AWS_ACCOUNT}.dkr.ecr.${AWS_REGION}.amazonaws.com/${SERVICE_NAME}"
 
@@ -26,16 +32,54 @@ npm ci
 echo "==> Building application"
 npm run build
 
-echo "==> Building container image"
-docker build --platform linux/amd64 -f Containerfile -t "${SERVICE_NAME}:${IMAGE_TAG}" .
-
 echo "==> Logging into ECR"
 aws ecr get-login-password --region "${AWS_REGION}" \
   | docker login --username AWS --password-stdin "${AWS_ACCOUNT}.dkr.ecr.${AWS_REGION}.amazonaws.com"
 
-echo "==> Tagging and pushing image"
-docker tag "${SERVICE_NAME}:${IMAGE_TAG}" "${ECR_REPO}:${IMAGE_TAG}"
-docker push "${ECR_REPO}:${IMAGE_TAG}"
+echo "==> Building and pushing container image (${IMAGE_PLATFORMS})"
+docker buildx build \
+  --platform "${IMAGE_PLATFORMS}" \
+  -f Containerfile \
+  -t "${ECR_REPO}:${IMAGE_TAG}" \
+  --push \
+  .
+
+if [[ "${DEPLOY_CONFIG_CACHE}" == "true" ]]; then
+  echo "==> Building and pushing config-cache sidecar image (${IMAGE_PLATFORMS})"
+  docker buildx build \
+    --platform "${IMAGE_PLATFORMS}" \
+    -f "${SCRIPT_DIR}/config-cache/Containerfile" \
+    -t "${ECR_REPO}-config-cache:${IMAGE_TAG}" \
+    --push \
+    "${SCRIPT_DIR}"
+fi
+
+if [[ "${DEPLOY_STATIC_ASSETS}" == "true" ]]; then
+  stack_output() {
+    aws cloudformation describe-stacks \
+      --stack-name AstroWebUiStack \
+      --region "${AWS_REGION}" \
+      --query "Stacks[0].Outputs[?OutputKey=='$1'].OutputValue" \
+      --output text
+  }
+  STATIC_BUCKET="$(stack_output StaticAssetsBucketName)"
+  DISTRIBUTION_ID="$(stack_output DistributionId)"
+
+  # Upload before the rollout so new pages never reference missing bundles; no --delete,
+  # tasks still on the previous image keep serving pages that link the previous hashes
+  echo "==> Uploading static assets to s3://${STATIC_BUCKET}"
+  aws s3 sync "${SCRIPT_DIR}/app/dist/client/_astro" "s3://${STATIC_BUCKET}/_astro" \
+    --cache-control "public, max-age=31536000, immutable" \
+    --region "${AWS_REGION}"
+  aws s3 sync "${SCRIPT_DIR}/app/dist/client" "s3://${STATIC_BUCKET}" \
+    --exclude "_astro/*" \
+    --cache-control "public, max-age=300" \
+    --region "${AWS_REGION}"
+  aws cloudfront create-invalidation \
+    --distribution-id "${DISTRIBUTION_ID}" \
+    --paths "/favicon.svg" \
+    --no-cli-pager
+fi
 
 echo "==> Updating ECS service (force new deployment)"
 aws ecs update-service \
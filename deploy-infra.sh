@@ -28,6 +28,8 @@ export AWS_PROFILE
 AWS_ACCOUNT="${AWS_ACCOUNT:-$(aws sts get-caller-identity --query Account --output text)}"
 AWS_REGION="${AWS_REGION:-eu-west-1}"
 SERVICE_NAME="${SERVICE_NAME:-astro-webui}"
+# Set to true when wafEnabled and cdnEnabled: the CloudFront web ACL stack deploys to us-east-1
+EDGE_WAF="${EDGE_WAF:-false}"
 
 # Function to run CDK commands (native or Docker)
 run_cdk() {
@@ -59,8 +61,11 @@ echo "    Docker  : ${USE_DOCKER}"
 
 # Bootstrap CDK (idempotent — safe to re-run)
 run_cdk bootstrap "aws://${AWS_ACCOUNT}/${AWS_REGION}"
+if [[ "${EDGE_WAF}" == "true" && "${AWS_REGION}" != "us-east-1" ]]; then
+  run_cdk bootstrap "aws://${AWS_ACCOUNT}/us-east-1"
+fi
 
-# Deploy the stack
+# Deploy the stack (and the us-east-1 web ACL stack it depends on, if any)
 run_cdk deploy AstroWebUiStack \
   --context awsAccount="${AWS_ACCOUNT}" \
   --require-approval never
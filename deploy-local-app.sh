@@ -7,6 +7,7 @@ set -e
 #
 # This script starts the local development environment with:
 # - LocalStack for AWS services emulation (SSM Parameter Store)
+# - Valkey for the shared rate limiter
 #
 # Usage:
 #   ./deploy-local-app.sh [command]
@@ -140,6 +141,8 @@ run_app_localstack() {
     export AWS_SSM_ENDPOINT="http://localhost:4566"
     export AWS_REGION="eu-west-1"
     export OTEL_EXPORTER_OTLP_ENDPOINT="http://localhost:4318"
+    # Valkey container stands in for the ElastiCache Serverless rate limit cache
+    export RATE_LIMIT_VALKEY_URL="redis://localhost:6379"
     log_info "LocalStack environment variables set"
     log_info "Jaeger UI: http://localhost:16686"
 
@@ -8,48 +8,28 @@ echo "==> Initializing SSM parameters for astro-webui..."
 
 SERVICE_NAME="astro-webui"
 REGION="eu-west-1"
-
-awslocal ssm put-parameter \
-  --name "/${SERVICE_NAME}/app.description" \
-  --value "This application manages a greeting service. You can create new greetings, look up existing ones by ID, delete greetings, and browse all stored messages. It communicates with the Spring Cloud Service API backend. (Loaded from SSM Parameter Store)" \
-  --type String \
-  --region "${REGION}" \
-  --overwrite
-
-awslocal ssm put-parameter \
-  --name "/${SERVICE_NAME}/api.backend.url" \
-  --value "http://localhost:8080" \
-  --type String \
-  --region "${REGION}" \
-  --overwrite
-
-awslocal ssm put-parameter \
-  --name "/${SERVICE_NAME}/api.timeout.ms" \
-  --value "5000" \
-  --type String \
-  --region "${REGION}" \
-  --overwrite
-
-awslocal ssm put-parameter \
-  --name "/${SERVICE_NAME}/api.retry.count" \
-  --value "3" \
-  --type String \
-  --region "${REGION}" \
-  --overwrite
-
-awslocal ssm put-parameter \
-  --name "/${SERVICE_NAME}/log.level" \
-  --value "debug" \
-  --type String \
-  --region "${REGION}" \
-  --overwrite
-
-awslocal ssm put-parameter \
-  --name "/${SERVICE_NAME}/rate.limit.rpm" \
-  --value "60" \
-  --type String \
-  --region "${REGION}" \
-  --overwrite
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+
+# Parameters and defaults come from the CDK parameter catalog
+# (parameters.generated.tsv, written by ParameterCatalogGenerator).
+# Local development overrides a few of them.
+local_value() {
+  case "$1" in
+    app.description) echo "$2 (Loaded from SSM Parameter Store)" ;;
+    log.level) echo "debug" ;;
+    *) echo "$2" ;;
+  esac
+}
+
+while IFS=$'\t' read -r name type default_value; do
+  [[ -z "${name}" ]] && continue
+  awslocal ssm put-parameter \
+    --name "/${SERVICE_NAME}/${name}" \
+    --value "$(local_value "${name}" "${default_value}")" \
+    --type String \
+    --region "${REGION}" \
+    --overwrite
+done < "${SCRIPT_DIR}/parameters.generated.tsv"
 
 echo "==> SSM parameters initialized:"
 awslocal ssm get-parameters-by-path \